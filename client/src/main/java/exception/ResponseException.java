@@ -1,6 +1,6 @@
 package exception;
 
-import com.google.gson.Gson;
+import chess.ChessJson;
 
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -16,7 +16,7 @@ public class ResponseException extends Exception {
 
 
     public static ResponseException fromJson(InputStream stream) {
-        var map = new Gson().fromJson(new InputStreamReader(stream), HashMap.class);
+        var map = ChessJson.GSON.fromJson(new InputStreamReader(stream), HashMap.class);
         var status = ((Double) map.get("status")).intValue();
         String message = map.get("message").toString();
         return new ResponseException(status, message);
@@ -1,5 +1,6 @@
 package ui;
 
+import chess.ChessJson;
 import chess.ChessPosition;
 import com.google.gson.*;
 import com.google.gson.reflect.TypeToken;
@@ -55,7 +56,7 @@ public class ServerFacade {
     public List<GameList> listGames(String authToken) throws ResponseException {
         JsonObject response = this.makeRequest("GET", GAME, authToken, null, JsonObject.class);
         JsonArray gamesArray = response.getAsJsonArray("games");
-        return new Gson().fromJson(gamesArray, new TypeToken<List<GameList>>(){}.getType());
+        return ChessJson.GSON.fromJson(gamesArray, new TypeToken<List<GameList>>(){}.getType());
     }
 
     // 🧪 Create a new game
@@ -135,7 +136,7 @@ public class ServerFacade {
     private static void writeBody(Object request, HttpURLConnection http) throws IOException {
         if (request != null) {
             http.addRequestProperty("Content-Type", "application/json");
-            String reqData = new Gson().toJson(request);
+            String reqData = ChessJson.GSON.toJson(request);
             try (OutputStream reqBody = http.getOutputStream()) {
                 reqBody.write(reqData.getBytes());
             }
@@ -149,7 +150,7 @@ public class ServerFacade {
             try (InputStream respBody = http.getInputStream()) {
                 InputStreamReader reader = new InputStreamReader(respBody);
                 if (responseClass != null) {
-                    response = new Gson().fromJson(reader, responseClass);
+                    response = ChessJson.GSON.fromJson(reader, responseClass);
                 }
             }
         }
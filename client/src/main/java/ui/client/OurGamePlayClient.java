@@ -52,8 +52,8 @@ public class OurGamePlayClient {
 
     // ♟️ attempt to move a piece... or crash trying
     public String makeMove(String authToken, String... params) throws ResponseException, IOException {
-        if (params.length < 2 || params.length > 3) {
-            System.out.println("🤨 Invalid move. Try again (source destination [promotion])");
+        if (params.length < 1 || params.length > 3) {
+            System.out.println("🤨 Invalid move. Try again (source destination [promotion], or e.g. e7e8q)");
             return "help";
         }
         return webSocket.makeMove(authToken, params);
@@ -99,6 +99,7 @@ public class OurGamePlayClient {
                Options:
                    Highlight legal moves: "hl", "highlight"  <position> (e.g. f5)
                    Make a move: "m", "move", "make"           <source> <destination> [promotion] (e.g. f5 e4 q)
+                                                              or <uci move> (e.g. e7e8q)
                    Redraw the chess board: "r", "redraw"
                    Resign from the game: "resign"
                    Leave the game: "leave"
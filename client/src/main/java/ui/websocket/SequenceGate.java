@@ -0,0 +1,25 @@
+package ui.websocket;
+
+// 🔢 Lets each game message through at most once and never behind a newer one
+// The server numbers everything about a game in order; a number at or below the newest
+// one we've acted on is old news. Messages without a number (errors) always get through.
+// A game nobody is connected to forgets its count, so every CONNECT starts the gate over.
+class SequenceGate {
+    private long lastSequence; // 🔢 newest game message we've acted on
+
+    synchronized boolean admit(Long sequence) {
+        if (sequence == null) {
+            return true;
+        }
+        if (sequence <= lastSequence) {
+            return false;
+        }
+        lastSequence = sequence;
+        return true;
+    }
+
+    // 🔁 (Re)joining: the server may be numbering this game from 1 again
+    synchronized void reset() {
+        lastSequence = 0;
+    }
+}
@@ -1,7 +1,6 @@
 package ui.websocket;
 
 import chess.*;
-import com.google.gson.Gson;
 import exception.ResponseException;
 import model.GameData;
 import model.GameID;
@@ -15,8 +14,6 @@ import javax.websocket.*;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.util.Arrays;
-import java.util.List;
 
 public class WebSocketFacade extends Endpoint {
 
@@ -24,6 +21,8 @@ public class WebSocketFacade extends Endpoint {
     NotificationHandler notificationHandler;
     LoadBoard board;
     GameID gameID;
+    String authToken;
+    private final SequenceGate sequences = new SequenceGate();
 
     // 🧠 Constructor: establishing our WebSocket lifeline
     public WebSocketFacade(String url, NotificationHandler notificationHandler, GameID gameID) throws ResponseException {
@@ -43,9 +42,11 @@ public class WebSocketFacade extends Endpoint {
         }
     }
 
-    private void handleServerMessage(String message) {
-        Gson gson = new Gson();
-        ServerMessage serverMessage = gson.fromJson(message, ServerMessage.class);
+    private synchronized void handleServerMessage(String message) {
+        ServerMessage serverMessage = ChessJson.GSON.fromJson(message, ServerMessage.class);
+        if (!sequences.admit(serverMessage.getSequence())) {
+            return; // 🧹 old news, something newer already got here
+        }
 
         switch (serverMessage.getServerMessageType()) {
             case NOTIFICATION -> {
@@ -53,6 +54,7 @@ public class WebSocketFacade extends Endpoint {
                 notificationHandler.notify(notification);  // 📢 alert the player
             }
             case LOAD_GAME -> loadGameData(serverMessage.getGame());
+            case MOVE_APPLIED -> applyMove(serverMessage);
             case ERROR -> System.out.println(serverMessage.getErrorMessage());  // 💀 print the server-side L
         }
     }
@@ -66,13 +68,46 @@ public class WebSocketFacade extends Endpoint {
         }
     }
 
+    // 🧩 play the server's move on our own copy; if we missed one, ask for the whole game instead
+    private void applyMove(ServerMessage update) {
+        ChessGame game = board == null ? null : board.getGameData().game();
+        if (game == null || update.getVersion() == null || update.getVersion() != game.getTurnCounter() + 1) {
+            requestSync();
+            return;
+        }
+        try {
+            game.makeMove(update.getMove());
+        } catch (InvalidMoveException e) {
+            requestSync();
+            return;
+        }
+        board.redrawBoard();
+    }
+
+    private void requestSync() {
+        try {
+            sendUserGameCommand(UserGameCommand.CommandType.SYNC, authToken, gameID);
+        } catch (ResponseException e) {
+            System.out.println("🔌 Couldn't resync the board: " + e.getMessage());
+        }
+    }
+
     @Override
     public void onOpen(Session session, EndpointConfig endpointConfig) {
         System.out.println("WebSocket connection opened 🚪✨");
     }
 
     public void joinGame(String authToken, GameID gameID) throws ResponseException {
-        sendUserGameCommand(UserGameCommand.CommandType.CONNECT, authToken, gameID);
+        this.authToken = authToken;
+        try {
+            // 🧩 we can keep our own board in step, so just send us the moves
+            UserGameCommand command = new UserGameCommand(UserGameCommand.CommandType.CONNECT, authToken,
+                    gameID.gameID(), true);
+            sequences.reset(); // 🔁 nothing from before this CONNECT is coming on this socket anymore
+            this.session.getBasicRemote().sendText(ChessJson.GSON.toJson(command));
+        } catch (IOException ex) {
+            throw new ResponseException(500, ex.getMessage());
+        }
     }
 
     public void resign(String authToken) throws ResponseException {
@@ -86,7 +121,7 @@ public class WebSocketFacade extends Endpoint {
     private void sendUserGameCommand(UserGameCommand.CommandType type, String authToken, GameID gameID) throws ResponseException {
         try {
             UserGameCommand command = new UserGameCommand(type, authToken, gameID.gameID());
-            this.session.getBasicRemote().sendText(new Gson().toJson(command));
+            this.session.getBasicRemote().sendText(ChessJson.GSON.toJson(command));
         } catch (IOException ex) {
             throw new ResponseException(500, ex.getMessage());
         }
@@ -100,7 +135,7 @@ public class WebSocketFacade extends Endpoint {
             }
 
             MakeMoveCommand moveCommand = new MakeMoveCommand(authToken, gameID.gameID(), move);
-            this.session.getBasicRemote().sendText(new Gson().toJson(moveCommand));
+            this.session.getBasicRemote().sendText(ChessJson.GSON.toJson(moveCommand));
         } catch (IOException ex) {
             throw new ResponseException(500, ex.getMessage());
         }
@@ -109,14 +144,16 @@ public class WebSocketFacade extends Endpoint {
     }
 
     private ChessMove buildMoveFromParams(String[] params) {
+        if (params.length == 1) {
+            return MoveNotation.parseUci(params[0]);  // 🏎️ one token, e.g. e7e8q
+        }
         if (params.length != 2 && params.length != 3) {
             return null;
         }
 
-        int[] start = parsePosition(params[0]);
-        int[] end = parsePosition(params[1]);
-
-        if (!isValidPosition(start) || !isValidPosition(end)) {
+        ChessPosition start = parsePosition(params[0]);
+        ChessPosition end = parsePosition(params[1]);
+        if (start == null || end == null) {
             return null;
         }
 
@@ -128,11 +165,7 @@ public class WebSocketFacade extends Endpoint {
             }
         }
 
-        return new ChessMove(
-                new ChessPosition(start[0], start[1]),
-                new ChessPosition(end[0], end[1]),
-                promo
-        );
+        return new ChessMove(start, end, promo);
     }
 
     public void redrawBoard(String authToken) {
@@ -140,54 +173,31 @@ public class WebSocketFacade extends Endpoint {
     }
 
     public void highlight(String authToken, String piecePosition) {
-        int[] parsed = parsePosition(piecePosition);
+        ChessPosition position = parsePosition(piecePosition);
 
-        if (!isValidPosition(parsed)) {
+        if (position == null) {
             System.out.println("🚫 Invalid Location Input");
             return;
         }
 
-        ChessPosition position = new ChessPosition(parsed[0], parsed[1]);
         board.drawHighlightedBoard(position);
     }
 
-    public int[] parsePosition(String position) {
-        String[] cr = position.split("");
-        List<String> validLetters = Arrays.asList("a", "b", "c", "d", "e", "f", "g", "h");
-        List<String> validNumbers = Arrays.asList("1", "2", "3", "4", "5", "6", "7", "8");
-
-        if (!validLetters.contains(cr[0]) || !validNumbers.contains(cr[1])) {
+    public ChessPosition parsePosition(String position) {
+        ChessPosition parsed = MoveNotation.parseSquare(position);
+        if (parsed == null) {
             System.out.println("🚫 Bad Position Data Given");
-            return null;
         }
-
-        int rowNumber = Integer.parseInt(cr[1]);
-        int column = switch (cr[0]) {
-            case "a" -> 1;
-            case "b" -> 2;
-            case "c" -> 3;
-            case "d" -> 4;
-            case "e" -> 5;
-            case "f" -> 6;
-            case "g" -> 7;
-            case "h" -> 8;
-            default -> 0;
-        };
-
-        return new int[]{rowNumber, column};
+        return parsed;
     }
 
     public ChessPiece.PieceType parsePromotion(String promotion) {
         return switch (promotion) {
-            case "q", "queen" -> ChessPiece.PieceType.QUEEN;
-            case "b", "bishop" -> ChessPiece.PieceType.BISHOP;
-            case "r", "rook" -> ChessPiece.PieceType.ROOK;
+            case "queen" -> ChessPiece.PieceType.QUEEN;
+            case "bishop" -> ChessPiece.PieceType.BISHOP;
+            case "rook" -> ChessPiece.PieceType.ROOK;
             case "k", "knight" -> ChessPiece.PieceType.KNIGHT;
-            default -> null;
+            default -> promotion.length() == 1 ? MoveNotation.promotionType(promotion.charAt(0)) : null;
         };
     }
-
-    private boolean isValidPosition(int[] pos) {
-        return pos != null && pos[0] >= 1 && pos[0] <= 8 && pos[1] >= 1 && pos[1] <= 8;
-    }
 }
@@ -0,0 +1,53 @@
+package ui.websocket;
+
+import chess.ChessJson;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import websocket.messages.ServerMessage;
+
+public class SequenceGateTests {
+
+    private static Long sequenceOf(String json) {
+        return ChessJson.GSON.fromJson(json, ServerMessage.class).getSequence();
+    }
+
+    @Test
+    @DisplayName("Stale And Repeated Sequence Numbers Are Dropped")
+    public void dropsStale() {
+        SequenceGate gate = new SequenceGate();
+
+        Assertions.assertTrue(gate.admit(1L));
+        Assertions.assertTrue(gate.admit(3L));
+        Assertions.assertFalse(gate.admit(2L));
+        Assertions.assertFalse(gate.admit(3L));
+        Assertions.assertTrue(gate.admit(4L));
+    }
+
+    @Test
+    @DisplayName("Messages Without A Number Always Get Through")
+    public void unnumberedPass() {
+        SequenceGate gate = new SequenceGate();
+        String error = "{\"serverMessageType\":\"ERROR\",\"errorMessage\":\"nope\"}";
+        String stale = "{\"serverMessageType\":\"NOTIFICATION\",\"message\":\"old\",\"sequence\":5}";
+
+        Assertions.assertTrue(gate.admit(sequenceOf(stale)));
+        Assertions.assertTrue(gate.admit(sequenceOf(error)));
+        Assertions.assertFalse(gate.admit(sequenceOf(stale)));
+    }
+
+    @Test
+    @DisplayName("Rejoining A Game That Started Numbering Over Lets The New Numbers In")
+    public void resetOnReconnect() {
+        SequenceGate gate = new SequenceGate();
+        for (long sequence = 1; sequence <= 7; sequence++) {
+            Assertions.assertTrue(gate.admit(sequence));
+        }
+
+        // everyone left, so the server forgot the game's count; we CONNECT again
+        gate.reset();
+        Assertions.assertTrue(gate.admit(1L));
+        Assertions.assertTrue(gate.admit(2L));
+        Assertions.assertFalse(gate.admit(1L));
+    }
+}
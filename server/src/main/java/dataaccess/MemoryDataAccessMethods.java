@@ -1,6 +1,7 @@
 package dataaccess;
 
 import chess.ChessGame;
+import chess.GameSnapshot;
 import model.AuthData;
 import model.GameData;
 import model.GameList;
@@ -8,6 +9,7 @@ import model.UserData;
 import org.mindrot.jbcrypt.BCrypt;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 🚀 This class is like a fake database that lives in RAM.
@@ -16,7 +18,9 @@ import java.util.*;
 public class MemoryDataAccessMethods implements DataAccessInterface {
 
     private static final Map<String, UserData> REGISTEREDUSERS = new HashMap<>();
-    private static final Map<Integer, GameData> CREATEDGAMES = new HashMap<>();
+    private static final Map<Integer, GameData> CREATEDGAMES = new ConcurrentHashMap<>();
+    // 📸 Boards live here as immutable snapshots; every reader gets its own copy, no locks needed
+    private static final Map<Integer, GameSnapshot> GAMESNAPSHOTS = new ConcurrentHashMap<>();
     private static final Map<String, AuthData> AUTHDATA = new HashMap<>();
 
     /**
@@ -26,6 +30,7 @@ public class MemoryDataAccessMethods implements DataAccessInterface {
         try {
             REGISTEREDUSERS.clear();
             CREATEDGAMES.clear();
+            GAMESNAPSHOTS.clear();
             AUTHDATA.clear();
         } catch (Exception e) {
             throw new DataAccessException(e.getMessage(), 500);
@@ -91,14 +96,19 @@ public class MemoryDataAccessMethods implements DataAccessInterface {
      * 🏁 Creates a new chess game and puts it in memory.
      */
     public void createGame(int gameID, String gameName, ChessGame game) {
-        CREATEDGAMES.put(gameID, new GameData(gameID, null, null, gameName, game));
+        GAMESNAPSHOTS.put(gameID, game.snapshot());
+        CREATEDGAMES.put(gameID, new GameData(gameID, null, null, gameName, null));
     }
 
     /**
      * 🔍 Retrieves a chess game by ID.
      */
     public GameData getGame(int gameID) {
-        return CREATEDGAMES.get(gameID);
+        GameData stored = CREATEDGAMES.get(gameID);
+        if (stored == null) {
+            return null;
+        }
+        return stored.setGame(GAMESNAPSHOTS.get(gameID).toGame());
     }
 
     /**
@@ -123,7 +133,7 @@ public class MemoryDataAccessMethods implements DataAccessInterface {
             updated = updated.setGameName(gameName);
         }
         if (game != null) {
-            updated = updated.setGame(game);
+            GAMESNAPSHOTS.put(gameID, game.snapshot());
         }
 
         CREATEDGAMES.put(gameID, updated);
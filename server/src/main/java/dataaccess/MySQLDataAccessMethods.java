@@ -1,13 +1,15 @@
 package dataaccess;
 
 import chess.ChessGame;
-import com.google.gson.Gson;
+import chess.ChessGameCodec;
+import chess.ChessJson;
 import model.AuthData;
 import model.GameData;
 import model.GameList;
 import model.UserData;
 import org.mindrot.jbcrypt.BCrypt;
 
+import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -155,9 +157,9 @@ public class MySQLDataAccessMethods implements DataAccessInterface {
         if (gameName.isEmpty() || game == null) {
             throw new DataAccessException("Bad data when creating game", 500);
         }
-        var gameJson = new Gson().toJson(game);
-        var sql = "INSERT INTO GameData (gameID, whiteUsername, blackUsername, gameName, gameJson) VALUES (?, ?, ?, ?, ?)";
-        executeUpdate(sql, gameID, null, null, gameName, gameJson);
+        var gameState = ChessGameCodec.encode(game.snapshot()); // 🗜️ ~36 bytes instead of a JSON essay
+        var sql = "INSERT INTO GameData (gameID, whiteUsername, blackUsername, gameName, gameState) VALUES (?, ?, ?, ?, ?)";
+        executeUpdate(sql, gameID, null, null, gameName, gameState);
     }
 
     /**
@@ -170,7 +172,7 @@ public class MySQLDataAccessMethods implements DataAccessInterface {
                 ps.setInt(1, gameID);
                 try (var rs = ps.executeQuery()) {
                     if (rs.next()) {
-                        var game = new Gson().fromJson(rs.getString("gameJson"), ChessGame.class);
+                        var game = readGame(rs.getBytes("gameState"), rs.getString("gameJson"));
                         return new GameData(
                                 rs.getInt("gameID"),
                                 rs.getString("whiteUsername"),
@@ -206,9 +208,9 @@ public class MySQLDataAccessMethods implements DataAccessInterface {
             updated = updated.setGame(game);
         }
 
-        var gameJson = new Gson().toJson(updated.game());
-        var sql = "UPDATE GameData SET whiteUsername=?, blackUsername=?, gameName=?, gameJson=? WHERE gameID=?";
-        executeUpdate(sql, updated.whiteUsername(), updated.blackUsername(), updated.gameName(), gameJson, gameID);
+        var gameState = ChessGameCodec.encode(updated.game().snapshot()); // 📸 encode the settled picture, not the live board
+        var sql = "UPDATE GameData SET whiteUsername=?, blackUsername=?, gameName=?, gameState=?, gameJson=NULL WHERE gameID=?";
+        executeUpdate(sql, updated.whiteUsername(), updated.blackUsername(), updated.gameName(), gameState, gameID);
     }
 
     /**
@@ -223,9 +225,19 @@ public class MySQLDataAccessMethods implements DataAccessInterface {
             updated = updated.setBlackUsername(null);
         }
 
-        var gameJson = new Gson().toJson(updated.game());
-        var sql = "UPDATE GameData SET whiteUsername=?, blackUsername=?, gameName=?, gameJson=? WHERE gameID=?";
-        executeUpdate(sql, updated.whiteUsername(), updated.blackUsername(), updated.gameName(), gameJson, gameID);
+        var gameState = ChessGameCodec.encode(updated.game().snapshot());
+        var sql = "UPDATE GameData SET whiteUsername=?, blackUsername=?, gameName=?, gameState=?, gameJson=NULL WHERE gameID=?";
+        executeUpdate(sql, updated.whiteUsername(), updated.blackUsername(), updated.gameName(), gameState, gameID);
+    }
+
+    /**
+     * 📦 Binary state wins; rows saved before the BLOB column existed still have JSON.
+     */
+    private static ChessGame readGame(byte[] gameState, String gameJson) {
+        if (gameState != null) {
+            return ChessGameCodec.decode(gameState);
+        }
+        return gameJson == null ? null : ChessJson.GSON.fromJson(gameJson, ChessGame.class);
     }
 
     /**
@@ -245,7 +257,8 @@ public class MySQLDataAccessMethods implements DataAccessInterface {
                 whiteUsername VARCHAR(100),
                 blackUsername VARCHAR(100),
                 gameName VARCHAR(150),
-                gameJson TEXT DEFAULT NULL
+                gameJson TEXT DEFAULT NULL,
+                gameState BLOB DEFAULT NULL
             );
             """,
             """
@@ -267,11 +280,42 @@ public class MySQLDataAccessMethods implements DataAccessInterface {
                     ps.executeUpdate();
                 }
             }
+            migrateGameJson(conn);
         } catch (SQLException e) {
             throw new DataAccessException(e.getMessage(), 500);
         }
     }
 
+    /**
+     * 🚚 Moves tables made before gameState existed over to the binary format.
+     * Adds the column if it's missing, then re-encodes every JSON-only row once.
+     */
+    private void migrateGameJson(Connection conn) throws SQLException {
+        var columnSql = "SELECT COUNT(*) FROM information_schema.COLUMNS " +
+                "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'GameData' AND COLUMN_NAME = 'gameState'";
+        try (var ps = conn.prepareStatement(columnSql);
+             var rs = ps.executeQuery()) {
+            if (rs.next() && rs.getInt(1) == 0) {
+                try (var alter = conn.prepareStatement("ALTER TABLE GameData ADD COLUMN gameState BLOB DEFAULT NULL")) {
+                    alter.executeUpdate();
+                }
+            }
+        }
+
+        var selectSql = "SELECT gameID, gameJson FROM GameData WHERE gameState IS NULL AND gameJson IS NOT NULL";
+        var updateSql = "UPDATE GameData SET gameState=?, gameJson=NULL WHERE gameID=?";
+        try (var select = conn.prepareStatement(selectSql);
+             var rs = select.executeQuery();
+             var update = conn.prepareStatement(updateSql)) {
+            while (rs.next()) {
+                update.setBytes(1, ChessGameCodec.encode(ChessJson.GSON.fromJson(rs.getString("gameJson"), ChessGame.class)));
+                update.setInt(2, rs.getInt("gameID"));
+                update.addBatch();
+            }
+            update.executeBatch();
+        }
+    }
+
     /**
      * 🔁 Utility to simplify updates. Clean, reusable, slay.
      */
@@ -1,5 +1,6 @@
 package server;
 
+import chess.ChessJson;
 import com.google.gson.*;
 import dataaccess.*;
 import model.*;
@@ -7,6 +8,10 @@ import service.TheChessService;
 import spark.*;
 import websocket.WebSocketHandler;
 
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 
 /**
@@ -64,12 +69,23 @@ public class Server {
             status = 500;
         }
         res.status(status);
-        return new Gson().toJson(Map.of(
+        return ChessJson.GSON.toJson(Map.of(
                 "message", "Error: " + e.getMessage(),
                 "status", status
         ));
     }
 
+    /**
+     * 📥 Decodes the JSON body straight off the request stream, no String detour.
+     */
+    private static <T> T readBody(Request req, Class<T> type) {
+        try (Reader reader = new InputStreamReader(req.raw().getInputStream(), StandardCharsets.UTF_8)) {
+            return ChessJson.GSON.fromJson(reader, type);
+        } catch (IOException e) {
+            throw new JsonIOException(e);
+        }
+    }
+
     // --------------------------------
     // 🔨 ENDPOINT HANDLERS
     // --------------------------------
@@ -83,20 +99,20 @@ public class Server {
     }
 
     private Object registerUser(Request req, Response res) {
-        var body = new Gson().fromJson(req.body(), UserData.class);
+        var body = readBody(req, UserData.class);
         try {
             var result = service.register(body);
-            return new Gson().toJson(result);
+            return ChessJson.GSON.toJson(result);
         } catch (DataAccessException e) {
             return returnErrorHelper(res, e);
         }
     }
 
     private Object logIn(Request req, Response res) {
-        var body = new Gson().fromJson(req.body(), UserData.class);
+        var body = readBody(req, UserData.class);
         try {
             var result = service.logIn(body);
-            return new Gson().toJson(result);
+            return ChessJson.GSON.toJson(result);
         } catch (DataAccessException e) {
             return returnErrorHelper(res, e);
         }
@@ -118,10 +134,10 @@ public class Server {
         var token = req.headers(authHeader);
         try {
             var result = service.listGames(token);
-            var jsonArray = new Gson().toJsonTree(result).getAsJsonArray();
+            var jsonArray = ChessJson.GSON.toJsonTree(result).getAsJsonArray();
             var wrapper = new JsonObject();
             wrapper.add("games", jsonArray);
-            return new Gson().toJson(wrapper);
+            return ChessJson.GSON.toJson(wrapper);
         } catch (DataAccessException e) {
             return returnErrorHelper(res, e);
         }
@@ -129,7 +145,7 @@ public class Server {
 
     private Object joinGame(Request req, Response res) {
         var token = req.headers(authHeader);
-        var body = new Gson().fromJson(req.body(), JoinGame.class);
+        var body = readBody(req, JoinGame.class);
         try {
             service.joinGame(token, body);
             return "";
@@ -140,10 +156,10 @@ public class Server {
 
     private Object createGame(Request req, Response res) {
         var token = req.headers(authHeader);
-        var body = new Gson().fromJson(req.body(), GameData.class);
+        var body = readBody(req, GameData.class);
         try {
             int result = service.createGame(token, body);
-            return new Gson().toJson(Map.of("gameID", result));
+            return ChessJson.GSON.toJson(Map.of("gameID", result));
         } catch (DataAccessException e) {
             return returnErrorHelper(res, e);
         }
@@ -151,10 +167,10 @@ public class Server {
 
     private Object getGame(Request req, Response res) {
         var token = req.headers(authHeader);
-        var body = new Gson().fromJson(req.body(), GameID.class);
+        var body = readBody(req, GameID.class);
         try {
             GameData result = service.getGame(token, body);
-            return new Gson().toJson(result);
+            return ChessJson.GSON.toJson(result);
         } catch (DataAccessException e) {
             return returnErrorHelper(res, e);
         }
@@ -162,10 +178,10 @@ public class Server {
 
     private Object updateGame(Request req, Response res) {
         var token = req.headers(authHeader);
-        var body = new Gson().fromJson(req.body(), GameData.class);
+        var body = readBody(req, GameData.class);
         try {
             String result = service.updateGame(token, body);
-            return new Gson().toJson(result);
+            return ChessJson.GSON.toJson(result);
         } catch (DataAccessException e) {
             return returnErrorHelper(res, e);
         }
@@ -0,0 +1,95 @@
+package websocket;
+
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.engine.MaterialEvaluator;
+import chess.engine.Ponderer;
+import chess.engine.Search;
+import chess.engine.SearchLimits;
+import chess.engine.SearchResult;
+import model.GameData;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// 🤖 Plays whichever seat the "chessbot" account has joined, and thinks on the human's time between moves
+public class BotPlayer {
+    public static final String USERNAME = "chessbot";
+
+    private static final int DEPTH = 3;
+    private static final long NODE_BUDGET = 200_000;
+    private static final long SOFT_MILLIS = 1_000;
+    private static final long HARD_MILLIS = 2_000;
+
+    private final int depth;
+    private final long nodeBudget;
+    private final long softMillis;
+    private final long hardMillis;
+
+    // 💤 low priority daemons so pondering never beats real requests to the CPU
+    private final ExecutorService ponderThreads = Executors.newCachedThreadPool(
+            Thread.ofPlatform().daemon().priority(Thread.MIN_PRIORITY).name("ponder-", 0).factory());
+    private final ConcurrentHashMap<Integer, Ponderer> ponderers = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Integer, SearchLimits> thinking = new ConcurrentHashMap<>();
+
+    public BotPlayer() {
+        this(DEPTH, NODE_BUDGET, SOFT_MILLIS, HARD_MILLIS);
+    }
+
+    // 🧪 tests want a bot that thinks forever unless someone stops it
+    BotPlayer(int depth, long nodeBudget, long softMillis, long hardMillis) {
+        this.depth = depth;
+        this.nodeBudget = nodeBudget;
+        this.softMillis = softMillis;
+        this.hardMillis = hardMillis;
+    }
+
+    public boolean isBotTurn(GameData gameData) {
+        String seat = gameData.game().getTeamTurn() == ChessGame.TeamColor.WHITE
+                ? gameData.whiteUsername() : gameData.blackUsername();
+        return USERNAME.equals(seat);
+    }
+
+    // 🎯 ponder hit = instant answer, miss = think for real; null if stop() cut us off
+    public SearchResult chooseMove(int gameID, ChessGame game, ChessMove opponentMove) {
+        Ponderer ponderer = ponderers.get(gameID);
+        SearchResult pondered = ponderer == null ? null : ponderer.onOpponentMove(opponentMove);
+        if (pondered != null && pondered.bestMove() != null) {
+            return pondered;
+        }
+
+        SearchLimits limits = new SearchLimits(depth, nodeBudget, softMillis, hardMillis);
+        thinking.put(gameID, limits);
+        try {
+            SearchResult result = new Search(new MaterialEvaluator()).search(game, limits);
+            return limits.isStopped() ? null : result;
+        } finally {
+            thinking.remove(gameID, limits);
+        }
+    }
+
+    // 🔮 game is the position after the bot's move, so it's the human's turn
+    public void ponder(int gameID, ChessGame game, SearchResult played) {
+        ponderers.computeIfAbsent(gameID,
+                        id -> new Ponderer(ponderThreads, MaterialEvaluator::new, depth, nodeBudget))
+                .start(game, played.ponderMove());
+    }
+
+    // 🤔 a move search is running for this game right now
+    boolean isThinking(int gameID) {
+        return thinking.containsKey(gameID);
+    }
+
+    // 🛑 game's over or someone bailed, quit thinking about it (pondering and any move search in flight)
+    public void stop(int gameID) {
+        Ponderer ponderer = ponderers.remove(gameID);
+        if (ponderer != null) {
+            ponderer.cancel();
+        }
+        SearchLimits limits = thinking.remove(gameID);
+        if (limits != null) {
+            limits.stop();
+        }
+    }
+}
@@ -1,30 +1,169 @@
 package websocket;
 
 import org.eclipse.jetty.websocket.api.Session;
+import org.eclipse.jetty.websocket.api.StatusCode;
+import org.eclipse.jetty.websocket.api.WriteCallback;
+
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
 
 // 📡 Represents a user's WebSocket connection
-public class Connection {
+// Everything headed their way waits in a small queue of its own and goes out one
+// async write at a time, so a slow reader only ever backs up their own queue
+public class Connection implements WriteCallback {
+    public static final int DEFAULT_QUEUE_CAPACITY = 64;
+
+    // 🚰 What to do when someone's queue is full
+    public enum OverflowPolicy {
+        DROP_OLDEST, // toss the oldest queued message; move updates carry versions, so the client resyncs
+        DISCONNECT   // give up on them, they can reconnect when their network does
+    }
+
+    // 📊 How a connection's queue has been doing
+    public record Stats(int queued, int highWater, long sent, long dropped, long failed, boolean evicted) {
+    }
+
+    private record Outbound(String payload, boolean state) {
+    }
 
     // 🧑 Username of the person on the other end of the wire
     public String username;
 
+    // 🎲 The game they're hooked up to
+    public final int gameID;
+
     // 🔌 This is their actual connection session
     public Session session;
 
+    // 🧩 They'd rather get MOVE_APPLIED deltas than the whole game after every move
+    public boolean moveUpdates;
+
+    private final int capacity;
+    private final OverflowPolicy policy;
+    private final ArrayDeque<Outbound> queue = new ArrayDeque<>();
+    private volatile long lastHeard = System.nanoTime(); // 💓 any frame from them, pongs included
+    private boolean writing;
+    private boolean dead;
+    private boolean evicted;
+    private int highWater;
+    private long sent;
+    private long dropped;
+    private long failed;
+
     // 🎉 Constructor sets it all up
-    public Connection(String username, Session session) {
+    public Connection(String username, int gameID, Session session, boolean moveUpdates) {
+        this(username, gameID, session, moveUpdates, DEFAULT_QUEUE_CAPACITY, OverflowPolicy.DROP_OLDEST);
+    }
+
+    public Connection(String username, int gameID, Session session, boolean moveUpdates,
+                      int capacity, OverflowPolicy policy) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be at least 1");
+        }
         this.username = username;
+        this.gameID = gameID;
         this.session = session;
+        this.moveUpdates = moveUpdates;
+        this.capacity = capacity;
+        this.policy = policy;
+    }
+
+    // 📬 Queue a message and get out of the way; the socket drains it when it can
+    // a state message (a whole game) replaces any older one still waiting, nobody needs both
+    // returns false once the line is dead, so the caller can forget about us
+    public boolean send(String msg, boolean state) {
+        Outbound next = null;
+        synchronized (this) {
+            if (dead || !session.isOpen()) {
+                dead = true;
+                return false;
+            }
+            if (state && queue.removeIf(Outbound::state)) {
+                dropped++;
+            }
+            if (queue.size() >= capacity && policy == OverflowPolicy.DISCONNECT) {
+                dropped += queue.size() + 1;
+                queue.clear();
+                dead = true;
+                evicted = true;
+            } else {
+                if (queue.size() >= capacity) {
+                    queue.poll();
+                    dropped++;
+                }
+                queue.add(new Outbound(msg, state));
+                highWater = Math.max(highWater, queue.size());
+                if (writing) {
+                    return true;
+                }
+                writing = true;
+                next = queue.poll();
+            }
+        }
+        if (next == null) {
+            // 🐌 Too slow to keep up: hang up and let them reconnect
+            System.out.printf("🐌 %s can't keep up, disconnecting them%n", username);
+            session.close(StatusCode.TRY_AGAIN_LATER, "Outbound queue full");
+            return false;
+        }
+        write(next);
+        return true;
+    }
+
+    private void write(Outbound next) {
+        try {
+            session.getRemote().sendString(next.payload(), this); // 🚀 Yeeting that message across the internet
+        } catch (RuntimeException e) {
+            writeFailed(e); // 🚫 the line died between the check and the write
+        }
+    }
+
+    @Override
+    public void writeSuccess() {
+        Outbound next;
+        synchronized (this) {
+            sent++;
+            next = queue.poll();
+            if (next == null) {
+                writing = false;
+                return;
+            }
+        }
+        write(next);
+    }
+
+    @Override
+    public void writeFailed(Throwable x) {
+        synchronized (this) {
+            failed++;
+            dropped += queue.size();
+            queue.clear();
+            writing = false;
+            dead = true;
+        }
+    }
+
+    // 💓 They said something, so they're still there
+    public void heard() {
+        lastHeard = System.nanoTime();
     }
 
-    // 📬 Send a message if the line’s still open
-    public void send(String msg) throws IOException {
-        if (session.isOpen()) {
-            session.getRemote().sendString(msg); // 🚀 Yeeting that message across the internet
-        } else {
-            // 🚫 Uh-oh, the line is dead. Time to ghost.
-            System.out.printf("❌ Session for %s is closed or null. Message not sent.%n", username);
+    public long quietNanos() {
+        return System.nanoTime() - lastHeard;
+    }
+
+    // 🏓 You still there? Their pong comes back as a frame and counts as hearing from them
+    public boolean ping() {
+        try {
+            session.getRemote().sendPing(ByteBuffer.allocate(0)); // async under the hood, never waits on them
+            return true;
+        } catch (IOException | RuntimeException e) {
+            return false;
         }
     }
+
+    public synchronized Stats stats() {
+        return new Stats(queue.size(), highWater, sent, dropped, failed, evicted);
+    }
 }
@@ -1,114 +1,346 @@
 package websocket;
 
-import com.google.gson.Gson;
+import chess.ChessJson;
 import model.GameData;
-import org.eclipse.jetty.websocket.api.RemoteEndpoint;
 import org.eclipse.jetty.websocket.api.Session;
-import websocket.messages.ErrorMessage;
-import websocket.messages.Notification;
+import org.eclipse.jetty.websocket.api.WriteCallback;
 import websocket.messages.ServerMessage;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class ConnectionManager {
 
     // 🕸️ Tracking who's connected to which game
     private final ConcurrentHashMap<Integer, ConcurrentHashMap<String, Connection>> connections = new ConcurrentHashMap<>();
 
+    // 🔢 Every message about a game gets the next number, so clients can tell old news from new
+    private final ConcurrentHashMap<Integer, Feed> feeds = new ConcurrentHashMap<>();
+
+    // 🔢 A game's message counter, and the lock that keeps numbering and queueing in one piece:
+    // whoever takes number n has put it in every queue before anyone can take n + 1, so each
+    // connection sees a game's numbers in increasing order however the callers are scheduled.
+    // GameDispatcher already runs a game's commands one at a time, so this is rarely contended.
+    private static final class Feed {
+        long sequence;
+    }
+
     // 🏳️ Tracks if someone rage-quit (aka resigned)
     public ConcurrentHashMap<Integer, Boolean> resigned = new ConcurrentHashMap<>();
 
+    // 🔌 Which connections ride on each socket, so a close or a pong finds them without a search
+    private final ConcurrentHashMap<Session, Set<Connection>> bySession = new ConcurrentHashMap<>();
+
+    // 🚰 How much each connection may have waiting, and what happens past that
+    private final int queueCapacity;
+    private final Connection.OverflowPolicy overflowPolicy;
+
+    // 💓 Heartbeats: ping anyone who's gone quiet, reap anyone who stays quiet
+    // -Dchess.ws.pingMillis and -Dchess.ws.timeoutMillis tune them
+    public static final long DEFAULT_PING_MILLIS = 15_000;
+    public static final long DEFAULT_TIMEOUT_MILLIS = 45_000;
+    private final long pingMillis;
+    private final long timeoutNanos;
+    private final TimingWheel wheel = new TimingWheel("ws-heartbeat", 100, 512);
+    private final AtomicLong pings = new AtomicLong();
+    private final AtomicLong reaped = new AtomicLong();
+    private final AtomicLong closed = new AtomicLong();
+
+    // 📊 How the heartbeats are going
+    public record HeartbeatStats(int sockets, int timers, long pings, long reaped, long closed) {
+    }
+
+    public ConnectionManager() {
+        this(Connection.DEFAULT_QUEUE_CAPACITY, Connection.OverflowPolicy.DROP_OLDEST);
+    }
+
+    public ConnectionManager(int queueCapacity, Connection.OverflowPolicy overflowPolicy) {
+        this(queueCapacity, overflowPolicy, Long.getLong("chess.ws.pingMillis", DEFAULT_PING_MILLIS),
+                Long.getLong("chess.ws.timeoutMillis", DEFAULT_TIMEOUT_MILLIS));
+    }
+
+    public ConnectionManager(int queueCapacity, Connection.OverflowPolicy overflowPolicy,
+                             long pingMillis, long timeoutMillis) {
+        if (pingMillis < 1 || timeoutMillis < pingMillis) {
+            throw new IllegalArgumentException("need 0 < pingMillis <= timeoutMillis");
+        }
+        this.queueCapacity = queueCapacity;
+        this.overflowPolicy = overflowPolicy;
+        this.pingMillis = pingMillis;
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+    }
+
     // 🎮 Called when a player joins the game
-    public void addConnection(String username, int gameID, Session session) {
-        var connection = new Connection(username, session);
-        connections.computeIfAbsent(gameID, id -> new ConcurrentHashMap<>()).put(username, connection);
+    public void addConnection(String username, int gameID, Session session, boolean moveUpdates) {
+        var connection = new Connection(username, gameID, session, moveUpdates, queueCapacity, overflowPolicy);
+        Connection[] old = new Connection[1];
+        // inside compute, so a game being retired can't swallow the new connection
+        connections.compute(gameID, (id, list) -> {
+            if (list == null) {
+                list = new ConcurrentHashMap<>();
+            }
+            old[0] = list.put(username, connection);
+            return list;
+        });
+        if (old[0] != null) {
+            forget(old[0]); // 🔁 reconnected, the old socket's on its own now
+        }
+        bySession.computeIfAbsent(session, s -> ConcurrentHashMap.newKeySet()).add(connection);
+        wheel.schedule(() -> checkPulse(connection), pingMillis);
     }
 
     // 💣 Nukes all connections for a specific game
     public void remove(int gameID) {
-        connections.remove(gameID);
+        var gameConnections = connections.remove(gameID);
+        feeds.remove(gameID);
+        if (gameConnections != null) {
+            gameConnections.values().forEach(this::forget);
+        }
     }
 
     // ❌ Kicks a specific player from the party
     public void removePlayer(int gameID, String player) {
-        synchronized (connections) {
-            var gameConnections = connections.get(gameID);
-            if (gameConnections != null) {
-                gameConnections.remove(player);
+        var gameConnections = connections.get(gameID);
+        Connection connection = gameConnections == null ? null : gameConnections.remove(player);
+        if (connection != null) {
+            forget(connection);
+            retireIfEmpty(gameID);
+        }
+    }
+
+    // 💓 Something came in on this socket, so whoever's on it is alive
+    public void heard(Session session) {
+        var riders = bySession.get(session);
+        if (riders != null) {
+            riders.forEach(Connection::heard);
+        }
+    }
+
+    // ✌️ Socket's gone: take everyone on it out of their games
+    public void closed(Session session) {
+        var riders = bySession.remove(session);
+        if (riders != null) {
+            for (Connection connection : riders) {
+                if (drop(connection)) {
+                    closed.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    // 🩺 Runs on the wheel every pingMillis per connection; must stay quick
+    private void checkPulse(Connection connection) {
+        var gameConnections = connections.get(connection.gameID);
+        if (gameConnections == null || gameConnections.get(connection.username) != connection) {
+            return; // left, replaced or already dropped, so stop watching
+        }
+        long quiet = connection.quietNanos();
+        if (quiet >= timeoutNanos || !connection.session.isOpen()) {
+            // ☠️ Half-open or just gone: out of the game, and hang up without waiting on a goodbye
+            if (drop(connection)) {
+                reaped.incrementAndGet();
+                System.out.printf("☠️ %s stopped answering pings, reaped them%n", connection.username);
+            }
+            try {
+                connection.session.disconnect();
+            } catch (IOException ignored) {
+                // it was dead anyway
             }
+            return;
+        }
+        if (quiet >= TimeUnit.MILLISECONDS.toNanos(pingMillis) && connection.ping()) {
+            pings.incrementAndGet();
         }
+        wheel.schedule(() -> checkPulse(connection), pingMillis);
     }
 
     // 📢 Blasts a message to everyone *except* one person (drama alert)
     public void broadcast(String excludeUsername, ServerMessage notification, int gameID) {
-        System.out.println("📣 Broadcast is running for: " + excludeUsername);
+        broadcast(excludeUsername, notification, notification, gameID);
+    }
 
-        var removeList = new ArrayList<String>();
+    // 🧩 Same blast, but anyone who asked for move updates gets the tiny delta instead of the whole game
+    public void broadcast(String excludeUsername, ServerMessage fullGame, ServerMessage moveUpdate, int gameID) {
         var connectionList = connections.get(gameID);
-
         if (connectionList == null) {
-            System.out.println("⚠️ No one is here to receive this message. Byeeee~");
-            return;
+            return; // nobody home
         }
 
-        for (var entry : connectionList.entrySet()) {
-            String username = entry.getKey();
-            Connection connection = entry.getValue();
-            System.out.println("👀 Found connection for: " + username);
-
-            if (!username.equals(excludeUsername)) {
-                try {
-                    String message = new Gson().toJson(notification);
-                    System.out.println("📨 Sending message: " + message);
-                    connection.send(message);
-                } catch (IOException e) {
-                    System.out.println("💀 Couldn't send to " + username);
-                    removeList.add(username); // dead connection detected
+        // 🗜️ each flavour gets encoded once, however many people are watching
+        String fullPayload = null;
+        String updatePayload = null;
+        boolean fullIsState = fullGame.getServerMessageType() == ServerMessage.ServerMessageType.LOAD_GAME;
+        var dead = new ArrayList<Connection>();
+        Feed feed = feed(gameID);
+        synchronized (feed) {
+            stamp(feed, fullGame, moveUpdate);
+            for (Connection connection : connectionList.values()) {
+                if (connection.username.equals(excludeUsername)) {
+                    continue;
+                }
+                boolean sent;
+                if (connection.moveUpdates && moveUpdate != fullGame) {
+                    if (updatePayload == null) {
+                        updatePayload = ChessJson.GSON.toJson(moveUpdate);
+                    }
+                    sent = connection.send(updatePayload, false);
+                } else {
+                    if (fullPayload == null) {
+                        fullPayload = ChessJson.GSON.toJson(fullGame);
+                    }
+                    sent = connection.send(fullPayload, fullIsState);
+                }
+                if (!sent) {
+                    dead.add(connection);
                 }
             }
         }
 
         // 🧼 Clean up any ghost connections
-        for (String userToRemove : removeList) {
-            connectionList.remove(userToRemove);
-        }
-
-        // 🧯 If nobody's left, ditch the whole game
-        if (connectionList.isEmpty()) {
-            remove(gameID);
+        for (Connection connection : dead) {
+            drop(connection);
         }
     }
 
     // 📬 Send a direct message to one specific user
     public void send(ServerMessage serverMessage, String username, int gameID) throws IOException {
-        synchronized (connections) {
-            String message = new Gson().toJson(serverMessage);
-            System.out.println("📤 Sending to " + username + ": " + message);
-
-            var connectionList = connections.get(gameID);
-            if (connectionList != null && connectionList.containsKey(username)) {
-                connectionList.get(username).send(message);
-            } else {
-                System.out.println("🚫 Connection not found for user: " + username);
+        send(serverMessage, serverMessage, username, gameID);
+    }
+
+    // 📬 Direct message with the delta-or-full-game choice made per connection
+    public void send(ServerMessage fullGame, ServerMessage moveUpdate, String username, int gameID) throws IOException {
+        var connectionList = connections.get(gameID);
+        Connection connection = connectionList == null ? null : connectionList.get(username);
+        if (connection == null) {
+            System.out.println("🚫 Connection not found for user: " + username);
+            return;
+        }
+        ServerMessage message = connection.moveUpdates ? moveUpdate : fullGame;
+        boolean state = message.getServerMessageType() == ServerMessage.ServerMessageType.LOAD_GAME;
+        boolean sent;
+        Feed feed = feed(gameID);
+        synchronized (feed) {
+            stamp(feed, fullGame, moveUpdate);
+            sent = connection.send(ChessJson.GSON.toJson(message), state);
+        }
+        if (!sent) {
+            drop(connection);
+            throw new IOException("Session for " + username + " is closed");
+        }
+    }
+
+    private Feed feed(int gameID) {
+        return feeds.computeIfAbsent(gameID, id -> new Feed());
+    }
+
+    // 🔢 Both flavours of one update share a number; each connection's queue keeps them in that order
+    // only call while holding the feed
+    private static void stamp(Feed feed, ServerMessage fullGame, ServerMessage moveUpdate) {
+        long sequence = ++feed.sequence;
+        fullGame.setSequence(sequence);
+        moveUpdate.setSequence(sequence);
+    }
+
+    // 💀 true if this call is the one that took them out
+    private boolean drop(Connection connection) {
+        int gameID = connection.gameID;
+        var connectionList = connections.get(gameID);
+        forget(connection);
+        if (connectionList != null && connectionList.remove(connection.username, connection)) {
+            System.out.println("💀 Dropped dead connection for " + connection.username);
+            retireIfEmpty(gameID);
+            return true;
+        }
+        return false;
+    }
+
+    // 🧯 If nobody's left, ditch the whole game, numbering included; whoever shows up next starts
+    // a fresh feed from 1, and since clients start their gate over on every CONNECT nobody's
+    // still holding numbers from the old one
+    private void retireIfEmpty(int gameID) {
+        connections.computeIfPresent(gameID, (id, list) -> {
+            if (!list.isEmpty()) {
+                return list;
             }
+            feeds.remove(id);
+            return null;
+        });
+    }
+
+    // 📊 Games with anyone connected, and games with a message counter; the two should match
+    int gameCount() {
+        return connections.size();
+    }
+
+    int feedCount() {
+        return feeds.size();
+    }
+
+    // 🧽 Unhook a connection from its socket's list; the socket's entry goes when it's empty
+    private void forget(Connection connection) {
+        bySession.computeIfPresent(connection.session, (s, riders) -> {
+            riders.remove(connection);
+            return riders.isEmpty() ? null : riders;
+        });
+    }
+
+    // 📊 Queue numbers for everyone in a game, keyed by username
+    public Map<String, Connection.Stats> stats(int gameID) {
+        var connectionList = connections.get(gameID);
+        var stats = new HashMap<String, Connection.Stats>();
+        if (connectionList != null) {
+            connectionList.forEach((username, connection) -> stats.put(username, connection.stats()));
         }
+        return stats;
+    }
+
+    public HeartbeatStats heartbeatStats() {
+        return new HeartbeatStats(bySession.size(), wheel.pending(), pings.get(), reaped.get(), closed.get());
     }
 
     // 🛑 Send an error message when things go 💥
-    public void sendError(RemoteEndpoint session, String errorMessage) {
-        synchronized (connections) {
-            var gson = new Gson();
-            var message = new ServerMessage(ServerMessage.ServerMessageType.ERROR, null, null, gson.toJson(errorMessage));
-            String serverMessage = gson.toJson(message);
+    // It waits in line behind whatever this socket already has queued for the game, so it can't
+    // overtake a move the client hasn't seen yet; straight out only if they aren't in the game
+    public void sendError(Session session, int gameID, String errorMessage) {
+        var riders = bySession.get(session);
+        Connection connection = null;
+        if (riders != null) {
+            for (Connection rider : riders) {
+                if (rider.gameID == gameID) {
+                    connection = rider;
+                }
+            }
+        }
+        if (connection == null) {
+            sendError(session, errorMessage);
+        } else if (!connection.send(errorPayload(errorMessage), false)) {
+            drop(connection);
+        }
+    }
 
-            try {
-                session.sendString(serverMessage);
-                System.out.println("⚠️ Error sent to client: " + errorMessage);
-            } catch (IOException e) {
+    // 🛑 Same, for a socket that isn't in any game we know of, so there's no queue to wait in
+    public void sendError(Session session, String errorMessage) {
+        session.getRemote().sendString(errorPayload(errorMessage), new WriteCallback() {
+            @Override
+            public void writeFailed(Throwable x) {
                 System.out.println("❗ Error sending error (how meta)");
             }
-        }
+
+            @Override
+            public void writeSuccess() {
+            }
+        });
+    }
+
+    private static String errorPayload(String errorMessage) {
+        var message = new ServerMessage(ServerMessage.ServerMessageType.ERROR, null, null,
+                ChessJson.GSON.toJson(errorMessage));
+        return ChessJson.GSON.toJson(message);
     }
 }
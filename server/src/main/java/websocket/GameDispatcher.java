@@ -0,0 +1,121 @@
+package websocket;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 🧵 Gets command handling off Jetty's I/O threads
+// Each game has its own line of commands. Whenever a game has work and nobody is on it,
+// one virtual thread picks the line up and runs it front to back, so commands for a game
+// never overlap or reorder while every other game keeps going. Database calls and bot
+// thinking park a virtual thread instead of holding a socket thread hostage.
+//
+// -Dchess.ws.dispatch=inline runs commands right on the I/O thread like the old days.
+public class GameDispatcher {
+
+    public enum Mode {
+        VIRTUAL,
+        INLINE
+    }
+
+    // 📊 How backed up things are
+    public record Stats(int pending, int highWater, long completed, int busyGames) {
+    }
+
+    // one game's commands; a line only exists while it has work, and pending is only
+    // changed inside lines.compute, so adding work and retiring an empty line can't interleave
+    private static final class GameLine {
+        final int gameID;
+        final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        volatile int pending;
+
+        GameLine(int gameID) {
+            this.gameID = gameID;
+        }
+    }
+
+    private final Mode mode;
+    private final Executor executor;
+    private final Map<Integer, GameLine> lines = new ConcurrentHashMap<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicInteger highWater = new AtomicInteger();
+    private final AtomicLong completed = new AtomicLong();
+
+    public GameDispatcher() {
+        this("inline".equalsIgnoreCase(System.getProperty("chess.ws.dispatch")) ? Mode.INLINE : Mode.VIRTUAL);
+    }
+
+    public GameDispatcher(Mode mode) {
+        this(mode, mode == Mode.VIRTUAL ? Executors.newVirtualThreadPerTaskExecutor() : Runnable::run);
+    }
+
+    // 🧪 any executor works; each game still only ever has one task running
+    public GameDispatcher(Mode mode, Executor executor) {
+        this.mode = mode;
+        this.executor = executor;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    // 📥 Line the command up behind everything else for its game
+    public void submit(int gameID, Runnable task) {
+        GameLine[] idle = new GameLine[1];
+        lines.compute(gameID, (id, line) -> {
+            if (line == null) {
+                line = new GameLine(id);
+            }
+            line.tasks.add(task);
+            // whoever takes the game's count from 0 to 1 starts the drain
+            if (line.pending++ == 0) {
+                idle[0] = line;
+            }
+            return line;
+        });
+        int total = pending.incrementAndGet();
+        highWater.accumulateAndGet(total, Math::max);
+        if (idle[0] != null) {
+            GameLine line = idle[0];
+            executor.execute(() -> drain(line));
+        }
+    }
+
+    private void drain(GameLine line) {
+        boolean more;
+        do {
+            Runnable task = line.tasks.poll();
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                System.err.println("💥 Command blew up: " + e);
+                e.printStackTrace();
+            } finally {
+                pending.decrementAndGet();
+                completed.incrementAndGet();
+            }
+            // 🧹 the last task out takes the line with it, so games nobody plays anymore cost nothing
+            more = lines.computeIfPresent(line.gameID, (id, l) -> --l.pending == 0 ? null : l) != null;
+        } while (more);
+    }
+
+    // 📊 Commands waiting or running for one game
+    public int pending(int gameID) {
+        GameLine line = lines.get(gameID);
+        return line == null ? 0 : line.pending;
+    }
+
+    public Stats stats() {
+        return new Stats(pending.get(), highWater.get(), completed.get(), lines.size());
+    }
+
+    // 🧪 how many games have a line right now; only busy ones should
+    int lineCount() {
+        return lines.size();
+    }
+}
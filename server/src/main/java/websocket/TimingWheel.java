@@ -0,0 +1,129 @@
+package websocket;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+// ⏱️ Hashed timing wheel for "do this in a bit" jobs, a few hundred thousand at a time
+// A ring of buckets and one hand that moves a bucket per tick. Scheduling is just a queue
+// add from any thread; the wheel's own thread files it into the bucket its deadline lands
+// in and, when the hand gets there, runs everything that's due. Timers fire up to one
+// tick late, which is plenty precise for heartbeats.
+//
+// Jobs run on the wheel's thread, so they have to be quick and must never block.
+public class TimingWheel {
+    // 🚦 Don't spend a whole tick just filing new timers when a flood comes in
+    private static final int MAX_TRANSFERS_PER_TICK = 100_000;
+
+    private static final class Timeout {
+        final Runnable task;
+        final long deadline; // nanos since the wheel started
+        long rounds;         // laps the hand still has to make before this one is due
+
+        Timeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+    }
+
+    private final String name;
+    private final long tickNanos;
+    private final ArrayDeque<Timeout>[] buckets;
+    private final int mask;
+    private final Queue<Timeout> incoming = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicBoolean started = new AtomicBoolean();
+    private final long startNanos; // deadlines count from here, set before anyone can schedule
+    private long tick; // only the wheel thread touches the buckets and the hand
+
+    @SuppressWarnings("unchecked")
+    public TimingWheel(String name, long tickMillis, int bucketCount) {
+        if (tickMillis < 1 || bucketCount < 1) {
+            throw new IllegalArgumentException("tick and bucket count must be positive");
+        }
+        this.name = name;
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        int size = Integer.highestOneBit(bucketCount - 1) << 1; // 🔢 round up to a power of two
+        size = Math.max(size, 1);
+        this.buckets = new ArrayDeque[size];
+        for (int i = 0; i < size; i++) {
+            buckets[i] = new ArrayDeque<>();
+        }
+        this.mask = size - 1;
+        this.startNanos = System.nanoTime();
+    }
+
+    // 📥 Run the task once, about delayMillis from now
+    public void schedule(Runnable task, long delayMillis) {
+        start();
+        long deadline = System.nanoTime() - startNanos + TimeUnit.MILLISECONDS.toNanos(delayMillis);
+        pending.incrementAndGet();
+        incoming.add(new Timeout(task, deadline));
+    }
+
+    // 📊 Timers waiting to fire
+    public int pending() {
+        return pending.get();
+    }
+
+    private void start() {
+        if (!started.get() && started.compareAndSet(false, true)) {
+            Thread.ofPlatform().daemon().name(name).start(this::run);
+        }
+    }
+
+    private void run() {
+        // 🕰️ the hand starts where the clock is, no spinning through ticks from before anyone scheduled
+        tick = (System.nanoTime() - startNanos) / tickNanos;
+        while (!Thread.currentThread().isInterrupted()) {
+            waitForNextTick();
+            transfer();
+            expire(buckets[(int) (tick & mask)]);
+            tick++;
+        }
+    }
+
+    private void waitForNextTick() {
+        long deadline = (tick + 1) * tickNanos;
+        long now;
+        while ((now = System.nanoTime() - startNanos) < deadline) {
+            LockSupport.parkNanos(deadline - now);
+        }
+    }
+
+    // 🗂️ File newly scheduled timers into the bucket their deadline falls in
+    private void transfer() {
+        for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+            Timeout timeout = incoming.poll();
+            if (timeout == null) {
+                return;
+            }
+            long due = timeout.deadline / tickNanos;
+            timeout.rounds = (due - tick) / buckets.length;
+            long slot = Math.max(due, tick); // already late? goes off with this tick
+            buckets[(int) (slot & mask)].add(timeout);
+        }
+    }
+
+    private void expire(ArrayDeque<Timeout> bucket) {
+        for (int n = bucket.size(); n > 0; n--) {
+            Timeout timeout = bucket.poll();
+            if (timeout.rounds > 0) {
+                timeout.rounds--;
+                bucket.add(timeout); // ⏳ not this lap
+                continue;
+            }
+            pending.decrementAndGet();
+            try {
+                timeout.task.run();
+            } catch (RuntimeException e) {
+                System.err.println("💥 Timer blew up: " + e);
+                e.printStackTrace();
+            }
+        }
+    }
+}
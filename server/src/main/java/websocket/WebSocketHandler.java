@@ -2,7 +2,7 @@
 package websocket;
 
 import chess.*;
-import com.google.gson.Gson;
+import chess.engine.SearchResult;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 import dataaccess.DataAccessException;
@@ -10,34 +10,84 @@ import model.GameData;
 import model.GameID;
 import org.eclipse.jetty.websocket.api.Session;
 import org.eclipse.jetty.websocket.api.annotations.*;
+import org.eclipse.jetty.websocket.api.extensions.Frame;
 import service.TheChessService;
 import websocket.commands.MakeMoveCommand;
 import websocket.commands.UserGameCommand;
 import websocket.messages.ServerMessage;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.Collection;
 
 @WebSocket
 public class WebSocketHandler {
     private final ConnectionManager connections = new ConnectionManager(); // squad manager tbh
+    private final BotPlayer bot;
+    // 🧵 the I/O threads just read and hand off; each game's commands run one at a time, in order
+    private final GameDispatcher dispatcher;
+
+    public WebSocketHandler() {
+        this(new BotPlayer(), new GameDispatcher());
+    }
+
+    WebSocketHandler(BotPlayer bot, GameDispatcher dispatcher) {
+        this.bot = bot;
+        this.dispatcher = dispatcher;
+    }
 
     @OnWebSocketMessage
     public void onMessage(Session session, String message) {
+        JsonObject json = JsonParser.parseString(message).getAsJsonObject();
+        String commandType = json.get("commandType").getAsString();
+        System.out.println("WebSocketHandler got message type: " + commandType);
+        if (!json.has("gameID") || json.get("gameID").isJsonNull()) {
+            connections.sendError(session, "Error: which game tho? 🤷");
+            return;
+        }
+
+        int gameID = json.get("gameID").getAsInt();
+        boolean cutShort = (commandType.equals("RESIGN") || commandType.equals("LEAVE")) && endsGame(json, gameID);
+        if (cutShort) {
+            // 🛑 skips the line on purpose: a bot think in progress gets cut short instead of making them wait it out
+            bot.stop(gameID);
+        }
+        dispatcher.submit(gameID, () -> handle(session, commandType, json, cutShort));
+    }
+
+    // 🔐 only a player of a live game gets to cut the bot short, anyone else just waits their turn in line
+    private boolean endsGame(JsonObject json, int gameID) {
+        if (!Boolean.FALSE.equals(connections.resigned.get(gameID)) || !json.has("authToken")
+                || json.get("authToken").isJsonNull()) {
+            return false;
+        }
         try {
-            JsonObject json = JsonParser.parseString(message).getAsJsonObject();
-            String commandType = json.get("commandType").getAsString();
-            System.out.println("WebSocketHandler got message type: " + commandType);
+            String authToken = json.get("authToken").getAsString();
+            String username = TheChessService.getAuthData(authToken).username();
+            GameData gameData = TheChessService.getGame(authToken, new GameID(gameID));
+            return username.equals(gameData.whiteUsername()) || username.equals(gameData.blackUsername());
+        } catch (DataAccessException | RuntimeException e) {
+            return false;
+        }
+    }
 
+    // 🧵 Runs on the game's own line, after everything sent for it before
+    private void handle(Session session, String commandType, JsonObject json, boolean cutShort) {
+        UserGameCommand command = ChessJson.GSON.fromJson(json, UserGameCommand.class);
+        boolean ended = false;
+        try {
             switch (commandType) {
-                case "CONNECT" -> connect(session, new Gson().fromJson(message, UserGameCommand.class));
-                case "MAKE_MOVE" -> makeMove(session, new Gson().fromJson(message, MakeMoveCommand.class));
-                case "LEAVE" -> leaveGame(new Gson().fromJson(message, UserGameCommand.class));
-                case "RESIGN" -> resign(session, new Gson().fromJson(message, UserGameCommand.class));
+                // bind from the tree we already parsed instead of reading the text twice
+                case "CONNECT" -> connect(session, command);
+                case "MAKE_MOVE" -> makeMove(session, ChessJson.GSON.fromJson(json, MakeMoveCommand.class));
+                case "LEAVE" -> ended = leaveGame(session, command);
+                case "RESIGN" -> ended = resign(session, command);
+                case "SYNC" -> sync(session, command);
             }
         } catch (DataAccessException ex) {
-            connections.sendError(session.getRemote(), "Error: unauthorized"); // classic permission drama
+            connections.sendError(session, command.getGameID(), "Error: unauthorized"); // classic permission drama
+        } finally {
+            if (cutShort && !ended) {
+                resumeBot(session, command); // 🤖 things changed since onMessage looked, the game's still on
+            }
         }
     }
 
@@ -47,29 +97,36 @@ public class WebSocketHandler {
         throwable.printStackTrace(); // gotta air the dirty laundry
     }
 
+    // 💓 Every frame counts as a sign of life, pongs to our heartbeat pings included
+    @OnWebSocketFrame
+    public void onFrame(Session session, Frame frame) {
+        connections.heard(session);
+    }
+
     @OnWebSocketClose
     public void onClose(Session session, int statusCode, String reason) {
         System.out.println("✌️ WebSocket Closed. Code: " + statusCode + ", Reason: " + reason);
+        connections.closed(session); // 🧹 don't keep broadcasting to a socket that's gone
     }
 
     private void connect(Session session, UserGameCommand command) throws DataAccessException {
         connections.resigned.put(command.getGameID(), false);
         String username = TheChessService.getAuthData(command.getAuthToken()).username();
-        connections.addConnection(username, command.getGameID(), session);
+        connections.addConnection(username, command.getGameID(), session, command.wantsMoveUpdates());
 
         GameData gameData;
         try {
             gameData = TheChessService.getGame(command.getAuthToken(), new GameID(command.getGameID()));
         } catch (DataAccessException e) {
-            connections.sendError(session.getRemote(), "Error: GameData is unusable 1");
+            connections.sendError(session, command.getGameID(), "Error: GameData is unusable 1");
             return;
         }
 
-        ServerMessage loadMessage = new ServerMessage(ServerMessage.ServerMessageType.LOAD_GAME, gameData, null, null);
+        ServerMessage loadMessage = ServerMessage.loadGame(gameData);
         try {
             connections.send(loadMessage, username, command.getGameID());
         } catch (IOException e) {
-            connections.sendError(session.getRemote(), "Error: GameData is unusable 2");
+            connections.sendError(session, command.getGameID(), "Error: GameData is unusable 2");
             return;
         }
 
@@ -80,57 +137,87 @@ public class WebSocketHandler {
         String joinMessage = String.format("%s has joined the game as %s", username, view);
         ServerMessage notification = new ServerMessage(ServerMessage.ServerMessageType.NOTIFICATION, null, joinMessage, null);
         connections.broadcast(username, notification, command.getGameID());
+
+        playBotMove(command, gameData, null, session); // 🤖 bot might be white and waiting on us
     }
 
     private void makeMove(Session session, MakeMoveCommand command) throws DataAccessException {
         System.out.println("Making move 💃");
 
-        synchronized (connections) {
-            String username = TheChessService.getAuthData(command.getAuthToken()).username();
-            GameData gameData = TheChessService.getGame(command.getAuthToken(), new GameID(command.getGameID()));
-            ChessMove move = command.getMove();
-
-            if (!isValidColumn(move)) {
-                connections.sendError(session.getRemote(), "bad input, try again 🤨");
-                return;
-            }
+        String username = TheChessService.getAuthData(command.getAuthToken()).username();
+        GameData gameData = TheChessService.getGame(command.getAuthToken(), new GameID(command.getGameID()));
+        ChessMove move = command.getMove();
 
-            Collection<ChessMove> validMoves = getValidMoves(gameData, command);
-            if (!validMoves.contains(move)) {
-                connections.sendError(session.getRemote(), "Error: invalid move given 🚫");
-                return;
-            }
+        if (!isValidColumn(move)) {
+            connections.sendError(session, command.getGameID(), "bad input, try again 🤨");
+            return;
+        }
 
-            processMove(username, command, move, session, gameData);
+        if (!isPlayable(gameData, command)) {
+            connections.sendError(session, command.getGameID(), "Error: invalid move given 🚫");
+            return;
         }
+
+        processMove(username, command, move, session, gameData);
     }
 
     private boolean isValidColumn(ChessMove move) {
-        return !getColumnLetter(move.getStartPosition().getColumn()).equals("?") &&
-                !getColumnLetter(move.getEndPosition().getColumn()).equals("?");
+        return move != null && MoveNotation.isOnBoard(move.getStartPosition()) &&
+                MoveNotation.isOnBoard(move.getEndPosition());
     }
 
-    private Collection<ChessMove> getValidMoves(GameData gameData, MakeMoveCommand command) {
-        return connections.resigned.get(command.getGameID())
-                ? new ArrayList<>()
-                : gameData.game().validMoves(command.getMove().getStartPosition());
+    private boolean isPlayable(GameData gameData, MakeMoveCommand command) {
+        return !connections.resigned.get(command.getGameID())
+                && gameData.game().isLegal(command.getMove()); // ⚡ checks just this one move
     }
 
     private void processMove(String username, MakeMoveCommand command, ChessMove move,
                              Session session, GameData gameData) {
-        String[] columns = {
-                getColumnLetter(move.getStartPosition().getColumn()),
-                getColumnLetter(move.getEndPosition().getColumn())
-        };
+        String moveText = describeMove(username, gameData.game(), move); // ✍️ SAN needs the board before the move
 
         if (!validateAndApplyMove(username, command, move, session, gameData)) {
             return;
         }
 
         sendMoveUpdates(username, command, gameData, session);
-        broadcastMoveNotification(username, move, columns, command.getGameID());
+        broadcastMoveNotification(username, moveText, command.getGameID());
 
         checkStatus(gameData, command, session, username); // 🧠 wrap it up
+
+        playBotMove(command, gameData, move, session);
+    }
+
+    private void playBotMove(UserGameCommand command, GameData gameData, ChessMove humanMove, Session session) {
+        int gameID = command.getGameID();
+        if (connections.resigned.getOrDefault(gameID, false) || !bot.isBotTurn(gameData)) {
+            return;
+        }
+
+        SearchResult reply = bot.chooseMove(gameID, gameData.game(), humanMove);
+        if (reply == null || connections.resigned.getOrDefault(gameID, false)) {
+            return; // 🏳️ someone resigned or left while the bot was thinking
+        }
+        if (reply.bestMove() == null) {
+            bot.stop(gameID); // 🏁 no moves left, nothing to think about
+            return;
+        }
+
+        String moveText = describeMove(BotPlayer.USERNAME, gameData.game(), reply.bestMove());
+        try {
+            gameData.game().makeMove(reply.bestMove());
+            TheChessService.updateGame(command.getAuthToken(), gameData);
+        } catch (InvalidMoveException | DataAccessException e) {
+            bot.stop(gameID);
+            connections.sendError(session, command.getGameID(), "Error: the bot tripped over its own feet 🤖");
+            return;
+        }
+
+        ServerMessage update = ServerMessage.loadGame(gameData);
+        connections.broadcast(BotPlayer.USERNAME, update, moveApplied(gameData, reply.bestMove()), gameID);
+        broadcastMoveNotification(BotPlayer.USERNAME, moveText, gameID);
+        checkStatus(gameData, command, session, BotPlayer.USERNAME);
+
+        bot.ponder(gameID, gameData.game(), reply); // 🔮 think on the human's clock
     }
 
     private boolean validateAndApplyMove(String username, MakeMoveCommand command, ChessMove move,
@@ -141,7 +228,7 @@ public class WebSocketHandler {
                     (color == ChessGame.TeamColor.BLACK && !gameData.blackUsername().equals(username));
 
             if (notYourTurn) {
-                connections.sendError(session.getRemote(), "Error: Not your turn 🚷");
+                connections.sendError(session, command.getGameID(), "Error: Not your turn 🚷");
                 return false;
             }
 
@@ -150,7 +237,7 @@ public class WebSocketHandler {
             return true;
 
         } catch (InvalidMoveException | DataAccessException e) {
-            connections.sendError(session.getRemote(), "Error: invalid move 👎");
+            connections.sendError(session, command.getGameID(), "Error: invalid move 👎");
             return false;
         }
     }
@@ -158,37 +245,58 @@ public class WebSocketHandler {
     private void sendMoveUpdates(String username, MakeMoveCommand command,
                                  GameData gameData, Session session) {
         try {
-            ServerMessage update = new ServerMessage(ServerMessage.ServerMessageType.LOAD_GAME, gameData, null, null);
-            connections.send(update, username, command.getGameID());
-            delayRace(); // let the server chill for a sec
-            connections.broadcast(username, update, command.getGameID());
+            ServerMessage update = ServerMessage.loadGame(gameData);
+            ServerMessage delta = moveApplied(gameData, command.getMove());
+            connections.send(update, delta, username, command.getGameID());
+            connections.broadcast(username, update, delta, command.getGameID());
         } catch (IOException e) {
-            connections.sendError(session.getRemote(), "Error: couldn’t update game");
+            connections.sendError(session, command.getGameID(), "Error: couldn’t update game");
         }
     }
 
-    private void broadcastMoveNotification(String username, ChessMove move, String[] cols, int gameID) {
-        String msg = String.format("%s moved %s to %s",
-                username,
-                cols[0] + move.getStartPosition().getRow(),
-                cols[1] + move.getEndPosition().getRow());
+    // 🧩 just the move, the new version and how things stand, for clients keeping their own copy
+    private ServerMessage moveApplied(GameData gameData, ChessMove move) {
+        ChessGame game = gameData.game();
+        return ServerMessage.moveApplied(move, game.getTurnCounter(), ServerMessage.GameStatus.of(game.snapshot()));
+    }
 
+    // 🔄 a client fell out of step with the move updates, so hand it the whole game again
+    private void sync(Session session, UserGameCommand command) throws DataAccessException {
+        String username = TheChessService.getAuthData(command.getAuthToken()).username();
+        GameData gameData = TheChessService.getGame(command.getAuthToken(), new GameID(command.getGameID()));
+        ServerMessage loadMessage = ServerMessage.loadGame(gameData);
+        try {
+            connections.send(loadMessage, username, command.getGameID());
+        } catch (IOException e) {
+            connections.sendError(session, command.getGameID(), "Error: couldn’t resync the game");
+        }
+    }
+
+    // 📝 e.g. "alice moved g1 to f3 (Nf3)"
+    private String describeMove(String username, ChessGame game, ChessMove move) {
+        StringBuilder msg = new StringBuilder(username.length() + 24).append(username).append(" moved ");
+        MoveNotation.appendSquare(msg, move.getStartPosition()).append(" to ");
+        MoveNotation.appendSquare(msg, move.getEndPosition()).append(" (");
+        return MoveNotation.appendSan(msg, game, move).append(')').toString();
+    }
+
+    private void broadcastMoveNotification(String username, String msg, int gameID) {
         ServerMessage notification = new ServerMessage(ServerMessage.ServerMessageType.NOTIFICATION, null, msg, null);
         connections.broadcast(username, notification, gameID);
     }
 
     private void checkStatus(GameData game, UserGameCommand command, Session session, String username) {
-        String white = game.whiteUsername();
-        String black = game.blackUsername();
-
-        if (game.game().isInCheckmate(ChessGame.TeamColor.WHITE)) {
-            notifyEveryone(username, session, command, String.format("‼️ Checkmate ‼️\n%s wins!", black));
-        } else if (game.game().isInCheckmate(ChessGame.TeamColor.BLACK)) {
-            notifyEveryone(username, session, command, String.format("‼️ Checkmate ‼️\n%s wins!", white));
-        } else if (game.game().isInCheck(ChessGame.TeamColor.WHITE)) {
-            notifyEveryone(username, session, command, String.format("%s is in check ⚠️", white));
-        } else if (game.game().isInCheck(ChessGame.TeamColor.BLACK)) {
-            notifyEveryone(username, session, command, String.format("%s is in check ⚠️", black));
+        // 📸 after a legal move only the side to move can be in check, and the snapshot says who that is
+        GameSnapshot snapshot = game.game().snapshot();
+        boolean whiteToMove = snapshot.getTeamTurn() == ChessGame.TeamColor.WHITE;
+        String toMove = whiteToMove ? game.whiteUsername() : game.blackUsername();
+        String other = whiteToMove ? game.blackUsername() : game.whiteUsername();
+
+        switch (ServerMessage.GameStatus.of(snapshot)) {
+            case CHECKMATE -> notifyEveryone(username, session, command, String.format("‼️ Checkmate ‼️\n%s wins!", other));
+            case CHECK -> notifyEveryone(username, session, command, String.format("%s is in check ⚠️", toMove));
+            default -> {
+            }
         }
     }
 
@@ -198,12 +306,18 @@ public class WebSocketHandler {
             connections.send(notification, username, command.getGameID());
             connections.broadcast(username, notification, command.getGameID());
         } catch (IOException e) {
-            connections.sendError(session.getRemote(), "Error: can't notify the squad");
+            connections.sendError(session, command.getGameID(), "Error: can't notify the squad");
         }
     }
 
-    private void resign(Session session, UserGameCommand command) throws DataAccessException {
-        if (!connections.resigned.get(command.getGameID())) {
+    // ✅ true once the game is over, whether this resign did it or an earlier one
+    private boolean resign(Session session, UserGameCommand command) throws DataAccessException {
+        Boolean over = connections.resigned.get(command.getGameID());
+        if (over == null) {
+            connections.sendError(session, command.getGameID(), "Error: nobody's playing that game 🤷");
+            return false;
+        }
+        if (!over) {
             String username = TheChessService.getAuthData(command.getAuthToken()).username();
             GameData game = TheChessService.getGame(command.getAuthToken(), new GameID(command.getGameID()));
 
@@ -212,51 +326,45 @@ public class WebSocketHandler {
 
             if (victor != null) {
                 connections.resigned.put(command.getGameID(), true);
+                bot.stop(command.getGameID());
                 notifyEveryone(username, session, command, String.format("%s has resigned 😔\n%s wins 🎉", username, victor));
-            } else {
-                connections.sendError(session.getRemote(), "Error: You’re just an observer, boo 👀");
+                return true;
             }
-        } else {
-            connections.sendError(session.getRemote(), "Error: Already resigned 👋");
+            connections.sendError(session, command.getGameID(), "Error: You’re just an observer, boo 👀");
+            return false;
         }
+        connections.sendError(session, command.getGameID(), "Error: Already resigned 👋");
+        return true;
     }
 
-    private void leaveGame(UserGameCommand command) throws DataAccessException {
-        synchronized (connections) {
-            String username = TheChessService.getAuthData(command.getAuthToken()).username();
-            GameData existingGame = TheChessService.getGame(command.getAuthToken(), new GameID(command.getGameID()));
+    // ✅ true if a player left, which ends the game for the bot
+    private boolean leaveGame(Session session, UserGameCommand command) throws DataAccessException {
+        String username = TheChessService.getAuthData(command.getAuthToken()).username();
+        GameData existingGame = TheChessService.getGame(command.getAuthToken(), new GameID(command.getGameID()));
 
-            var leaveMessage = new ServerMessage(ServerMessage.ServerMessageType.NOTIFICATION, null, username + " left the game 🏃", null);
-            connections.broadcast(username, leaveMessage, command.getGameID());
-            connections.removePlayer(command.getGameID(), username);
+        var leaveMessage = new ServerMessage(ServerMessage.ServerMessageType.NOTIFICATION, null, username + " left the game 🏃", null);
+        connections.broadcast(username, leaveMessage, command.getGameID());
+        connections.removePlayer(command.getGameID(), username);
 
-            if (username.equals(existingGame.whiteUsername())) {
-                TheChessService.updateGameWhiteUsername(command.getAuthToken(), username, existingGame.gameID());
-            } else if (username.equals(existingGame.blackUsername())) {
-                TheChessService.updateGameBlackUsername(command.getAuthToken(), username, existingGame.gameID());
-            }
+        if (username.equals(existingGame.whiteUsername())) {
+            bot.stop(command.getGameID());
+            TheChessService.updateGameWhiteUsername(command.getAuthToken(), username, existingGame.gameID());
+            return true;
+        } else if (username.equals(existingGame.blackUsername())) {
+            bot.stop(command.getGameID());
+            TheChessService.updateGameBlackUsername(command.getAuthToken(), username, existingGame.gameID());
+            return true;
         }
+        return false; // 👀 an observer leaving doesn't end anyone's game
     }
 
-    private String getColumnLetter(int col) {
-        return switch (col) {
-            case 1 -> "a";
-            case 2 -> "b";
-            case 3 -> "c";
-            case 4 -> "d";
-            case 5 -> "e";
-            case 6 -> "f";
-            case 7 -> "g";
-            case 8 -> "h";
-            default -> "?";
-        };
-    }
-
-    private void delayRace() {
+    // 🤖 onMessage stopped the bot up front, but the command turned out not to end anything
+    private void resumeBot(Session session, UserGameCommand command) {
         try {
-            Thread.sleep(100);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+            GameData gameData = TheChessService.getGame(command.getAuthToken(), new GameID(command.getGameID()));
+            playBotMove(command, gameData, null, session);
+        } catch (DataAccessException e) {
+            connections.sendError(session, command.getGameID(), "Error: couldn’t wake the bot back up 🤖");
         }
     }
 }
@@ -1,5 +1,6 @@
 package passoff.server;
 
+import chess.ChessJson;
 import com.google.gson.GsonBuilder;
 
 public class TestFactory {
@@ -32,9 +33,8 @@ public class TestFactory {
          * If you would like to change the way the web socket test cases serialize
          * or deserialize chess objects like ChessMove, you may add type adapters here.
          */
-        GsonBuilder builder = new GsonBuilder();
-        // builder.registerTypeAdapter(ChessMove.class, /*type adapter or json serializer */);
-        return builder;
+        // the server writes games as FEN, so read them the way it does
+        return ChessJson.register(new GsonBuilder());
     }
 
 }
@@ -0,0 +1,119 @@
+package websocket;
+
+import org.eclipse.jetty.websocket.api.StatusCode;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+public class ConnectionTests {
+
+    private static Connection connection(StubSession session, int capacity, Connection.OverflowPolicy policy) {
+        return new Connection("alice", 1, session, false, capacity, policy);
+    }
+
+    // lets every held write finish, including the ones each completion starts
+    private static void drain(StubSession session) {
+        while (session.writesInFlight() > 0) {
+            session.completeWrite();
+        }
+    }
+
+    @Test
+    @DisplayName("Only One Write Is In Flight At A Time")
+    public void oneWriteAtATime() {
+        StubSession session = new StubSession().holdWrites();
+        Connection connection = connection(session, 8, Connection.OverflowPolicy.DROP_OLDEST);
+
+        connection.send("m0", false);
+        connection.send("m1", false);
+        connection.send("m2", false);
+        Assertions.assertEquals(List.of("m0"), session.sent());
+        Assertions.assertEquals(2, connection.stats().queued());
+
+        drain(session);
+        Assertions.assertEquals(List.of("m0", "m1", "m2"), session.sent());
+        Assertions.assertEquals(3, connection.stats().sent());
+    }
+
+    @Test
+    @DisplayName("A Full Queue Drops Its Oldest Message Under DROP_OLDEST")
+    public void dropOldest() {
+        StubSession session = new StubSession().holdWrites();
+        Connection connection = connection(session, 3, Connection.OverflowPolicy.DROP_OLDEST);
+
+        for (int i = 0; i <= 5; i++) {
+            Assertions.assertTrue(connection.send("m" + i, false));
+        }
+        drain(session);
+
+        // m0 was already on the wire; m1 and m2 made room for m4 and m5
+        Assertions.assertEquals(List.of("m0", "m3", "m4", "m5"), session.sent());
+        Connection.Stats stats = connection.stats();
+        Assertions.assertEquals(2, stats.dropped());
+        Assertions.assertEquals(3, stats.highWater());
+        Assertions.assertFalse(stats.evicted());
+        Assertions.assertTrue(session.isOpen());
+    }
+
+    @Test
+    @DisplayName("A Full Queue Hangs Up Under DISCONNECT")
+    public void disconnect() {
+        StubSession session = new StubSession().holdWrites();
+        Connection connection = connection(session, 2, Connection.OverflowPolicy.DISCONNECT);
+
+        Assertions.assertTrue(connection.send("m0", false));
+        Assertions.assertTrue(connection.send("m1", false));
+        Assertions.assertTrue(connection.send("m2", false));
+        Assertions.assertFalse(connection.send("m3", false));
+
+        Assertions.assertEquals(StatusCode.TRY_AGAIN_LATER, session.closedWith().getCode());
+        Connection.Stats stats = connection.stats();
+        Assertions.assertTrue(stats.evicted());
+        Assertions.assertEquals(0, stats.queued());
+        Assertions.assertEquals(3, stats.dropped());
+        Assertions.assertFalse(connection.send("m4", false));
+    }
+
+    @Test
+    @DisplayName("A New Game State Replaces The Queued One And Goes To The Back")
+    public void stateReplacementKeepsOrder() {
+        StubSession session = new StubSession().holdWrites();
+        Connection connection = connection(session, 8, Connection.OverflowPolicy.DROP_OLDEST);
+
+        connection.send("note0", false);
+        connection.send("state1", true);
+        connection.send("note1", false);
+        connection.send("state2", true);
+        connection.send("note2", false);
+        drain(session);
+
+        // state1 is gone; nothing overtakes anything that was sent before it
+        Assertions.assertEquals(List.of("note0", "note1", "state2", "note2"), session.sent());
+        Assertions.assertEquals(1, connection.stats().dropped());
+    }
+
+    @Test
+    @DisplayName("A Failed Write Kills The Connection And Its Queue")
+    public void writeFailedMidChain() {
+        StubSession session = new StubSession().holdWrites();
+        Connection connection = connection(session, 8, Connection.OverflowPolicy.DROP_OLDEST);
+
+        connection.send("m0", false);
+        connection.send("m1", false);
+        connection.send("m2", false);
+        session.completeWrite();
+        session.failWrite(new IOException("connection reset"));
+
+        Assertions.assertEquals(List.of("m0", "m1"), session.sent());
+        Assertions.assertEquals(0, session.writesInFlight());
+        Connection.Stats stats = connection.stats();
+        Assertions.assertEquals(1, stats.sent());
+        Assertions.assertEquals(1, stats.failed());
+        Assertions.assertEquals(1, stats.dropped());
+        Assertions.assertFalse(connection.send("m3", false));
+        Assertions.assertEquals(List.of("m0", "m1"), session.sent());
+    }
+}
@@ -0,0 +1,120 @@
+package websocket;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+public class GameDispatcherTests {
+
+    private static void awaitTrue(BooleanSupplier condition, String why) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            Assertions.assertTrue(System.currentTimeMillis() < deadline, why);
+            Thread.sleep(2);
+        }
+    }
+
+    @Test
+    @DisplayName("A Game's Commands Run One At A Time In Arrival Order")
+    public void perGameOrdering() throws InterruptedException {
+        GameDispatcher dispatcher = new GameDispatcher(GameDispatcher.Mode.VIRTUAL);
+        List<Integer> ran = Collections.synchronizedList(new ArrayList<>());
+        int[] running = new int[1];
+        boolean[] overlapped = new boolean[1];
+        for (int i = 0; i < 500; i++) {
+            int n = i;
+            dispatcher.submit(7, () -> {
+                synchronized (running) {
+                    overlapped[0] |= ++running[0] > 1;
+                }
+                if (ThreadLocalRandom.current().nextInt(50) == 0) {
+                    Thread.yield();
+                }
+                ran.add(n);
+                synchronized (running) {
+                    running[0]--;
+                }
+            });
+        }
+
+        awaitTrue(() -> ran.size() == 500, "commands went missing");
+        for (int i = 0; i < 500; i++) {
+            Assertions.assertEquals(i, ran.get(i));
+        }
+        Assertions.assertFalse(overlapped[0]);
+    }
+
+    @Test
+    @DisplayName("A Slow Game Doesn't Hold Up Other Games")
+    public void gamesRunInParallel() throws InterruptedException {
+        GameDispatcher dispatcher = new GameDispatcher(GameDispatcher.Mode.VIRTUAL);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch otherDone = new CountDownLatch(1);
+        dispatcher.submit(1, () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        dispatcher.submit(2, otherDone::countDown);
+
+        Assertions.assertTrue(otherDone.await(5, TimeUnit.SECONDS), "game 2 waited on game 1");
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("Queue Depth Metrics Track Work And Empty Lines Go Away")
+    public void metricsAndCleanup() throws InterruptedException {
+        GameDispatcher dispatcher = new GameDispatcher(GameDispatcher.Mode.VIRTUAL);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        dispatcher.submit(1, () -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        dispatcher.submit(1, () -> { });
+        dispatcher.submit(1, () -> { });
+        Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        Assertions.assertEquals(3, dispatcher.pending(1));
+        GameDispatcher.Stats busy = dispatcher.stats();
+        Assertions.assertEquals(3, busy.pending());
+        Assertions.assertEquals(3, busy.highWater());
+        Assertions.assertEquals(1, busy.busyGames());
+
+        release.countDown();
+        awaitTrue(() -> dispatcher.stats().completed() == 3, "commands never finished");
+        awaitTrue(() -> dispatcher.lineCount() == 0, "an idle game kept its line");
+        GameDispatcher.Stats idle = dispatcher.stats();
+        Assertions.assertEquals(0, idle.pending());
+        Assertions.assertEquals(0, idle.busyGames());
+        Assertions.assertEquals(0, dispatcher.pending(1));
+    }
+
+    @Test
+    @DisplayName("Inline Mode Runs On The Caller And Still Cleans Up")
+    public void inlineMode() {
+        GameDispatcher dispatcher = new GameDispatcher(GameDispatcher.Mode.INLINE);
+        Thread[] ranOn = new Thread[1];
+        for (int gameID = 0; gameID < 100; gameID++) {
+            dispatcher.submit(gameID, () -> ranOn[0] = Thread.currentThread());
+        }
+
+        Assertions.assertSame(Thread.currentThread(), ranOn[0]);
+        Assertions.assertEquals(0, dispatcher.lineCount());
+        Assertions.assertEquals(100, dispatcher.stats().completed());
+    }
+}
@@ -0,0 +1,95 @@
+package websocket;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+
+public class HeartbeatTests {
+    private static final long PING = 40;
+    private static final long TIMEOUT = 120;
+
+    private static ConnectionManager manager() {
+        return new ConnectionManager(Connection.DEFAULT_QUEUE_CAPACITY, Connection.OverflowPolicy.DROP_OLDEST,
+                PING, TIMEOUT);
+    }
+
+    private static void awaitTrue(BooleanSupplier condition, String why)
+            throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            Assertions.assertTrue(System.currentTimeMillis() < deadline, why);
+            Thread.sleep(5);
+        }
+    }
+
+    @Test
+    @DisplayName("A Silent Connection Gets Pinged, Then Reaped")
+    public void silentConnectionReaped() throws InterruptedException {
+        ConnectionManager connections = manager();
+        StubSession session = new StubSession();
+        connections.addConnection("ghost", 1, session, false);
+
+        awaitTrue(session::wasDisconnected, "silent connection was never reaped");
+        Assertions.assertTrue(connections.stats(1).isEmpty());
+        Assertions.assertTrue(session.pings() > 0);
+        ConnectionManager.HeartbeatStats stats = connections.heartbeatStats();
+        Assertions.assertEquals(1, stats.reaped());
+        Assertions.assertEquals(0, stats.sockets());
+    }
+
+    @Test
+    @DisplayName("Anything Heard From A Connection Keeps It Around")
+    public void heardConnectionKept() throws InterruptedException {
+        ConnectionManager connections = manager();
+        StubSession chatty = new StubSession();
+        StubSession silent = new StubSession();
+        connections.addConnection("chatty", 1, chatty, false);
+        connections.addConnection("silent", 1, silent, false);
+
+        long until = System.currentTimeMillis() + TIMEOUT * 4;
+        while (System.currentTimeMillis() < until) {
+            connections.heard(chatty); // what a pong or any other frame does
+            Thread.sleep(PING / 4);
+        }
+
+        awaitTrue(() -> !connections.stats(1).containsKey("silent"), "silent connection was never reaped");
+        Assertions.assertTrue(connections.stats(1).containsKey("chatty"));
+        Assertions.assertFalse(chatty.wasDisconnected());
+    }
+
+    @Test
+    @DisplayName("Closing A Socket Takes Everyone On It Out Of Their Games")
+    public void closeRemoves() {
+        ConnectionManager connections = manager();
+        StubSession session = new StubSession();
+        StubSession other = new StubSession();
+        connections.addConnection("alice", 1, session, false);
+        connections.addConnection("alice", 2, session, false);
+        connections.addConnection("bob", 1, other, false);
+
+        connections.closed(session);
+
+        Assertions.assertEquals(Set.of("bob"), connections.stats(1).keySet());
+        Assertions.assertTrue(connections.stats(2).isEmpty());
+        Assertions.assertEquals(2, connections.heartbeatStats().closed());
+        Assertions.assertEquals(1, connections.heartbeatStats().sockets());
+    }
+
+    @Test
+    @DisplayName("Reconnecting Replaces The Old Socket Without Counting It As Closed")
+    public void reconnectReplaces() {
+        ConnectionManager connections = manager();
+        StubSession first = new StubSession();
+        StubSession second = new StubSession();
+        connections.addConnection("alice", 1, first, false);
+        connections.addConnection("alice", 1, second, false);
+
+        connections.closed(first);
+
+        Assertions.assertEquals(Set.of("alice"), connections.stats(1).keySet());
+        Assertions.assertEquals(0, connections.heartbeatStats().closed());
+    }
+}
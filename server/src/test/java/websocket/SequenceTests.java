@@ -0,0 +1,133 @@
+package websocket;
+
+import chess.ChessGame;
+import chess.ChessJson;
+import model.GameData;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import websocket.messages.ServerMessage;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+public class SequenceTests {
+
+    private static ServerMessage note(String text) {
+        return new ServerMessage(ServerMessage.ServerMessageType.NOTIFICATION, null, text, null);
+    }
+
+    private static ServerMessage state() {
+        return ServerMessage.loadGame(new GameData(1, "alice", "bob", "game", new ChessGame()));
+    }
+
+    private static List<Long> sequences(StubSession session) {
+        List<Long> sequences = new ArrayList<>();
+        for (String json : session.sent()) {
+            sequences.add(ChessJson.GSON.fromJson(json, ServerMessage.class).getSequence());
+        }
+        return sequences;
+    }
+
+    @Test
+    @DisplayName("A Newer Game State Replacing An Older One Keeps Sequence Order")
+    public void replacementKeepsOrder() throws IOException {
+        ConnectionManager connections = new ConnectionManager();
+        StubSession session = new StubSession().holdWrites();
+        connections.addConnection("alice", 1, session, false);
+
+        connections.send(state(), "alice", 1);         // 1, goes straight out
+        connections.broadcast(null, note("one"), 1);   // 2
+        connections.send(state(), "alice", 1);         // 3, replaced by 5
+        connections.broadcast(null, note("two"), 1);   // 4
+        connections.send(state(), "alice", 1);         // 5
+        while (session.writesInFlight() > 0) {
+            session.completeWrite();
+        }
+
+        Assertions.assertEquals(List.of(1L, 2L, 4L, 5L), sequences(session));
+    }
+
+    @Test
+    @DisplayName("Callers Racing On One Game Still Deliver Increasing Numbers")
+    public void racingCallersStayOrdered() throws InterruptedException {
+        ConnectionManager connections = new ConnectionManager(100_000, Connection.OverflowPolicy.DROP_OLDEST);
+        StubSession session = new StubSession();
+        connections.addConnection("alice", 1, session, false);
+
+        List<Thread> callers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            callers.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < 500; i++) {
+                    connections.broadcast(null, note("hi"), 1);
+                }
+            }));
+        }
+        for (Thread caller : callers) {
+            caller.join();
+        }
+
+        List<Long> seen = sequences(session);
+        Assertions.assertEquals(2_000, seen.size());
+        for (int i = 0; i < seen.size(); i++) {
+            Assertions.assertEquals(i + 1, seen.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("A Game Nobody Is Connected To Keeps No Counter")
+    public void emptyGamesForgotten() throws IOException {
+        ConnectionManager connections = new ConnectionManager();
+        StubSession alice = new StubSession();
+        StubSession bob = new StubSession();
+        connections.addConnection("alice", 1, alice, false);
+        connections.addConnection("bob", 2, bob, false);
+        connections.send(state(), "alice", 1);
+        connections.send(state(), "bob", 2);
+
+        connections.removePlayer(1, "alice");
+        connections.closed(bob);
+
+        Assertions.assertEquals(0, connections.gameCount());
+        Assertions.assertEquals(0, connections.feedCount());
+    }
+
+    @Test
+    @DisplayName("Someone Rejoining An Emptied Game Is Numbered From One Again")
+    public void emptiedGameStartsOver() throws IOException {
+        ConnectionManager connections = new ConnectionManager();
+        StubSession first = new StubSession();
+        connections.addConnection("alice", 1, first, false);
+        connections.send(state(), "alice", 1);
+        connections.broadcast(null, note("one"), 1);
+        connections.removePlayer(1, "alice");
+
+        StubSession second = new StubSession();
+        connections.addConnection("alice", 1, second, false);
+        connections.send(state(), "alice", 1);
+
+        Assertions.assertEquals(List.of(1L, 2L), sequences(first));
+        Assertions.assertEquals(List.of(1L), sequences(second)); // the client's CONNECT reset its gate for this
+    }
+
+    @Test
+    @DisplayName("An Error Waits Behind The Moves Already Queued For The Game")
+    public void errorsQueueBehindMoves() throws IOException {
+        ConnectionManager connections = new ConnectionManager();
+        StubSession session = new StubSession().holdWrites();
+        connections.addConnection("alice", 1, session, false);
+
+        connections.send(state(), "alice", 1);
+        connections.broadcast(null, note("bob moved"), 1);
+        connections.sendError(session, 1, "Error: Not your turn");
+        while (session.writesInFlight() > 0) {
+            session.completeWrite();
+        }
+
+        List<String> sent = session.sent();
+        Assertions.assertEquals(3, sent.size());
+        Assertions.assertTrue(sent.get(1).contains("bob moved"));
+        Assertions.assertTrue(sent.get(2).contains("Not your turn"));
+    }
+}
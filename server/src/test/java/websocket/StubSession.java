@@ -0,0 +1,248 @@
+package websocket;
+
+import org.eclipse.jetty.websocket.api.*;
+
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.function.Predicate;
+
+/**
+ * A session that keeps whatever is sent to it. By default every async write
+ * finishes right away; with {@link #holdWrites()} the callbacks wait until a
+ * test completes or fails them, like a slow reader would.
+ */
+class StubSession implements Session, RemoteEndpoint {
+    private final List<String> sent = new ArrayList<>();
+    private final ArrayDeque<WriteCallback> inFlight = new ArrayDeque<>();
+    private boolean holding;
+    private volatile boolean open = true;
+    private volatile boolean disconnected;
+    private volatile CloseStatus closedWith;
+    private volatile int pings;
+
+    StubSession holdWrites() {
+        holding = true;
+        return this;
+    }
+
+    synchronized List<String> sent() {
+        return new ArrayList<>(sent);
+    }
+
+    // finishes the oldest held write
+    void completeWrite() {
+        WriteCallback callback;
+        synchronized (this) {
+            callback = inFlight.poll();
+        }
+        callback.writeSuccess();
+    }
+
+    void failWrite(Throwable cause) {
+        WriteCallback callback;
+        synchronized (this) {
+            callback = inFlight.poll();
+        }
+        callback.writeFailed(cause);
+    }
+
+    synchronized int writesInFlight() {
+        return inFlight.size();
+    }
+
+    boolean awaitSent(Predicate<String> match, long millis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + millis;
+        while (System.currentTimeMillis() < deadline) {
+            if (sent().stream().anyMatch(match)) {
+                return true;
+            }
+            Thread.sleep(5);
+        }
+        return false;
+    }
+
+    void drop() {
+        open = false;
+    }
+
+    boolean wasDisconnected() {
+        return disconnected;
+    }
+
+    CloseStatus closedWith() {
+        return closedWith;
+    }
+
+    int pings() {
+        return pings;
+    }
+
+    @Override
+    public void sendString(String text, WriteCallback callback) {
+        boolean hold;
+        synchronized (this) {
+            sent.add(text);
+            hold = holding;
+            if (hold) {
+                inFlight.add(callback);
+            }
+        }
+        if (!hold) {
+            callback.writeSuccess();
+        }
+    }
+
+    @Override
+    public void sendPing(ByteBuffer applicationData) {
+        pings++;
+    }
+
+    @Override
+    public void close() {
+        open = false;
+    }
+
+    @Override
+    public void close(CloseStatus closeStatus) {
+        closedWith = closeStatus;
+        open = false;
+    }
+
+    @Override
+    public void close(int statusCode, String reason) {
+        close(new CloseStatus(statusCode, reason));
+    }
+
+    @Override
+    public void disconnect() {
+        disconnected = true;
+        open = false;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return open;
+    }
+
+    @Override
+    public RemoteEndpoint getRemote() {
+        return this;
+    }
+
+    // nothing below is used by the server code
+
+    @Override
+    public long getIdleTimeout() {
+        return 0;
+    }
+
+    @Override
+    public InetSocketAddress getLocalAddress() {
+        return null;
+    }
+
+    @Override
+    public WebSocketPolicy getPolicy() {
+        return null;
+    }
+
+    @Override
+    public String getProtocolVersion() {
+        return "13";
+    }
+
+    @Override
+    public InetSocketAddress getRemoteAddress() {
+        return null;
+    }
+
+    @Override
+    public UpgradeRequest getUpgradeRequest() {
+        return null;
+    }
+
+    @Override
+    public UpgradeResponse getUpgradeResponse() {
+        return null;
+    }
+
+    @Override
+    public boolean isSecure() {
+        return false;
+    }
+
+    @Override
+    public void setIdleTimeout(long ms) {
+    }
+
+    @Override
+    public SuspendToken suspend() {
+        return null;
+    }
+
+    @Override
+    public void sendBytes(ByteBuffer data) {
+    }
+
+    @Override
+    public Future<Void> sendBytesByFuture(ByteBuffer data) {
+        return null;
+    }
+
+    @Override
+    public void sendBytes(ByteBuffer data, WriteCallback callback) {
+    }
+
+    @Override
+    public void sendPartialBytes(ByteBuffer fragment, boolean isLast) {
+    }
+
+    @Override
+    public void sendPartialString(String fragment, boolean isLast) {
+    }
+
+    @Override
+    public void sendPong(ByteBuffer applicationData) {
+    }
+
+    @Override
+    public void sendString(String text) {
+        sendString(text, new WriteCallback() {
+            @Override
+            public void writeFailed(Throwable x) {
+            }
+
+            @Override
+            public void writeSuccess() {
+            }
+        });
+    }
+
+    @Override
+    public Future<Void> sendStringByFuture(String text) {
+        sendString(text);
+        return null;
+    }
+
+    @Override
+    public BatchMode getBatchMode() {
+        return BatchMode.OFF;
+    }
+
+    @Override
+    public void setBatchMode(BatchMode mode) {
+    }
+
+    @Override
+    public InetSocketAddress getInetSocketAddress() {
+        return null;
+    }
+
+    @Override
+    public void flush() {
+    }
+}
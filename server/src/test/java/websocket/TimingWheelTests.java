@@ -0,0 +1,95 @@
+package websocket;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class TimingWheelTests {
+    private static final long TICK = 10;
+    // generous, a busy build machine can stall any thread for a while
+    private static final long SLACK = 250;
+
+    @Test
+    @DisplayName("Timers Fire After Their Delay, Even Several Laps Out")
+    public void firesAcrossLaps() throws InterruptedException {
+        // 4 buckets of 10ms: one lap is 40ms, so these need 0, 2 and 5 extra laps
+        TimingWheel wheel = new TimingWheel("test-wheel", TICK, 4);
+        long[] delays = {15, 95, 210};
+        var firedAfter = new ConcurrentHashMap<Long, Long>();
+        CountDownLatch done = new CountDownLatch(delays.length);
+        long start = System.nanoTime();
+        for (long delay : delays) {
+            wheel.schedule(() -> {
+                firedAfter.put(delay, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                done.countDown();
+            }, delay);
+        }
+
+        Assertions.assertTrue(done.await(5, TimeUnit.SECONDS));
+        for (long delay : delays) {
+            long fired = firedAfter.get(delay);
+            Assertions.assertTrue(fired >= delay, delay + "ms timer went off early at " + fired);
+            Assertions.assertTrue(fired <= delay + TICK + SLACK, delay + "ms timer was a lap late at " + fired);
+        }
+        Assertions.assertEquals(0, wheel.pending());
+    }
+
+    @Test
+    @DisplayName("Timers Scheduled By Many Threads As The Wheel Starts All Fire On Time")
+    public void racingFirstSchedule() throws InterruptedException {
+        TimingWheel wheel = new TimingWheel("test-wheel", TICK, 512);
+        int threads = 8;
+        CountDownLatch go = new CountDownLatch(1);
+        CountDownLatch fired = new CountDownLatch(threads);
+        List<Thread> schedulers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            schedulers.add(Thread.ofPlatform().start(() -> {
+                try {
+                    go.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                wheel.schedule(fired::countDown, 50);
+            }));
+        }
+        go.countDown();
+        for (Thread scheduler : schedulers) {
+            scheduler.join();
+        }
+
+        Assertions.assertTrue(fired.await(50 + TICK + SLACK, TimeUnit.MILLISECONDS),
+                "a timer scheduled during start-up was filed too far out");
+    }
+
+    @Test
+    @DisplayName("A Wheel Made Long Before Its First Timer Still Fires On Time")
+    public void lateFirstSchedule() throws InterruptedException {
+        TimingWheel wheel = new TimingWheel("test-wheel", TICK, 8);
+        Thread.sleep(200);
+        CountDownLatch fired = new CountDownLatch(1);
+        long start = System.nanoTime();
+        wheel.schedule(fired::countDown, 30);
+
+        Assertions.assertTrue(fired.await(5, TimeUnit.SECONDS));
+        Assertions.assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 30);
+    }
+
+    @Test
+    @DisplayName("A Timer That Throws Doesn't Stop The Wheel")
+    public void survivesFailingTask() throws InterruptedException {
+        TimingWheel wheel = new TimingWheel("test-wheel", TICK, 8);
+        CountDownLatch fired = new CountDownLatch(1);
+        wheel.schedule(() -> {
+            throw new IllegalStateException("boom");
+        }, 10);
+        wheel.schedule(fired::countDown, 20);
+
+        Assertions.assertTrue(fired.await(5, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,119 @@
+package websocket;
+
+import chess.ChessJson;
+import chess.MoveNotation;
+import dataaccess.DataAccessException;
+import dataaccess.MemoryDataAccessMethods;
+import model.GameData;
+import model.JoinGame;
+import model.UserData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import service.TheChessService;
+import websocket.commands.MakeMoveCommand;
+import websocket.commands.UserGameCommand;
+
+public class WebSocketHandlerTests {
+    private String aliceToken;
+    private String observerToken;
+    private int gameID;
+
+    @BeforeEach
+    void setUp() throws DataAccessException {
+        new TheChessService(new MemoryDataAccessMethods());
+        TheChessService.clear();
+        aliceToken = TheChessService.register(new UserData("alice", "pw", "a@chess.com")).authToken();
+        observerToken = TheChessService.register(new UserData("bob", "pw", "b@chess.com")).authToken();
+        String botToken = TheChessService.register(new UserData(BotPlayer.USERNAME, "pw", "bot@chess.com")).authToken();
+        gameID = TheChessService.createGame(aliceToken, new GameData(0, null, null, "vs bot", null));
+        TheChessService.joinGame(aliceToken, new JoinGame("WHITE", gameID));
+        TheChessService.joinGame(botToken, new JoinGame("BLACK", gameID));
+    }
+
+    @AfterEach
+    void tearDown() throws DataAccessException {
+        TheChessService.clear();
+    }
+
+    // a bot that would think all day if nobody stopped it
+    private static BotPlayer slowBot() {
+        return new BotPlayer(40, Long.MAX_VALUE, 60_000, 60_000);
+    }
+
+    private String command(UserGameCommand.CommandType type, String token) {
+        return ChessJson.GSON.toJson(new UserGameCommand(type, token, gameID));
+    }
+
+    private String move(String token, String uci) {
+        return ChessJson.GSON.toJson(new MakeMoveCommand(token, gameID, MoveNotation.parseUci(uci)));
+    }
+
+    private static void awaitThinking(BotPlayer bot, int gameID) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!bot.isThinking(gameID)) {
+            Assertions.assertTrue(System.currentTimeMillis() < deadline, "bot never started thinking");
+            Thread.sleep(5);
+        }
+    }
+
+    @Test
+    @DisplayName("Resign Mid Search Stops The Bot Right Away")
+    public void resignStopsSearch() throws InterruptedException {
+        BotPlayer bot = slowBot();
+        WebSocketHandler handler = new WebSocketHandler(bot, new GameDispatcher());
+        StubSession alice = new StubSession();
+
+        handler.onMessage(alice, command(UserGameCommand.CommandType.CONNECT, aliceToken));
+        handler.onMessage(alice, move(aliceToken, "e2e4"));
+        awaitThinking(bot, gameID);
+
+        handler.onMessage(alice, command(UserGameCommand.CommandType.RESIGN, aliceToken));
+        Assertions.assertTrue(alice.awaitSent(msg -> msg.contains("has resigned"), 5_000),
+                "resign waited out the search");
+        Assertions.assertFalse(bot.isThinking(gameID));
+        Assertions.assertTrue(alice.sent().stream().noneMatch(msg -> msg.contains(BotPlayer.USERNAME + " moved")));
+    }
+
+    @Test
+    @DisplayName("An Observer's Resign Doesn't Cut The Bot Short")
+    public void observerResignLeavesBotAlone() throws InterruptedException {
+        BotPlayer bot = slowBot();
+        WebSocketHandler handler = new WebSocketHandler(bot, new GameDispatcher());
+        StubSession alice = new StubSession();
+        StubSession observer = new StubSession();
+
+        handler.onMessage(alice, command(UserGameCommand.CommandType.CONNECT, aliceToken));
+        handler.onMessage(observer, command(UserGameCommand.CommandType.CONNECT, observerToken));
+        handler.onMessage(alice, move(aliceToken, "e2e4"));
+        awaitThinking(bot, gameID);
+
+        handler.onMessage(observer, command(UserGameCommand.CommandType.RESIGN, observerToken));
+        Thread.sleep(100);
+        Assertions.assertTrue(bot.isThinking(gameID), "an observer stopped the bot");
+
+        handler.onMessage(alice, command(UserGameCommand.CommandType.RESIGN, aliceToken));
+        Assertions.assertTrue(observer.awaitSent(msg -> msg.contains("just an observer"), 5_000));
+        Assertions.assertTrue(alice.awaitSent(msg -> msg.contains("has resigned"), 5_000));
+    }
+
+    @Test
+    @DisplayName("A Resign With A Bad Token Can't Stall The Bot")
+    public void badTokenResignLeavesBotAlone() throws InterruptedException {
+        BotPlayer bot = new BotPlayer(40, Long.MAX_VALUE, 300, 300); // thinks a little while, then moves
+        WebSocketHandler handler = new WebSocketHandler(bot, new GameDispatcher());
+        StubSession alice = new StubSession();
+        StubSession stranger = new StubSession();
+
+        handler.onMessage(alice, command(UserGameCommand.CommandType.CONNECT, aliceToken));
+        handler.onMessage(alice, move(aliceToken, "e2e4"));
+        awaitThinking(bot, gameID);
+
+        handler.onMessage(stranger, command(UserGameCommand.CommandType.RESIGN, "not-a-token"));
+        Assertions.assertTrue(alice.awaitSent(msg -> msg.contains(BotPlayer.USERNAME + " moved"), 5_000),
+                "the bot never moved");
+        Assertions.assertTrue(stranger.awaitSent(msg -> msg.contains("unauthorized"), 5_000));
+    }
+}
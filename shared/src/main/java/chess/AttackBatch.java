@@ -0,0 +1,112 @@
+package chess;
+
+/**
+ * A batch of positions laid out as bitboards for BitboardAttacks.
+ * <p>
+ * Each position keeps one attacking side's pieces as 64-bit sets, bit
+ * (row - 1) * 8 + (column - 1) for each square, plus the occupancy of the
+ * whole board and the square of the defending king. The arrays are struct of
+ * arrays so a vector backend can load several positions at once.
+ */
+public class AttackBatch {
+    final long[] whitePawns;
+    final long[] blackPawns;
+    final long[] knights;
+    final long[] diagonal;
+    final long[] orthogonal;
+    final long[] kings;
+    final long[] occupied;
+    final int[] defendingKing;
+    private int size;
+
+    public AttackBatch(int capacity) {
+        whitePawns = new long[capacity];
+        blackPawns = new long[capacity];
+        knights = new long[capacity];
+        diagonal = new long[capacity];
+        orthogonal = new long[capacity];
+        kings = new long[capacity];
+        occupied = new long[capacity];
+        defendingKing = new int[capacity];
+    }
+
+    /**
+     * Adds a position's attacks on the side to move, the set that decides
+     * whether that side is in check
+     *
+     * @return the position's index in the batch
+     */
+    public int addChecksOn(ChessGame game) {
+        ChessGame.TeamColor turn = game.getTeamTurn();
+        return add(game, turn == ChessGame.TeamColor.WHITE ? ChessGame.TeamColor.BLACK : ChessGame.TeamColor.WHITE);
+    }
+
+    /**
+     * Adds one side's pieces of a position
+     *
+     * @param game the position, left untouched
+     * @param attacker the side whose attacks are wanted
+     * @return the position's index in the batch
+     * @throws IllegalStateException if the batch is full
+     */
+    public int add(ChessGame game, ChessGame.TeamColor attacker) {
+        if (size == occupied.length) {
+            throw new IllegalStateException("AttackBatch is full");
+        }
+        int i = size++;
+        long pawns = 0;
+        long knight = 0;
+        long diag = 0;
+        long ortho = 0;
+        long king = 0;
+        long all = 0;
+        int defender = -1;
+        ChessPiece[][] squares = game.thisBoard.squares;
+        for (int square = 0; square < 64; square++) {
+            ChessPiece piece = squares[square >>> 3][square & 7];
+            if (piece == null) {
+                continue;
+            }
+            long bit = 1L << square;
+            all |= bit;
+            if (piece.getTeamColor() != attacker) {
+                if (piece.getPieceType() == ChessPiece.PieceType.KING) {
+                    defender = square;
+                }
+                continue;
+            }
+            switch (piece.getPieceType()) {
+                case PAWN -> pawns |= bit;
+                case KNIGHT -> knight |= bit;
+                case BISHOP -> diag |= bit;
+                case ROOK -> ortho |= bit;
+                case QUEEN -> {
+                    diag |= bit;
+                    ortho |= bit;
+                }
+                case KING -> king |= bit;
+            }
+        }
+        whitePawns[i] = attacker == ChessGame.TeamColor.WHITE ? pawns : 0;
+        blackPawns[i] = attacker == ChessGame.TeamColor.BLACK ? pawns : 0;
+        knights[i] = knight;
+        diagonal[i] = diag;
+        orthogonal[i] = ortho;
+        kings[i] = king;
+        occupied[i] = all;
+        defendingKing[i] = defender;
+        return i;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return occupied.length;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+}
@@ -0,0 +1,110 @@
+package chess;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares ways of answering "is the side to move in check" over a batch of
+ * positions from random games: the array walk ChessGame uses, the scalar
+ * bitboard kernel, and the vector kernel when it is available.
+ * <pre>
+ * mvn -Pvector package
+ * java --add-modules jdk.incubator.vector chess.AttackBenchmark
+ * </pre>
+ * Building the batch from ChessGame boards is timed on its own, since bulk
+ * callers pay it once per position whichever kernel they use.
+ */
+public class AttackBenchmark {
+    private static final int POSITIONS = 4_096;
+    private static final int ROUNDS = 400;
+    // keeps the JIT from throwing the results away
+    private static volatile long sink;
+
+    public static void main(String[] args) throws InvalidMoveException {
+        List<ChessGame> positions = samplePositions();
+        AttackBatch batch = new AttackBatch(POSITIONS);
+
+        System.out.printf("batch fill:   %.1f ns/position%n", fillNanos(positions, batch));
+        System.out.printf("array walk:   %.1f ns/position%n", arrayWalkNanos(positions));
+        System.out.printf("scalar board: %.1f ns/position%n", kernelNanos(batch, BitboardAttacks.Backend.SCALAR));
+        if (BitboardAttacks.isVectorAvailable()) {
+            System.out.printf("vector board: %.1f ns/position (%d lanes)%n",
+                    kernelNanos(batch, BitboardAttacks.Backend.VECTOR), BitboardAttacks.vectorLanes());
+        } else {
+            System.out.println("vector board: unavailable, build with -Pvector and start with "
+                    + "--add-modules jdk.incubator.vector");
+        }
+    }
+
+    private static double fillNanos(List<ChessGame> positions, AttackBatch batch) {
+        long elapsed = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            batch.clear();
+            long start = System.nanoTime();
+            for (ChessGame position : positions) {
+                batch.addChecksOn(position);
+            }
+            if (round >= ROUNDS / 4) {
+                elapsed += System.nanoTime() - start;
+            }
+        }
+        return elapsed / (double) (ROUNDS - ROUNDS / 4) / positions.size();
+    }
+
+    private static double arrayWalkNanos(List<ChessGame> positions) {
+        long checks = 0;
+        long elapsed = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (ChessGame position : positions) {
+                checks += position.isInCheck(position.getTeamTurn()) ? 1 : 0;
+            }
+            if (round >= ROUNDS / 4) {
+                elapsed += System.nanoTime() - start;
+            }
+        }
+        sink = checks;
+        return elapsed / (double) (ROUNDS - ROUNDS / 4) / positions.size();
+    }
+
+    private static double kernelNanos(AttackBatch batch, BitboardAttacks.Backend backend) {
+        BitboardAttacks.Backend previous = BitboardAttacks.getBackend();
+        BitboardAttacks.setBackend(backend);
+        long[] scratch = new long[batch.size()];
+        boolean[] inCheck = new boolean[batch.size()];
+        long checks = 0;
+        long elapsed = 0;
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                long start = System.nanoTime();
+                BitboardAttacks.kingsAttacked(batch, scratch, inCheck);
+                if (round >= ROUNDS / 4) {
+                    elapsed += System.nanoTime() - start;
+                }
+                checks += inCheck[round % inCheck.length] ? 1 : 0;
+            }
+        } finally {
+            BitboardAttacks.setBackend(previous);
+        }
+        sink = checks;
+        return elapsed / (double) (ROUNDS - ROUNDS / 4) / batch.size();
+    }
+
+    private static List<ChessGame> samplePositions() throws InvalidMoveException {
+        List<ChessGame> positions = new ArrayList<>(POSITIONS);
+        Random random = new Random(240);
+        while (positions.size() < POSITIONS) {
+            ChessGame game = new ChessGame();
+            for (int ply = 0; ply < 60 && positions.size() < POSITIONS; ply++) {
+                List<ChessMove> legal = new ArrayList<>(game.legalMoves());
+                if (legal.isEmpty()) {
+                    break;
+                }
+                positions.add(game.clone());
+                game.makeMove(legal.get(random.nextInt(legal.size())));
+            }
+        }
+        return positions;
+    }
+}
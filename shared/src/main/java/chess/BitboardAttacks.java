@@ -0,0 +1,159 @@
+package chess;
+
+/**
+ * Computes attacked squares for a batch of positions at once.
+ * <p>
+ * Sliding attacks use Kogge-Stone fills, so the work is the same fixed run of
+ * shifts and masks for every position. The scalar backend runs it one
+ * position at a time; the vector backend runs it on as many positions as the
+ * CPU has 64-bit lanes, using the jdk.incubator.vector module.
+ * <p>
+ * The vector backend is only there when the build used the {@code vector}
+ * profile ({@code mvn -Pvector}), and only used when the JVM was started with
+ * {@code --add-modules jdk.incubator.vector} and either
+ * {@code -Dchess.attacks=vector} was given or {@link #setBackend} asked for
+ * it. Otherwise everything runs on the scalar path.
+ */
+public class BitboardAttacks {
+    public enum Backend { SCALAR, VECTOR }
+
+    static final long FILE_A = 0x0101010101010101L;
+    static final long FILE_B = FILE_A << 1;
+    static final long FILE_G = FILE_A << 6;
+    static final long FILE_H = FILE_A << 7;
+    static final long NOT_A = ~FILE_A;
+    static final long NOT_H = ~FILE_H;
+    static final long NOT_AB = ~(FILE_A | FILE_B);
+    static final long NOT_GH = ~(FILE_G | FILE_H);
+
+    /**
+     * A batch attack kernel other than the built-in scalar one
+     */
+    interface Kernel {
+        void run(AttackBatch batch, long[] out);
+
+        int lanes();
+    }
+
+    // looked up by name, so builds without the vector profile still compile and run
+    private static final Kernel VECTOR_KERNEL = loadVectorKernel();
+    private static final boolean VECTOR_AVAILABLE = VECTOR_KERNEL != null;
+    private static volatile Backend backend =
+            "vector".equalsIgnoreCase(System.getProperty("chess.attacks")) && VECTOR_AVAILABLE
+                    ? Backend.VECTOR : Backend.SCALAR;
+
+    private BitboardAttacks() {
+    }
+
+    public static boolean isVectorAvailable() {
+        return VECTOR_AVAILABLE;
+    }
+
+    /**
+     * @return positions the vector backend works on at once, or 0 if it isn't available
+     */
+    public static int vectorLanes() {
+        return VECTOR_AVAILABLE ? VECTOR_KERNEL.lanes() : 0;
+    }
+
+    private static Kernel loadVectorKernel() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return null;
+        }
+        try {
+            return (Kernel) Class.forName("chess.VectorAttacks").getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+
+    public static Backend getBackend() {
+        return backend;
+    }
+
+    /**
+     * @throws IllegalStateException if the vector backend is asked for but the
+     * build left it out or the JVM was started without the jdk.incubator.vector
+     * module
+     */
+    public static void setBackend(Backend newBackend) {
+        if (newBackend == Backend.VECTOR && !VECTOR_AVAILABLE) {
+            throw new IllegalStateException("the vector backend is not available");
+        }
+        backend = newBackend;
+    }
+
+    /**
+     * Fills out[i] with the squares the attacking side of position i attacks
+     */
+    public static void attacks(AttackBatch batch, long[] out) {
+        if (backend == Backend.VECTOR) {
+            VECTOR_KERNEL.run(batch, out);
+        } else {
+            attacks(batch, out, 0, batch.size());
+        }
+    }
+
+    /**
+     * Fills inCheck[i] with whether the defending king of position i is attacked
+     *
+     * @param scratch at least batch.size() longs to hold the attack sets
+     */
+    public static void kingsAttacked(AttackBatch batch, long[] scratch, boolean[] inCheck) {
+        attacks(batch, scratch);
+        for (int i = 0; i < batch.size(); i++) {
+            int king = batch.defendingKing[i];
+            inCheck[i] = king >= 0 && (scratch[i] >>> king & 1) != 0;
+        }
+    }
+
+    static void attacks(AttackBatch b, long[] out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            long empty = ~b.occupied[i];
+            long white = b.whitePawns[i];
+            long black = b.blackPawns[i];
+            long attacked = (white << 7 & NOT_H) | (white << 9 & NOT_A)
+                    | (black >>> 9 & NOT_H) | (black >>> 7 & NOT_A);
+            attacked |= knightAttacks(b.knights[i]) | kingAttacks(b.kings[i]);
+
+            long diag = b.diagonal[i];
+            attacked |= slide(diag, empty, 9, NOT_A) | slide(diag, empty, 7, NOT_H)
+                    | slide(diag, empty, -7, NOT_A) | slide(diag, empty, -9, NOT_H);
+            long ortho = b.orthogonal[i];
+            attacked |= slide(ortho, empty, 8, -1L) | slide(ortho, empty, -8, -1L)
+                    | slide(ortho, empty, 1, NOT_A) | slide(ortho, empty, -1, NOT_H);
+            out[i] = attacked;
+        }
+    }
+
+    static long knightAttacks(long n) {
+        return (n << 17 & NOT_A) | (n << 15 & NOT_H) | (n << 10 & NOT_AB) | (n << 6 & NOT_GH)
+                | (n >>> 15 & NOT_A) | (n >>> 17 & NOT_H) | (n >>> 6 & NOT_AB) | (n >>> 10 & NOT_GH);
+    }
+
+    static long kingAttacks(long k) {
+        long sideways = (k << 1 & NOT_A) | (k >>> 1 & NOT_H);
+        long row = k | sideways;
+        return sideways | row << 8 | row >>> 8;
+    }
+
+    /**
+     * Kogge-Stone occluded fill: every square a slider in gen reaches moving
+     * by step, stopping on (and including) the first occupied square
+     *
+     * @param mask squares a step may land on without wrapping around the board
+     */
+    static long slide(long gen, long empty, int step, long mask) {
+        long open = empty & mask;
+        gen |= open & shift(gen, step);
+        open &= shift(open, step);
+        gen |= open & shift(gen, 2 * step);
+        open &= shift(open, 2 * step);
+        gen |= open & shift(gen, 4 * step);
+        return shift(gen, step) & mask;
+    }
+
+    private static long shift(long bits, int step) {
+        return step > 0 ? bits << step : bits >>> -step;
+    }
+}
@@ -10,11 +10,18 @@ import java.util.Arrays;
  */
 public class ChessBoard implements Cloneable{
      ChessPiece[][] squares = new ChessPiece[8][8];
+     // bumped by every addPiece so a game can tell when its snapshot is out of date
+     transient int modCount;
 
     public ChessBoard() {
 // Blank method
     }
 
+    // takes the rows as they are, the caller hands over ownership
+    ChessBoard(ChessPiece[][] squares) {
+        this.squares = squares;
+    }
+
     /**
      * Adds a chess piece to the chessboard
      *
@@ -23,6 +30,7 @@ public class ChessBoard implements Cloneable{
      */
     public void addPiece(ChessPosition position, ChessPiece piece) {
         squares[position.getRow()-1][position.getColumn()-1] = piece;
+        modCount++;
     }
 
     /**
@@ -42,35 +50,35 @@ public class ChessBoard implements Cloneable{
      */
     public void resetBoard() {
 
-        addPiece(new ChessPosition(1,1), new ChessPiece(ChessGame.TeamColor.WHITE ,ChessPiece.PieceType.ROOK));
-        addPiece(new ChessPosition(1,8), new ChessPiece(ChessGame.TeamColor.WHITE ,ChessPiece.PieceType.ROOK));
+        addPiece(ChessPosition.of(1,1), new ChessPiece(ChessGame.TeamColor.WHITE ,ChessPiece.PieceType.ROOK));
+        addPiece(ChessPosition.of(1,8), new ChessPiece(ChessGame.TeamColor.WHITE ,ChessPiece.PieceType.ROOK));
 
-        addPiece(new ChessPosition(1,2), new ChessPiece(ChessGame.TeamColor.WHITE ,ChessPiece.PieceType.KNIGHT));
-        addPiece(new ChessPosition(1,7), new ChessPiece(ChessGame.TeamColor.WHITE ,ChessPiece.PieceType.KNIGHT));
+        addPiece(ChessPosition.of(1,2), new ChessPiece(ChessGame.TeamColor.WHITE ,ChessPiece.PieceType.KNIGHT));
+        addPiece(ChessPosition.of(1,7), new ChessPiece(ChessGame.TeamColor.WHITE ,ChessPiece.PieceType.KNIGHT));
 
-        addPiece(new ChessPosition(1,3), new ChessPiece(ChessGame.TeamColor.WHITE ,ChessPiece.PieceType.BISHOP));
-        addPiece(new ChessPosition(1,6), new ChessPiece(ChessGame.TeamColor.WHITE ,ChessPiece.PieceType.BISHOP));
+        addPiece(ChessPosition.of(1,3), new ChessPiece(ChessGame.TeamColor.WHITE ,ChessPiece.PieceType.BISHOP));
+        addPiece(ChessPosition.of(1,6), new ChessPiece(ChessGame.TeamColor.WHITE ,ChessPiece.PieceType.BISHOP));
 
-        addPiece(new ChessPosition(1,4), new ChessPiece(ChessGame.TeamColor.WHITE ,ChessPiece.PieceType.QUEEN));
-        addPiece(new ChessPosition(1,5), new ChessPiece(ChessGame.TeamColor.WHITE ,ChessPiece.PieceType.KING));
+        addPiece(ChessPosition.of(1,4), new ChessPiece(ChessGame.TeamColor.WHITE ,ChessPiece.PieceType.QUEEN));
+        addPiece(ChessPosition.of(1,5), new ChessPiece(ChessGame.TeamColor.WHITE ,ChessPiece.PieceType.KING));
 
         for (int j = 1; j < 9; j++) {
-            addPiece(new ChessPosition(2, j), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.PAWN));
+            addPiece(ChessPosition.of(2, j), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.PAWN));
         }
-        addPiece(new ChessPosition(8,1), new ChessPiece(ChessGame.TeamColor.BLACK ,ChessPiece.PieceType.ROOK));
-        addPiece(new ChessPosition(8,8), new ChessPiece(ChessGame.TeamColor.BLACK ,ChessPiece.PieceType.ROOK));
+        addPiece(ChessPosition.of(8,1), new ChessPiece(ChessGame.TeamColor.BLACK ,ChessPiece.PieceType.ROOK));
+        addPiece(ChessPosition.of(8,8), new ChessPiece(ChessGame.TeamColor.BLACK ,ChessPiece.PieceType.ROOK));
 
-        addPiece(new ChessPosition(8,2), new ChessPiece(ChessGame.TeamColor.BLACK ,ChessPiece.PieceType.KNIGHT));
-        addPiece(new ChessPosition(8,7), new ChessPiece(ChessGame.TeamColor.BLACK ,ChessPiece.PieceType.KNIGHT));
+        addPiece(ChessPosition.of(8,2), new ChessPiece(ChessGame.TeamColor.BLACK ,ChessPiece.PieceType.KNIGHT));
+        addPiece(ChessPosition.of(8,7), new ChessPiece(ChessGame.TeamColor.BLACK ,ChessPiece.PieceType.KNIGHT));
 
-        addPiece(new ChessPosition(8,3), new ChessPiece(ChessGame.TeamColor.BLACK ,ChessPiece.PieceType.BISHOP));
-        addPiece(new ChessPosition(8,6), new ChessPiece(ChessGame.TeamColor.BLACK ,ChessPiece.PieceType.BISHOP));
+        addPiece(ChessPosition.of(8,3), new ChessPiece(ChessGame.TeamColor.BLACK ,ChessPiece.PieceType.BISHOP));
+        addPiece(ChessPosition.of(8,6), new ChessPiece(ChessGame.TeamColor.BLACK ,ChessPiece.PieceType.BISHOP));
 
-        addPiece(new ChessPosition(8,4), new ChessPiece(ChessGame.TeamColor.BLACK ,ChessPiece.PieceType.QUEEN));
-        addPiece(new ChessPosition(8,5), new ChessPiece(ChessGame.TeamColor.BLACK ,ChessPiece.PieceType.KING));
+        addPiece(ChessPosition.of(8,4), new ChessPiece(ChessGame.TeamColor.BLACK ,ChessPiece.PieceType.QUEEN));
+        addPiece(ChessPosition.of(8,5), new ChessPiece(ChessGame.TeamColor.BLACK ,ChessPiece.PieceType.KING));
 
         for (int k = 1; k < 9; k++){
-            addPiece(new ChessPosition(7,k), new ChessPiece(ChessGame.TeamColor.BLACK ,ChessPiece.PieceType.PAWN));
+            addPiece(ChessPosition.of(7,k), new ChessPiece(ChessGame.TeamColor.BLACK ,ChessPiece.PieceType.PAWN));
         }
     }
 
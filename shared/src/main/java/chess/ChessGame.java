@@ -1,7 +1,9 @@
 package chess;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -11,14 +13,42 @@ import java.util.Objects;
  * signature of the existing methods.
  */
 public class ChessGame implements Cloneable{
-    ChessBoard thisBoard = new ChessBoard();
+    ChessBoard thisBoard;
     int turnTracker = 0;
 
+    // the latest immutable snapshot, and which board state it was taken from
+    private transient GameSnapshot snapshot;
+    private transient ChessBoard snapshotBoard;
+    private transient int snapshotModCount;
+
+    // moves played, one int per ply: the PackedMove in bits 0-14 and the captured
+    // piece's ChessGameCodec nibble in bits 16-19. Only trusted while the board
+    // and turn are the ones the last recorded move left behind
+    private transient int[] history;
+    private transient int ply;
+    // set on a clone only: the array is still the original's, copy it before writing
+    private transient boolean historyShared;
+    // slots of the array filled so far; a clone may be reading any of them
+    private transient int historyWritten;
+    private transient ChessBoard historyBoard;
+    private transient int historyModCount;
+    private transient int historyTurn;
+
+    // legal move lists shared by every game, or null to always generate them
+    private static volatile MoveCache moveCache = new MoveCache();
+
 
     public ChessGame() {
+        thisBoard = new ChessBoard();
         thisBoard.resetBoard();
     }
 
+    // a game in a position someone already has, without setting up the start position first
+    ChessGame(ChessBoard board, int turnTracker) {
+        this.thisBoard = board;
+        this.turnTracker = turnTracker;
+    }
+
     /**
      * @return Which team's turn it is
      */
@@ -43,6 +73,14 @@ public class ChessGame implements Cloneable{
         }
     }
 
+    /**
+     * @return the turn counter, which goes up by one with every move and
+     * whose parity is the side to move
+     */
+    public int getTurnCounter() {
+        return turnTracker;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -76,12 +114,17 @@ public class ChessGame implements Cloneable{
      * startPosition
      */
     public Collection<ChessMove> validMoves(ChessPosition startPosition) {
+        // just this piece: the move cache holds whole positions, and filling it would cost a hash and every move
+        return generateValidMoves(startPosition);
+    }
+
+    private Collection<ChessMove> generateValidMoves(ChessPosition startPosition) {
         ChessPiece currentPiece = thisBoard.getPiece(startPosition);
         if ( currentPiece != null ) {
             Collection<ChessMove> tempMovesHolder = currentPiece.pieceMoves(thisBoard,startPosition);
             Collection<ChessMove> movesHolder = new ArrayList<>();
             for (ChessMove singleMove : tempMovesHolder){
-                if (!placesKingInCheck(singleMove)){
+                if (isLegal(singleMove)){
                     movesHolder.add(singleMove);
                 }
             }
@@ -89,12 +132,102 @@ public class ChessGame implements Cloneable{
         }else{return new ArrayList<>();}
     }
 
+    /**
+     * Gets every valid move for the team whose turn it is
+     *
+     * @return Set of valid moves for the side to move, empty if there are none
+     */
+    public Collection<ChessMove> legalMoves() {
+        return legalMoves(moveCache);
+    }
+
+    /**
+     * Gets every valid move for the side to move, going through the given
+     * cache instead of the shared one. Engine searches pass null or a cache of
+     * their own, so their millions of one-off positions neither wait on nor
+     * evict the positions real games keep coming back to.
+     *
+     * @param cache where to look up and store the move list, or null to always generate it
+     * @return Set of valid moves for the side to move, empty if there are none
+     */
+    public Collection<ChessMove> legalMoves(MoveCache cache) {
+        int[] packedMoves = legalMovesPacked(cache);
+        Collection<ChessMove> movesHolder = new ArrayList<>(packedMoves.length);
+        for (int packed : packedMoves) {
+            movesHolder.add(PackedMove.unpack(packed));
+        }
+        return movesHolder;
+    }
+
+    /**
+     * @return the side to move's valid moves as sorted PackedMove ints, from
+     * the shared cache when it has this position
+     */
+    int[] legalMovesPacked() {
+        return legalMovesPacked(moveCache);
+    }
+
+    private int[] legalMovesPacked(MoveCache cache) {
+        long key = 0;
+        if (cache != null) {
+            key = Zobrist.hash(this);
+            int[] cached = cache.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        TeamColor teamColor = getTeamTurn();
+        int[] packedMoves = new int[32];
+        int count = 0;
+        for (int i = 1; i <= 8; i++) {
+            for (int j = 1; j <= 8; j++) {
+                ChessPosition location = ChessPosition.of(i, j);
+                ChessPiece piece = thisBoard.getPiece(location);
+                if (piece != null && piece.getTeamColor() == teamColor) {
+                    for (ChessMove move : generateValidMoves(location)) {
+                        if (count == packedMoves.length) {
+                            packedMoves = Arrays.copyOf(packedMoves, count * 2);
+                        }
+                        packedMoves[count++] = PackedMove.pack(move);
+                    }
+                }
+            }
+        }
+        packedMoves = Arrays.copyOf(packedMoves, count);
+        Arrays.sort(packedMoves);
+        if (cache != null) {
+            cache.put(key, packedMoves);
+        }
+        return packedMoves;
+    }
+
+    public static MoveCache getMoveCache() {
+        return moveCache;
+    }
+
+    /**
+     * @param cache the cache every game should share, or null to turn caching off
+     */
+    public static void setMoveCache(MoveCache cache) {
+        moveCache = cache;
+    }
 
     @Override
     public ChessGame clone(){
         try{
             ChessGame clone = (ChessGame) super.clone();
             clone.thisBoard = thisBoard.clone();
+            if (isHistoryCurrent()) {
+                // the clone copies the array before its first write; the original
+                // only writes past what it already filled, or copies first too
+                clone.historyShared = true;
+                clone.historyBoard = clone.thisBoard;
+            } else {
+                clone.history = null;
+                clone.ply = 0;
+                clone.historyBoard = null;
+            }
             return clone;
         } catch (CloneNotSupportedException e) {
             throw new RuntimeException(e);
@@ -116,6 +249,258 @@ public class ChessGame implements Cloneable{
     }
 
 
+    /**
+     * Checks a single move without generating the rest of the piece's moves.
+     * Agrees with validMoves(move.getStartPosition()).contains(move), so like
+     * validMoves it does not care whose turn it is.
+     *
+     * @param move chess move to check
+     * @return True if the piece on the start square may make this move
+     */
+    public boolean isLegal(ChessMove move) {
+        if (move == null || move.getStartPosition() == null || move.getEndPosition() == null) {
+            return false;
+        }
+        int fromRow = move.getStartPosition().getRow();
+        int fromCol = move.getStartPosition().getColumn();
+        int toRow = move.getEndPosition().getRow();
+        int toCol = move.getEndPosition().getColumn();
+        if (!onBoard(fromRow, fromCol) || !onBoard(toRow, toCol)) {
+            return false;
+        }
+        ChessPiece[][] squares = thisBoard.squares;
+        ChessPiece movePiece = squares[fromRow - 1][fromCol - 1];
+        if (movePiece == null) {
+            return false;
+        }
+        ChessPiece target = squares[toRow - 1][toCol - 1];
+        if (target != null && target.getTeamColor() == movePiece.getTeamColor()) {
+            return false;
+        }
+        if (!isReachable(movePiece, fromRow, fromCol, toRow, toCol, target)
+                || !isPromotionValid(movePiece, toRow, move.getPromotionPiece())) {
+            return false;
+        }
+
+        // look at the king as if the move were made, without touching the board
+        int from = (fromRow - 1) * 8 + fromCol - 1;
+        int to = (toRow - 1) * 8 + toCol - 1;
+        return !isKingAttackedAfter(movePiece, from, to);
+    }
+
+    private static boolean onBoard(int row, int col) {
+        return row >= 1 && row <= 8 && col >= 1 && col <= 8;
+    }
+
+    private boolean isReachable(ChessPiece movePiece, int fromRow, int fromCol, int toRow, int toCol,
+                                ChessPiece target) {
+        int rowDiff = toRow - fromRow;
+        int colDiff = toCol - fromCol;
+        int absRow = Math.abs(rowDiff);
+        int absCol = Math.abs(colDiff);
+        if (absRow == 0 && absCol == 0) {
+            return false;
+        }
+        return switch (movePiece.getPieceType()) {
+            case KING -> absRow <= 1 && absCol <= 1;
+            case KNIGHT -> absRow * absCol == 2;
+            case ROOK -> (absRow == 0 || absCol == 0) && isPathClear(fromRow, fromCol, toRow, toCol);
+            case BISHOP -> absRow == absCol && isPathClear(fromRow, fromCol, toRow, toCol);
+            case QUEEN -> (absRow == 0 || absCol == 0 || absRow == absCol)
+                    && isPathClear(fromRow, fromCol, toRow, toCol);
+            case PAWN -> isPawnReachable(movePiece.getTeamColor(), fromRow, rowDiff, absCol, fromCol, target);
+        };
+    }
+
+    private boolean isPawnReachable(TeamColor color, int fromRow, int rowDiff, int absCol, int fromCol,
+                                    ChessPiece target) {
+        int forward = color == TeamColor.WHITE ? 1 : -1;
+        if (absCol == 1) {
+            return rowDiff == forward && target != null;
+        }
+        if (absCol != 0 || target != null) {
+            return false;
+        }
+        if (rowDiff == forward) {
+            return true;
+        }
+        int startRow = color == TeamColor.WHITE ? 2 : 7;
+        return rowDiff == 2 * forward && fromRow == startRow
+                && thisBoard.squares[fromRow + forward - 1][fromCol - 1] == null;
+    }
+
+    private boolean isPathClear(int fromRow, int fromCol, int toRow, int toCol) {
+        int rowStep = Integer.signum(toRow - fromRow);
+        int colStep = Integer.signum(toCol - fromCol);
+        int row = fromRow + rowStep;
+        int col = fromCol + colStep;
+        while (row != toRow || col != toCol) {
+            if (thisBoard.squares[row - 1][col - 1] != null) {
+                return false;
+            }
+            row += rowStep;
+            col += colStep;
+        }
+        return true;
+    }
+
+    private static boolean isPromotionValid(ChessPiece movePiece, int toRow, ChessPiece.PieceType promotion) {
+        boolean promotes = movePiece.getPieceType() == ChessPiece.PieceType.PAWN && (toRow == 1 || toRow == 8);
+        if (!promotes) {
+            return promotion == null;
+        }
+        return promotion != null && promotion != ChessPiece.PieceType.KING && promotion != ChessPiece.PieceType.PAWN;
+    }
+
+    /**
+     * Whether a legal move attacks the other side's king, worked out without
+     * making the move
+     */
+    boolean givesCheck(ChessMove move) {
+        int fromRow = move.getStartPosition().getRow();
+        int fromCol = move.getStartPosition().getColumn();
+        int toRow = move.getEndPosition().getRow();
+        int toCol = move.getEndPosition().getColumn();
+        ChessPiece[][] squares = thisBoard.squares;
+        ChessPiece placed = placedBy(move, squares[fromRow - 1][fromCol - 1]);
+        TeamColor opponent = placed.getTeamColor() == TeamColor.WHITE ? TeamColor.BLACK : TeamColor.WHITE;
+        int from = (fromRow - 1) * 8 + fromCol - 1;
+        int to = (toRow - 1) * 8 + toCol - 1;
+        for (int i = 1; i <= 8; i++) {
+            for (int j = 1; j <= 8; j++) {
+                ChessPiece piece = squares[i - 1][j - 1];
+                if (piece != null && piece.getPieceType() == ChessPiece.PieceType.KING
+                        && piece.getTeamColor() == opponent) {
+                    return isSquareAttacked(i, j, opponent, from, to, placed);
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Whether a legal move that gives check mates. The replies are tried with
+     * isLegal on a scratch board, stopping at the first one that works, and
+     * the move cache is never touched.
+     */
+    boolean givesMate(ChessMove move) {
+        ChessPiece[][] squares = new ChessPiece[8][];
+        for (int i = 0; i < 8; i++) {
+            squares[i] = thisBoard.squares[i].clone();
+        }
+        ChessPosition start = move.getStartPosition();
+        ChessPosition end = move.getEndPosition();
+        ChessPiece placed = placedBy(move, squares[start.getRow() - 1][start.getColumn() - 1]);
+        squares[end.getRow() - 1][end.getColumn() - 1] = placed;
+        squares[start.getRow() - 1][start.getColumn() - 1] = null;
+        ChessBoard board = new ChessBoard(squares);
+        ChessGame after = new ChessGame(board, turnTracker + 1);
+        for (int i = 1; i <= 8; i++) {
+            for (int j = 1; j <= 8; j++) {
+                ChessPiece piece = squares[i - 1][j - 1];
+                if (piece == null || piece.getTeamColor() == placed.getTeamColor()) {
+                    continue;
+                }
+                for (ChessMove reply : piece.pieceMoves(board, ChessPosition.of(i, j))) {
+                    if (after.isLegal(reply)) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    private static ChessPiece placedBy(ChessMove move, ChessPiece movePiece) {
+        return move.getPromotionPiece() == null ? movePiece
+                : new ChessPiece(movePiece.getTeamColor(), move.getPromotionPiece());
+    }
+
+    // is the mover's king attacked once the piece on square from stands on square to
+    private boolean isKingAttackedAfter(ChessPiece movePiece, int from, int to) {
+        TeamColor teamColor = movePiece.getTeamColor();
+        if (movePiece.getPieceType() == ChessPiece.PieceType.KING) {
+            return isSquareAttacked(to / 8 + 1, to % 8 + 1, teamColor, from, to, movePiece);
+        }
+        ChessPiece[][] squares = thisBoard.squares;
+        for (int i = 1; i <= 8; i++) {
+            for (int j = 1; j <= 8; j++) {
+                ChessPiece piece = squares[i - 1][j - 1];
+                if (piece != null && piece.getPieceType() == ChessPiece.PieceType.KING
+                        && piece.getTeamColor() == teamColor) {
+                    return isSquareAttacked(i, j, teamColor, from, to, movePiece);
+                }
+            }
+        }
+        return false;
+    }
+
+    private static final int[][] KNIGHT_JUMPS = {{1, 2}, {-1, 2}, {1, -2}, {-1, -2}, {2, 1}, {-2, 1}, {2, -1}, {-2, -1}};
+    private static final int[][] RAYS = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}, {1, 1}, {1, -1}, {-1, 1}, {-1, -1}};
+
+    /**
+     * Looks outward from a square for an enemy piece that could capture on it
+     */
+    boolean isSquareAttacked(int row, int col, TeamColor teamColor) {
+        return isSquareAttacked(row, col, teamColor, -1, -1, null);
+    }
+
+    /**
+     * The same look, but reading the board as if the piece on square index
+     * from (row * 8 + column, zero based) stood on square index to instead
+     */
+    private boolean isSquareAttacked(int row, int col, TeamColor teamColor, int from, int to, ChessPiece moved) {
+        ChessPiece[][] squares = thisBoard.squares;
+        int pawnRow = row + (teamColor == TeamColor.WHITE ? 1 : -1);
+        for (int colStep = -1; colStep <= 1; colStep += 2) {
+            if (onBoard(pawnRow, col + colStep) && isEnemy(pieceAt(squares, pawnRow, col + colStep, from, to, moved),
+                    teamColor, ChessPiece.PieceType.PAWN)) {
+                return true;
+            }
+        }
+        for (int[] jump : KNIGHT_JUMPS) {
+            int r = row + jump[0];
+            int c = col + jump[1];
+            if (onBoard(r, c) && isEnemy(pieceAt(squares, r, c, from, to, moved), teamColor,
+                    ChessPiece.PieceType.KNIGHT)) {
+                return true;
+            }
+        }
+        for (int k = 0; k < RAYS.length; k++) {
+            ChessPiece.PieceType slider = k < 4 ? ChessPiece.PieceType.ROOK : ChessPiece.PieceType.BISHOP;
+            int r = row + RAYS[k][0];
+            int c = col + RAYS[k][1];
+            boolean adjacent = true;
+            while (onBoard(r, c)) {
+                ChessPiece piece = pieceAt(squares, r, c, from, to, moved);
+                if (piece != null) {
+                    if (piece.getTeamColor() != teamColor && (piece.getPieceType() == slider
+                            || piece.getPieceType() == ChessPiece.PieceType.QUEEN
+                            || (adjacent && piece.getPieceType() == ChessPiece.PieceType.KING))) {
+                        return true;
+                    }
+                    break;
+                }
+                r += RAYS[k][0];
+                c += RAYS[k][1];
+                adjacent = false;
+            }
+        }
+        return false;
+    }
+
+    private static ChessPiece pieceAt(ChessPiece[][] squares, int row, int col, int from, int to, ChessPiece moved) {
+        int square = (row - 1) * 8 + col - 1;
+        if (square == to) {
+            return moved;
+        }
+        return square == from ? null : squares[row - 1][col - 1];
+    }
+
+    private static boolean isEnemy(ChessPiece piece, TeamColor teamColor, ChessPiece.PieceType type) {
+        return piece != null && piece.getTeamColor() != teamColor && piece.getPieceType() == type;
+    }
+
     /**
      * Makes a move in a chess game
      *
@@ -125,21 +510,105 @@ public class ChessGame implements Cloneable{
     public void makeMove(ChessMove move) throws InvalidMoveException {
         ChessPiece movePiece = thisBoard.getPiece(move.getStartPosition());
         try {
-            if (movePiece.getTeamColor() != getTeamTurn() || (!validMoves(move.startPosition).contains(move))) {
+            if (movePiece.getTeamColor() != getTeamTurn() || !isLegal(move)) {
                 throw new InvalidMoveException();
             }
-            if (move.getPromotionPiece() == null) {
-                thisBoard.addPiece(move.getEndPosition(), movePiece);
-            } else {
-                thisBoard.addPiece(move.getEndPosition(), new ChessPiece(movePiece.getTeamColor(),move.getPromotionPiece()));
+            boolean snapshotWasCurrent = isSnapshotCurrent();
+            boolean historyWasCurrent = isHistoryCurrent();
+            ChessPiece captured = thisBoard.getPiece(move.getEndPosition());
+            ChessPiece placed = movePiece;
+            if (move.getPromotionPiece() != null) {
+                placed = new ChessPiece(movePiece.getTeamColor(), move.getPromotionPiece());
             }
+            thisBoard.addPiece(move.getEndPosition(), placed);
             thisBoard.addPiece(move.getStartPosition(), null);
             turnTracker += 1;
+            if (snapshotWasCurrent) {
+                rememberSnapshot(snapshot.afterMove(move, placed, turnTracker));
+            }
+            recordMove(PackedMove.pack(move) | ChessGameCodec.toNibble(captured) << 16, historyWasCurrent);
         } catch (NullPointerException e) {
             throw new InvalidMoveException();
         }
     }
 
+    private void recordMove(int entry, boolean historyWasCurrent) {
+        if (!historyWasCurrent) {
+            history = null;
+            ply = 0;
+        }
+        if (history == null) {
+            history = new int[16];
+            historyWritten = 0;
+        } else if (historyShared || ply < historyWritten) {
+            history = Arrays.copyOf(history, ply + 16);
+            historyWritten = ply;
+        } else if (ply == history.length) {
+            history = Arrays.copyOf(history, ply * 2);
+        }
+        historyShared = false;
+        history[ply++] = entry;
+        historyWritten = Math.max(historyWritten, ply);
+        rememberHistory();
+    }
+
+    /**
+     * Takes back the last move made with makeMove, putting back the piece it
+     * captured and the pawn it promoted. Moves made before the board was
+     * replaced or edited directly, or before the turn was set, cannot be taken
+     * back.
+     *
+     * @return the move taken back, or null if there is none
+     */
+    public ChessMove undo() {
+        if (!isHistoryCurrent() || ply == 0) {
+            return null;
+        }
+        int entry = history[--ply];
+        ChessMove move = PackedMove.unpack(entry & 0xFFFF);
+        ChessPiece moved = thisBoard.getPiece(move.getEndPosition());
+        if (move.getPromotionPiece() != null) {
+            moved = new ChessPiece(moved.getTeamColor(), ChessPiece.PieceType.PAWN);
+        }
+        thisBoard.addPiece(move.getStartPosition(), moved);
+        thisBoard.addPiece(move.getEndPosition(), ChessGameCodec.fromNibble(entry >>> 16));
+        turnTracker -= 1;
+        rememberHistory();
+        return move;
+    }
+
+    /**
+     * @return the moves that led to this position, oldest first; empty if the
+     * board was replaced or edited directly since the last makeMove
+     */
+    public List<ChessMove> getMoveHistory() {
+        if (!isHistoryCurrent()) {
+            return List.of();
+        }
+        List<ChessMove> moves = new ArrayList<>(ply);
+        for (int i = 0; i < ply; i++) {
+            moves.add(PackedMove.unpack(history[i] & 0xFFFF));
+        }
+        return moves;
+    }
+
+    /**
+     * @return how many moves getMoveHistory holds
+     */
+    public int getPly() {
+        return isHistoryCurrent() ? ply : 0;
+    }
+
+    private boolean isHistoryCurrent() {
+        return historyBoard == thisBoard && historyModCount == thisBoard.modCount && historyTurn == turnTracker;
+    }
+
+    private void rememberHistory() {
+        historyBoard = thisBoard;
+        historyModCount = thisBoard.modCount;
+        historyTurn = turnTracker;
+    }
+
     /**
      * Determines if the given team is in check
      *
@@ -159,14 +628,14 @@ public class ChessGame implements Cloneable{
     }
 
     ChessPosition getKingPosition(TeamColor teamColor){
-        ChessPosition kingPosition = new ChessPosition(1,1);
+        ChessPosition kingPosition = ChessPosition.of(1,1);
         boolean foundKingBool = false;
         ChessPiece king;
         for (int i = 1; i <= 8; i++){
             for (int j = 1; j <= 8; j++){
-                king = thisBoard.getPiece(new ChessPosition(i, j));
+                king = thisBoard.getPiece(ChessPosition.of(i, j));
                 if (king != null && (king.pieceType == ChessPiece.PieceType.KING && king.getTeamColor() == teamColor)){
-                        kingPosition = new ChessPosition(i,j);
+                        kingPosition = ChessPosition.of(i,j);
                         foundKingBool = true;
                         break;
                 }
@@ -178,9 +647,9 @@ public class ChessGame implements Cloneable{
 
 
     boolean isThreat(int i, int j, TeamColor teamColor, ChessPosition kingPosition){
-        ChessPiece threat = thisBoard.getPiece(new ChessPosition(i, j));
+        ChessPiece threat = thisBoard.getPiece(ChessPosition.of(i, j));
         if (threat != null && threat.getTeamColor() != teamColor) {
-            ChessPosition threatPosition = new ChessPosition(i, j);
+            ChessPosition threatPosition = ChessPosition.of(i, j);
             Collection<ChessMove> threatPossibleMoves = threat.pieceMoves(thisBoard, threatPosition);
             for (ChessMove possibleMove : threatPossibleMoves){
                 if (kingPosition.getRow() == possibleMove.endPosition.getRow()
@@ -199,6 +668,9 @@ public class ChessGame implements Cloneable{
      * @return True if the specified team is in checkmate
      */
     public boolean isInCheckmate(TeamColor teamColor) {
+        if (moveCache != null && teamColor == getTeamTurn()) {
+            return legalMovesPacked().length == 0 && isInCheck(teamColor);
+        }
         if (isInCheck(teamColor)){
             for (int i = 1; i <= 8; i++) {
                 for (int j = 1; j <= 8; j++) {
@@ -214,9 +686,9 @@ public class ChessGame implements Cloneable{
 
 
     boolean isValidMove(int i, int j, TeamColor teamColor){
-        ChessPiece pieceToCheck = thisBoard.getPiece(new ChessPosition(i, j));
+        ChessPiece pieceToCheck = thisBoard.getPiece(ChessPosition.of(i, j));
         if (pieceToCheck != null && pieceToCheck.getTeamColor() == teamColor) {
-            Collection<ChessMove> protectKingMoves = pieceToCheck.pieceMoves(thisBoard, new ChessPosition(i,j));
+            Collection<ChessMove> protectKingMoves = pieceToCheck.pieceMoves(thisBoard, ChessPosition.of(i,j));
             for (ChessMove protectKingMove : protectKingMoves) {
                 if (!placesKingInCheck(protectKingMove)) {
                     return true;
@@ -234,6 +706,9 @@ public class ChessGame implements Cloneable{
      * @return True if the specified team is in stalemate, otherwise false
      */
     public boolean isInStalemate(TeamColor teamColor) {
+        if (moveCache != null && teamColor == getTeamTurn()) {
+            return legalMovesPacked().length == 0 && !isInCheck(teamColor);
+        }
         if (!isInCheck(teamColor)){
             for (int i = 1; i <= 8; i++) {
                 for (int j = 1; j <= 8; j++) {
@@ -248,7 +723,7 @@ public class ChessGame implements Cloneable{
     }
 
     boolean isFreshMove(int i, int j, TeamColor teamColor) {
-        ChessPosition location = new ChessPosition(i, j);
+        ChessPosition location = ChessPosition.of(i, j);
         ChessPiece pieceToCheck = thisBoard.getPiece(location);
         if (pieceToCheck != null && pieceToCheck.getTeamColor() == teamColor) {
             Collection<ChessMove> protectKingMoves = validMoves(location);
@@ -261,6 +736,37 @@ public class ChessGame implements Cloneable{
         return false;
     }
 
+    /**
+     * Gets an immutable snapshot of the game as it stands now. The snapshot
+     * can be read from any thread without locking. Each makeMove produces the
+     * next snapshot cheaply from the last; changing the board any other way
+     * means the next call copies the whole board.
+     *
+     * @return the current snapshot
+     */
+    public GameSnapshot snapshot() {
+        if (!isSnapshotCurrent()) {
+            rememberSnapshot(GameSnapshot.of(thisBoard, turnTracker));
+        }
+        return snapshot;
+    }
+
+    private boolean isSnapshotCurrent() {
+        return snapshot != null && snapshotBoard == thisBoard && snapshotModCount == thisBoard.modCount
+                && snapshot.turnTracker() == turnTracker;
+    }
+
+    // a game just built from this snapshot can hand it out again without copying
+    void adoptSnapshot(GameSnapshot current) {
+        rememberSnapshot(current);
+    }
+
+    private void rememberSnapshot(GameSnapshot current) {
+        snapshot = current;
+        snapshotBoard = thisBoard;
+        snapshotModCount = thisBoard.modCount;
+    }
+
     /**
      * Sets this game's chessboard with a given board
      *
@@ -0,0 +1,84 @@
+package chess;
+
+/**
+ * Packs a ChessGame into a small versioned byte array for storage and transport.
+ * <p>
+ * Version 1 layout, 36 bytes:
+ * <pre>
+ * byte 0      format version
+ * bytes 1-2   turn counter, big endian (its parity is the team to move)
+ * byte 3      state flags, reserved and written as 0
+ * bytes 4-35  board, one nibble per square, rank 1 first, file a first,
+ *             low nibble first
+ * </pre>
+ * A square's nibble is 0 when empty, otherwise the piece type ordinal plus
+ * one, with 8 added for black.
+ */
+public class ChessGameCodec {
+    public static final byte VERSION = 1;
+    public static final int ENCODED_LENGTH = 36;
+    private static final int BOARD_OFFSET = 4;
+    private static final ChessPiece.PieceType[] TYPES = ChessPiece.PieceType.values();
+
+    private ChessGameCodec() {
+    }
+
+    public static byte[] encode(ChessGame game) {
+        return encode(game.thisBoard.squares, game.turnTracker);
+    }
+
+    public static byte[] encode(GameSnapshot snapshot) {
+        return encode(snapshot.rows(), snapshot.turnTracker());
+    }
+
+    private static byte[] encode(ChessPiece[][] squares, int turnTracker) {
+        byte[] out = new byte[ENCODED_LENGTH];
+        int turn = turnTracker & 0xFFFF;
+        out[0] = VERSION;
+        out[1] = (byte) (turn >>> 8);
+        out[2] = (byte) turn;
+        out[3] = 0;
+
+        for (int square = 0; square < 64; square++) {
+            int nibble = toNibble(squares[square / 8][square % 8]);
+            out[BOARD_OFFSET + square / 2] |= (byte) (square % 2 == 0 ? nibble : nibble << 4);
+        }
+        return out;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the bytes are not a game this version can read
+     */
+    public static ChessGame decode(byte[] in) {
+        if (in == null || in.length != ENCODED_LENGTH || in[0] != VERSION) {
+            throw new IllegalArgumentException("Not a version " + VERSION + " encoded game");
+        }
+        ChessPiece[][] squares = new ChessPiece[8][8];
+        for (int square = 0; square < 64; square++) {
+            int packed = in[BOARD_OFFSET + square / 2] & 0xFF;
+            int nibble = square % 2 == 0 ? packed & 0x0F : packed >>> 4;
+            squares[square / 8][square % 8] = fromNibble(nibble);
+        }
+        return new ChessGame(new ChessBoard(squares), ((in[1] & 0xFF) << 8) | (in[2] & 0xFF));
+    }
+
+    static int toNibble(ChessPiece piece) {
+        if (piece == null) {
+            return 0;
+        }
+        int nibble = piece.getPieceType().ordinal() + 1;
+        return piece.getTeamColor() == ChessGame.TeamColor.BLACK ? nibble | 8 : nibble;
+    }
+
+    static ChessPiece fromNibble(int nibble) {
+        if (nibble == 0) {
+            return null;
+        }
+        int type = (nibble & 7) - 1;
+        if (type < 0 || type >= TYPES.length) {
+            throw new IllegalArgumentException("Bad square code " + nibble);
+        }
+        ChessGame.TeamColor color = (nibble & 8) == 0 ? ChessGame.TeamColor.WHITE : ChessGame.TeamColor.BLACK;
+        return new ChessPiece(color, TYPES[type]);
+    }
+}
@@ -0,0 +1,265 @@
+package chess;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Streaming Gson adapters for the chess types, and the one Gson instance the
+ * client and server share.
+ * <p>
+ * A game is written as a FEN record and a board as the FEN placement field,
+ * around 60 characters instead of a nested array of 64 mostly null squares.
+ * Games are written from their immutable snapshot, and a GameSnapshot is
+ * written the same way, so serializing never walks a board mid-change.
+ * Positions, pieces and moves keep the field names reflection gave them.
+ * <p>
+ * Reading takes both the compact and the older reflective forms, so games
+ * saved before the switch still load. A position may also be read from a
+ * square name such as "e4" and a move from UCI such as "e7e8q".
+ */
+public final class ChessJson implements TypeAdapterFactory {
+    public static final Gson GSON = register(new GsonBuilder()).create();
+
+    /**
+     * Adds the chess adapters to a builder, for callers that need their own settings
+     */
+    public static GsonBuilder register(GsonBuilder builder) {
+        return builder.registerTypeAdapterFactory(new ChessJson());
+    }
+
+    private ChessJson() {
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        Class<? super T> raw = type.getRawType();
+        TypeAdapter<?> adapter;
+        if (raw == ChessGame.class) {
+            adapter = new GameAdapter(gson.getDelegateAdapter(this, TypeToken.get(ChessGame.class)));
+        } else if (raw == GameSnapshot.class) {
+            adapter = new SnapshotAdapter();
+        } else if (raw == ChessBoard.class) {
+            adapter = new BoardAdapter(gson.getDelegateAdapter(this, TypeToken.get(ChessBoard.class)));
+        } else if (raw == ChessMove.class) {
+            adapter = new MoveAdapter();
+        } else if (raw == ChessPosition.class) {
+            adapter = new PositionAdapter();
+        } else if (raw == ChessPiece.class) {
+            adapter = new PieceAdapter();
+        } else {
+            return null;
+        }
+        return (TypeAdapter<T>) adapter.nullSafe();
+    }
+
+    private static final class GameAdapter extends TypeAdapter<ChessGame> {
+        private final TypeAdapter<ChessGame> legacy;
+
+        GameAdapter(TypeAdapter<ChessGame> legacy) {
+            this.legacy = legacy;
+        }
+
+        @Override
+        public void write(JsonWriter out, ChessGame game) throws IOException {
+            out.value(game.snapshot().toFen());
+        }
+
+        @Override
+        public ChessGame read(JsonReader in) throws IOException {
+            if (in.peek() != JsonToken.STRING) {
+                return legacy.read(in);
+            }
+            try {
+                return Fen.parse(in.nextString());
+            } catch (IllegalArgumentException e) {
+                throw new JsonParseException(e.getMessage(), e);
+            }
+        }
+    }
+
+    private static final class SnapshotAdapter extends TypeAdapter<GameSnapshot> {
+        @Override
+        public void write(JsonWriter out, GameSnapshot snapshot) throws IOException {
+            out.value(snapshot.toFen());
+        }
+
+        @Override
+        public GameSnapshot read(JsonReader in) throws IOException {
+            try {
+                return Fen.parse(in.nextString()).snapshot();
+            } catch (IllegalArgumentException e) {
+                throw new JsonParseException(e.getMessage(), e);
+            }
+        }
+    }
+
+    private static final class BoardAdapter extends TypeAdapter<ChessBoard> {
+        private final TypeAdapter<ChessBoard> legacy;
+
+        BoardAdapter(TypeAdapter<ChessBoard> legacy) {
+            this.legacy = legacy;
+        }
+
+        @Override
+        public void write(JsonWriter out, ChessBoard board) throws IOException {
+            out.value(Fen.appendBoard(new StringBuilder(64), board).toString());
+        }
+
+        @Override
+        public ChessBoard read(JsonReader in) throws IOException {
+            if (in.peek() != JsonToken.STRING) {
+                return legacy.read(in);
+            }
+            String placement = in.nextString();
+            try {
+                return Fen.parseBoard(placement, placement);
+            } catch (IllegalArgumentException e) {
+                throw new JsonParseException(e.getMessage(), e);
+            }
+        }
+    }
+
+    private static final class MoveAdapter extends TypeAdapter<ChessMove> {
+        @Override
+        public void write(JsonWriter out, ChessMove move) throws IOException {
+            out.beginObject();
+            writePosition(out.name("startPosition"), move.getStartPosition());
+            writePosition(out.name("endPosition"), move.getEndPosition());
+            if (move.getPromotionPiece() != null) {
+                out.name("promotionPiece").value(move.getPromotionPiece().name());
+            }
+            out.endObject();
+        }
+
+        @Override
+        public ChessMove read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.STRING) {
+                String uci = in.nextString();
+                ChessMove move = MoveNotation.parseUci(uci);
+                if (move == null) {
+                    throw new JsonParseException("Not a UCI move: " + uci);
+                }
+                return move;
+            }
+            ChessPosition start = null;
+            ChessPosition end = null;
+            ChessPiece.PieceType promotion = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "startPosition" -> start = readPosition(in);
+                    case "endPosition" -> end = readPosition(in);
+                    case "promotionPiece" -> promotion = readEnum(in, ChessPiece.PieceType.class);
+                    default -> in.skipValue();
+                }
+            }
+            in.endObject();
+            return ChessMove.of(start, end, promotion);
+        }
+    }
+
+    private static final class PositionAdapter extends TypeAdapter<ChessPosition> {
+        @Override
+        public void write(JsonWriter out, ChessPosition position) throws IOException {
+            writePosition(out, position);
+        }
+
+        @Override
+        public ChessPosition read(JsonReader in) throws IOException {
+            return readPosition(in);
+        }
+    }
+
+    private static final class PieceAdapter extends TypeAdapter<ChessPiece> {
+        @Override
+        public void write(JsonWriter out, ChessPiece piece) throws IOException {
+            out.beginObject();
+            out.name("pieceColor").value(piece.getTeamColor().name());
+            out.name("pieceType").value(piece.getPieceType().name());
+            out.endObject();
+        }
+
+        @Override
+        public ChessPiece read(JsonReader in) throws IOException {
+            ChessGame.TeamColor color = null;
+            ChessPiece.PieceType type = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "pieceColor" -> color = readEnum(in, ChessGame.TeamColor.class);
+                    case "pieceType" -> type = readEnum(in, ChessPiece.PieceType.class);
+                    default -> in.skipValue();
+                }
+            }
+            in.endObject();
+            return new ChessPiece(color, type);
+        }
+    }
+
+    private static void writePosition(JsonWriter out, ChessPosition position) throws IOException {
+        if (position == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("row").value(position.getRow());
+        out.name("col").value(position.getColumn());
+        out.endObject();
+    }
+
+    private static ChessPosition readPosition(JsonReader in) throws IOException {
+        switch (in.peek()) {
+            case NULL -> {
+                in.nextNull();
+                return null;
+            }
+            case STRING -> {
+                String square = in.nextString();
+                ChessPosition position = MoveNotation.parseSquare(square);
+                if (position == null) {
+                    throw new JsonParseException("Not a square: " + square);
+                }
+                return position;
+            }
+            default -> {
+                int row = 0;
+                int col = 0;
+                in.beginObject();
+                while (in.hasNext()) {
+                    switch (in.nextName()) {
+                        case "row" -> row = in.nextInt();
+                        case "col" -> col = in.nextInt();
+                        default -> in.skipValue();
+                    }
+                }
+                in.endObject();
+                return ChessPosition.of(row, col);
+            }
+        }
+    }
+
+    private static <E extends Enum<E>> E readEnum(JsonReader in, Class<E> type) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        String name = in.nextString();
+        for (E constant : type.getEnumConstants()) {
+            if (constant.name().equals(name)) {
+                return constant;
+            }
+        }
+        // reflection read unknown names as null rather than failing
+        return null;
+    }
+}
@@ -9,9 +9,33 @@ import java.util.Objects;
  * signature of the existing methods.
  */
 public class ChessMove {
-    ChessPosition startPosition;
-    ChessPosition endPosition;
-    ChessPiece.PieceType promotionPiece;
+    final ChessPosition startPosition;
+    final ChessPosition endPosition;
+    final ChessPiece.PieceType promotionPiece;
+
+    // shared instances indexed by PackedMove: every square to square move, plus
+    // the promotions a pawn can make from the seventh rank
+    private static final ChessMove[] CANONICAL = new ChessMove[1 << 15];
+    private static final ChessPiece.PieceType[] PROMOTIONS = {ChessPiece.PieceType.QUEEN,
+            ChessPiece.PieceType.BISHOP, ChessPiece.PieceType.KNIGHT, ChessPiece.PieceType.ROOK};
+
+    static {
+        for (int from = 0; from < 64; from++) {
+            for (int to = 0; to < 64; to++) {
+                ChessPosition start = ChessPosition.of(from / 8 + 1, from % 8 + 1);
+                ChessPosition end = ChessPosition.of(to / 8 + 1, to % 8 + 1);
+                CANONICAL[from | to << 6] = new ChessMove(start, end, null);
+                boolean pawnStep = Math.abs(start.col - end.col) <= 1
+                        && (start.row == 7 && end.row == 8 || start.row == 2 && end.row == 1);
+                if (pawnStep) {
+                    for (ChessPiece.PieceType promotion : PROMOTIONS) {
+                        CANONICAL[from | to << 6 | (promotion.ordinal() + 1) << 12] =
+                                new ChessMove(start, end, promotion);
+                    }
+                }
+            }
+        }
+    }
 
     public ChessMove(ChessPosition startPosition, ChessPosition endPosition,
                      ChessPiece.PieceType promotionPiece) {
@@ -20,6 +44,32 @@ public class ChessMove {
         this.promotionPiece = promotionPiece;
     }
 
+    /**
+     * @return a shared instance for any move a piece can make, or a new move
+     * for anything else
+     */
+    public static ChessMove of(ChessPosition startPosition, ChessPosition endPosition,
+                               ChessPiece.PieceType promotionPiece) {
+        if (onBoard(startPosition) && onBoard(endPosition)) {
+            ChessMove move = CANONICAL[PackedMove.pack(startPosition, endPosition, promotionPiece)];
+            if (move != null) {
+                return move;
+            }
+        }
+        return new ChessMove(startPosition, endPosition, promotionPiece);
+    }
+
+    /**
+     * @return the shared instance for a PackedMove, or null if it has none
+     */
+    static ChessMove canonical(int packed) {
+        return CANONICAL[packed & 0x7FFF];
+    }
+
+    private static boolean onBoard(ChessPosition position) {
+        return position != null && position.row >= 1 && position.row <= 8 && position.col >= 1 && position.col <= 8;
+    }
+
     /**
      * @return ChessPosition of starting location
      */
@@ -60,6 +110,7 @@ public class ChessMove {
 
     @Override
     public int hashCode() {
-        return Objects.hash(startPosition, endPosition, promotionPiece);
+        int hash = 31 * Objects.hashCode(startPosition) + Objects.hashCode(endPosition);
+        return 31 * hash + (promotionPiece == null ? 0 : promotionPiece.ordinal() + 1);
     }
 }
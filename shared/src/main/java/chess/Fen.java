@@ -0,0 +1,134 @@
+package chess;
+
+/**
+ * Reads and writes positions in Forsyth-Edwards Notation.
+ * <p>
+ * Only the fields this game models are used: piece placement, the side to
+ * move and the move number. Castling rights and the en passant square are
+ * read past and written as "-", since the rules here have neither.
+ */
+public class Fen {
+    public static final String START = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w - - 0 1";
+
+    private Fen() {
+    }
+
+    /**
+     * @param text a FEN record; only the first two fields are required
+     * @throws IllegalArgumentException if the text is not a FEN record
+     */
+    public static ChessGame parse(String text) {
+        String[] fields = text.trim().split("\\s+");
+        if (fields.length < 2) {
+            throw new IllegalArgumentException("FEN needs placement and side to move: " + text);
+        }
+        ChessBoard board = parseBoard(fields[0], text);
+
+        boolean black = switch (fields[1]) {
+            case "w" -> false;
+            case "b" -> true;
+            default -> throw new IllegalArgumentException("Bad FEN side to move: " + text);
+        };
+        int moveNumber = 1;
+        if (fields.length >= 6) {
+            try {
+                moveNumber = Math.max(1, Integer.parseInt(fields[5]));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Bad FEN move number: " + text);
+            }
+        }
+        return new ChessGame(board, (moveNumber - 1) * 2 + (black ? 1 : 0));
+    }
+
+    /**
+     * Reads just the piece placement field
+     *
+     * @param text what to name in error messages
+     * @throws IllegalArgumentException if the placement does not cover the board
+     */
+    static ChessBoard parseBoard(String placement, String text) {
+        ChessBoard board = new ChessBoard();
+        int row = 8;
+        int col = 1;
+        for (int i = 0; i < placement.length(); i++) {
+            char c = placement.charAt(i);
+            if (c == '/') {
+                if (col != 9 || row == 1) {
+                    throw new IllegalArgumentException("Bad FEN rank: " + text);
+                }
+                row--;
+                col = 1;
+            } else if (c >= '1' && c <= '8') {
+                col += c - '0';
+            } else {
+                ChessPiece.PieceType type = MoveNotation.promotionType(c);
+                if (Character.toUpperCase(c) == 'K') {
+                    type = ChessPiece.PieceType.KING;
+                } else if (Character.toUpperCase(c) == 'P') {
+                    type = ChessPiece.PieceType.PAWN;
+                }
+                if (type == null || col > 8) {
+                    throw new IllegalArgumentException("Bad FEN piece '" + c + "': " + text);
+                }
+                ChessGame.TeamColor color = Character.isUpperCase(c) ? ChessGame.TeamColor.WHITE
+                        : ChessGame.TeamColor.BLACK;
+                board.squares[row - 1][col - 1] = new ChessPiece(color, type);
+                col++;
+            }
+            if (col > 9) {
+                throw new IllegalArgumentException("Bad FEN rank: " + text);
+            }
+        }
+        if (row != 1 || col != 9) {
+            throw new IllegalArgumentException("FEN placement must cover 8 ranks: " + text);
+        }
+        return board;
+    }
+
+    public static String toFen(ChessGame game) {
+        return toFen(game.thisBoard.squares, game.turnTracker);
+    }
+
+    public static String toFen(GameSnapshot snapshot) {
+        return toFen(snapshot.rows(), snapshot.turnTracker());
+    }
+
+    private static String toFen(ChessPiece[][] squares, int turnTracker) {
+        StringBuilder out = appendPlacement(new StringBuilder(64), squares);
+        out.append(turnTracker % 2 == 0 ? " w" : " b");
+        return out.append(" - - 0 ").append(turnTracker / 2 + 1).toString();
+    }
+
+    /**
+     * Writes just the piece placement field
+     */
+    static StringBuilder appendBoard(StringBuilder out, ChessBoard board) {
+        return appendPlacement(out, board.squares);
+    }
+
+    private static StringBuilder appendPlacement(StringBuilder out, ChessPiece[][] squares) {
+        for (int row = 8; row >= 1; row--) {
+            int empty = 0;
+            for (int col = 1; col <= 8; col++) {
+                ChessPiece piece = squares[row - 1][col - 1];
+                if (piece == null) {
+                    empty++;
+                    continue;
+                }
+                if (empty > 0) {
+                    out.append(empty);
+                    empty = 0;
+                }
+                char letter = MoveNotation.pieceLetter(piece.getPieceType());
+                out.append(piece.getTeamColor() == ChessGame.TeamColor.WHITE ? letter : Character.toLowerCase(letter));
+            }
+            if (empty > 0) {
+                out.append(empty);
+            }
+            if (row > 1) {
+                out.append('/');
+            }
+        }
+        return out;
+    }
+}
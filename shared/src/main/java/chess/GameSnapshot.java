@@ -0,0 +1,98 @@
+package chess;
+
+/**
+ * An immutable picture of a ChessGame at one moment.
+ * <p>
+ * Snapshots can be handed to any number of threads and read without locking
+ * while the game itself keeps changing. Each move makes its snapshot from the
+ * previous one by copying only the one or two board rows the move touched;
+ * the other rows are shared, so a new snapshot costs a few small array
+ * copies rather than a whole board.
+ */
+public final class GameSnapshot {
+    private final ChessPiece[][] rows;
+    private final int turnTracker;
+
+    private GameSnapshot(ChessPiece[][] rows, int turnTracker) {
+        this.rows = rows;
+        this.turnTracker = turnTracker;
+    }
+
+    static GameSnapshot of(ChessBoard board, int turnTracker) {
+        ChessPiece[][] rows = new ChessPiece[8][];
+        for (int i = 0; i < 8; i++) {
+            rows[i] = board.squares[i].clone();
+        }
+        return new GameSnapshot(rows, turnTracker);
+    }
+
+    /**
+     * @param placed the piece that ends up on the end square (the promoted
+     *               piece for a promotion)
+     */
+    GameSnapshot afterMove(ChessMove move, ChessPiece placed, int newTurnTracker) {
+        int fromRow = move.getStartPosition().getRow() - 1;
+        int toRow = move.getEndPosition().getRow() - 1;
+        ChessPiece[][] next = rows.clone();
+        next[fromRow] = rows[fromRow].clone();
+        if (toRow != fromRow) {
+            next[toRow] = rows[toRow].clone();
+        }
+        next[fromRow][move.getStartPosition().getColumn() - 1] = null;
+        next[toRow][move.getEndPosition().getColumn() - 1] = placed;
+        return new GameSnapshot(next, newTurnTracker);
+    }
+
+    /**
+     * @return the piece at the position, or null if the square is empty
+     */
+    public ChessPiece getPiece(ChessPosition position) {
+        return rows[position.getRow() - 1][position.getColumn() - 1];
+    }
+
+    public ChessGame.TeamColor getTeamTurn() {
+        return turnTracker % 2 == 0 ? ChessGame.TeamColor.WHITE : ChessGame.TeamColor.BLACK;
+    }
+
+    /**
+     * @return a new mutable board holding this snapshot's pieces
+     */
+    public ChessBoard toBoard() {
+        ChessPiece[][] squares = new ChessPiece[8][];
+        for (int i = 0; i < 8; i++) {
+            squares[i] = rows[i].clone();
+        }
+        return new ChessBoard(squares);
+    }
+
+    /**
+     * @return a new mutable game in this snapshot's position, for work such
+     * as status checks that needs the full ChessGame API. Costs eight small
+     * row copies, and the game starts out with this as its snapshot.
+     */
+    public ChessGame toGame() {
+        ChessGame game = new ChessGame(toBoard(), turnTracker);
+        game.adoptSnapshot(this);
+        return game;
+    }
+
+    /**
+     * @return the position as a FEN record
+     */
+    public String toFen() {
+        return Fen.toFen(this);
+    }
+
+    // the shared rows themselves, for readers in this package that promise not to write
+    ChessPiece[][] rows() {
+        return rows;
+    }
+
+    int turnTracker() {
+        return turnTracker;
+    }
+
+    boolean sharesRow(GameSnapshot other, int row) {
+        return rows[row - 1] == other.rows[row - 1];
+    }
+}
@@ -0,0 +1,119 @@
+package chess;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded cache of legal move lists shared by every game, keyed by the
+ * position's Zobrist hash.
+ * <p>
+ * Move lists are stored as sorted PackedMove int arrays. Nothing locks:
+ * lookups are plain map reads, and inserts past capacity evict with the CLOCK
+ * algorithm, which gives recently read entries a second chance, a cheap
+ * stand-in for LRU. Inserting threads move the clock hand with an atomic
+ * increment and claim ring slots with a compare-and-set, so they only meet
+ * when two of them want the same slot. While inserts are in flight the map
+ * may briefly hold one extra entry per inserting thread.
+ */
+public class MoveCache {
+    private static final int DEFAULT_CAPACITY = 1 << 15;
+
+    private final ConcurrentHashMap<Long, Entry> entries;
+    private final AtomicReferenceArray<Entry> ring;
+    private final AtomicInteger hand = new AtomicInteger();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private static final class Entry {
+        final long key;
+        final int[] moves;
+        volatile boolean referenced;
+
+        Entry(long key, int[] moves) {
+            this.key = key;
+            this.moves = moves;
+        }
+    }
+
+    public MoveCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be at least 1");
+        }
+        this.entries = new ConcurrentHashMap<>(capacity * 2);
+        this.ring = new AtomicReferenceArray<>(capacity);
+    }
+
+    public MoveCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @return the sorted packed legal moves for the position, or null if not cached
+     */
+    public int[] get(long key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        entry.referenced = true;
+        hits.increment();
+        return entry.moves;
+    }
+
+    /**
+     * @param moves sorted packed legal moves, must not be changed afterwards
+     */
+    public void put(long key, int[] moves) {
+        Entry entry = new Entry(key, moves);
+        if (entries.putIfAbsent(key, entry) != null) {
+            return;
+        }
+        // every pass clears the reference bits it sweeps, so this ends within two laps
+        while (true) {
+            int slot = Math.floorMod(hand.getAndIncrement(), ring.length());
+            Entry resident = ring.get(slot);
+            if (resident != null && resident.referenced) {
+                resident.referenced = false;
+                continue;
+            }
+            if (ring.compareAndSet(slot, resident, entry)) {
+                if (resident != null && entries.remove(resident.key, resident)) {
+                    evictions.increment();
+                }
+                return;
+            }
+            // another insert claimed this slot first, try the next one
+        }
+    }
+
+    /**
+     * Empties the cache. Inserts racing with a clear may survive it.
+     */
+    public void clear() {
+        for (int slot = 0; slot < ring.length(); slot++) {
+            ring.set(slot, null);
+        }
+        entries.clear();
+        hand.set(0);
+    }
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+}
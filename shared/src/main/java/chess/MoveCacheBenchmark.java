@@ -0,0 +1,54 @@
+package chess;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Measures MoveCache inserts per second as more threads insert at once, past
+ * capacity so every insert also evicts. With the clock hand and the ring
+ * slots claimed atomically the total should keep climbing with threads
+ * rather than flatten the way it does behind a single lock.
+ * <pre>
+ * java chess.MoveCacheBenchmark [maxThreads]
+ * </pre>
+ */
+public class MoveCacheBenchmark {
+    private static final int CAPACITY = 1 << 15;
+    private static final int INSERTS_PER_THREAD = 2_000_000;
+
+    public static void main(String[] args) throws InterruptedException {
+        int maxThreads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            run(threads); // warm up
+            System.out.printf("%2d threads: %6.1f M inserts/s%n", threads, run(threads));
+        }
+    }
+
+    private static double run(int threads) throws InterruptedException {
+        MoveCache cache = new MoveCache(CAPACITY);
+        int[] moves = new int[0];
+        CountDownLatch go = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>(threads);
+        for (int t = 0; t < threads; t++) {
+            long base = (long) t * INSERTS_PER_THREAD;
+            workers.add(Thread.ofPlatform().start(() -> {
+                try {
+                    go.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (long key = base; key < base + INSERTS_PER_THREAD; key++) {
+                    cache.put(key, moves);
+                }
+            }));
+        }
+        long start = System.nanoTime();
+        go.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        return threads * (double) INSERTS_PER_THREAD / seconds / 1e6;
+    }
+}
@@ -0,0 +1,303 @@
+package chess;
+
+/**
+ * Reads and writes moves as UCI ("e2e4", "e7e8q") and SAN ("Nxf3+") text.
+ * <p>
+ * Parsing walks the characters directly and writing appends straight into a
+ * caller supplied StringBuilder, so no regexes or throwaway strings are made
+ * along the way. Malformed text parses to null rather than throwing.
+ */
+public class MoveNotation {
+
+    private MoveNotation() {
+    }
+
+    /**
+     * @return the square named by the two characters at offset (e.g. "e4"), or null
+     */
+    public static ChessPosition parseSquare(CharSequence text, int offset) {
+        if (text == null || offset < 0 || offset + 2 > text.length()) {
+            return null;
+        }
+        int col = fileIndex(text.charAt(offset));
+        int row = rankIndex(text.charAt(offset + 1));
+        if (col == 0 || row == 0) {
+            return null;
+        }
+        return ChessPosition.of(row, col);
+    }
+
+    /**
+     * @return the square named by the whole text (e.g. "e4"), or null
+     */
+    public static ChessPosition parseSquare(CharSequence text) {
+        if (text == null || text.length() != 2) {
+            return null;
+        }
+        return parseSquare(text, 0);
+    }
+
+    /**
+     * @return true if the position lies on the board
+     */
+    public static boolean isOnBoard(ChessPosition position) {
+        return position != null && position.getRow() >= 1 && position.getRow() <= 8
+                && position.getColumn() >= 1 && position.getColumn() <= 8;
+    }
+
+    public static StringBuilder appendSquare(StringBuilder out, ChessPosition position) {
+        return out.append((char) ('a' + position.getColumn() - 1)).append((char) ('0' + position.getRow()));
+    }
+
+    /**
+     * Parses a UCI move such as "e2e4" or "e7e8q"
+     *
+     * @return the move, or null if the text is not a UCI move
+     */
+    public static ChessMove parseUci(CharSequence text) {
+        if (text == null || (text.length() != 4 && text.length() != 5)) {
+            return null;
+        }
+        ChessPosition start = parseSquare(text, 0);
+        ChessPosition end = parseSquare(text, 2);
+        if (start == null || end == null) {
+            return null;
+        }
+        ChessPiece.PieceType promotion = null;
+        if (text.length() == 5) {
+            promotion = promotionType(text.charAt(4));
+            if (promotion == null) {
+                return null;
+            }
+        }
+        return ChessMove.of(start, end, promotion);
+    }
+
+    public static StringBuilder appendUci(StringBuilder out, ChessMove move) {
+        appendSquare(out, move.getStartPosition());
+        appendSquare(out, move.getEndPosition());
+        if (move.getPromotionPiece() != null) {
+            out.append(Character.toLowerCase(pieceLetter(move.getPromotionPiece())));
+        }
+        return out;
+    }
+
+    public static String toUci(ChessMove move) {
+        return appendUci(new StringBuilder(5), move).toString();
+    }
+
+    /**
+     * Parses a SAN move such as "Nxf3+" against the position it is played from.
+     * Check, mate and annotation marks are accepted but not verified.
+     *
+     * @param text the SAN text
+     * @param game the position before the move, left untouched
+     * @return the matching legal move for the side to move, or null if there is
+     * no such move or the text is ambiguous
+     */
+    public static ChessMove parseSan(CharSequence text, ChessGame game) {
+        if (text == null) {
+            return null;
+        }
+        int end = text.length();
+        while (end > 0 && isSuffix(text.charAt(end - 1))) {
+            end--;
+        }
+
+        ChessPiece.PieceType promotion = null;
+        if (end >= 2 && text.charAt(end - 2) == '=') {
+            promotion = promotionType(text.charAt(end - 1));
+            if (promotion == null) {
+                return null;
+            }
+            end -= 2;
+        } else if (end >= 3 && rankIndex(text.charAt(end - 2)) != 0 && promotionType(text.charAt(end - 1)) != null
+                && Character.isUpperCase(text.charAt(end - 1))) {
+            // some writers leave the '=' out, as in "e8Q"
+            promotion = promotionType(text.charAt(end - 1));
+            end -= 1;
+        }
+
+        int start = 0;
+        ChessPiece.PieceType type = ChessPiece.PieceType.PAWN;
+        if (end > 0 && Character.isUpperCase(text.charAt(0))) {
+            type = pieceType(text.charAt(0));
+            if (type == null) {
+                return null;
+            }
+            start = 1;
+        }
+        if (end - start < 2) {
+            return null;
+        }
+        ChessPosition target = parseSquare(text, end - 2);
+        if (target == null) {
+            return null;
+        }
+
+        int fromCol = 0;
+        int fromRow = 0;
+        for (int i = start; i < end - 2; i++) {
+            char c = text.charAt(i);
+            if (c == 'x' || c == ':') {
+                continue;
+            }
+            if (fileIndex(c) != 0) {
+                fromCol = fileIndex(c);
+            } else if (rankIndex(c) != 0) {
+                fromRow = rankIndex(c);
+            } else {
+                return null;
+            }
+        }
+        return findMove(game, type, fromRow, fromCol, target, promotion);
+    }
+
+    private static ChessMove findMove(ChessGame game, ChessPiece.PieceType type, int fromRow, int fromCol,
+                                      ChessPosition target, ChessPiece.PieceType promotion) {
+        ChessBoard board = game.getBoard();
+        ChessGame.TeamColor turn = game.getTeamTurn();
+        ChessMove found = null;
+        for (int i = 1; i <= 8; i++) {
+            if (fromRow != 0 && fromRow != i) {
+                continue;
+            }
+            for (int j = 1; j <= 8; j++) {
+                if (fromCol != 0 && fromCol != j) {
+                    continue;
+                }
+                ChessPiece piece = board.squares[i - 1][j - 1];
+                if (piece == null || piece.getPieceType() != type || piece.getTeamColor() != turn) {
+                    continue;
+                }
+                ChessMove candidate = ChessMove.of(ChessPosition.of(i, j), target, promotion);
+                if (game.isLegal(candidate)) {
+                    if (found != null) {
+                        return null;
+                    }
+                    found = candidate;
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Writes a move in SAN, including the check or mate mark
+     *
+     * @param out where to write
+     * @param game the position before the move, left untouched
+     * @param move a legal move in that position
+     */
+    public static StringBuilder appendSan(StringBuilder out, ChessGame game, ChessMove move) {
+        ChessBoard board = game.getBoard();
+        ChessPiece piece = board.getPiece(move.getStartPosition());
+        ChessPosition from = move.getStartPosition();
+        ChessPosition to = move.getEndPosition();
+        boolean capture = board.getPiece(to) != null;
+
+        if (piece.getPieceType() == ChessPiece.PieceType.PAWN) {
+            if (capture) {
+                out.append((char) ('a' + from.getColumn() - 1));
+            }
+        } else {
+            out.append(pieceLetter(piece.getPieceType()));
+            appendDisambiguation(out, game, piece, move);
+        }
+        if (capture) {
+            out.append('x');
+        }
+        appendSquare(out, to);
+        if (move.getPromotionPiece() != null) {
+            out.append('=').append(pieceLetter(move.getPromotionPiece()));
+        }
+
+        // a check is one attack scan; only a check needs the replies looked at to tell if it's mate
+        if (game.givesCheck(move)) {
+            out.append(game.givesMate(move) ? '#' : '+');
+        }
+        return out;
+    }
+
+    public static String toSan(ChessGame game, ChessMove move) {
+        return appendSan(new StringBuilder(8), game, move).toString();
+    }
+
+    private static void appendDisambiguation(StringBuilder out, ChessGame game, ChessPiece piece, ChessMove move) {
+        ChessPosition from = move.getStartPosition();
+        boolean clash = false;
+        boolean sameFile = false;
+        boolean sameRank = false;
+        for (int i = 1; i <= 8; i++) {
+            for (int j = 1; j <= 8; j++) {
+                if (i == from.getRow() && j == from.getColumn()) {
+                    continue;
+                }
+                ChessPiece other = game.getBoard().squares[i - 1][j - 1];
+                if (other == null || !other.equals(piece)) {
+                    continue;
+                }
+                if (game.isLegal(ChessMove.of(ChessPosition.of(i, j), move.getEndPosition(), null))) {
+                    clash = true;
+                    sameFile |= j == from.getColumn();
+                    sameRank |= i == from.getRow();
+                }
+            }
+        }
+        if (!clash) {
+            return;
+        }
+        if (!sameFile) {
+            out.append((char) ('a' + from.getColumn() - 1));
+        } else if (!sameRank) {
+            out.append((char) ('0' + from.getRow()));
+        } else {
+            appendSquare(out, from);
+        }
+    }
+
+    /**
+     * @return the promotion piece for a letter in either case, or null
+     */
+    public static ChessPiece.PieceType promotionType(char letter) {
+        ChessPiece.PieceType type = pieceType(Character.toUpperCase(letter));
+        if (type == ChessPiece.PieceType.KING) {
+            return null;
+        }
+        return type;
+    }
+
+    private static ChessPiece.PieceType pieceType(char letter) {
+        return switch (letter) {
+            case 'K' -> ChessPiece.PieceType.KING;
+            case 'Q' -> ChessPiece.PieceType.QUEEN;
+            case 'R' -> ChessPiece.PieceType.ROOK;
+            case 'B' -> ChessPiece.PieceType.BISHOP;
+            case 'N' -> ChessPiece.PieceType.KNIGHT;
+            default -> null;
+        };
+    }
+
+    public static char pieceLetter(ChessPiece.PieceType type) {
+        return switch (type) {
+            case KING -> 'K';
+            case QUEEN -> 'Q';
+            case ROOK -> 'R';
+            case BISHOP -> 'B';
+            case KNIGHT -> 'N';
+            case PAWN -> 'P';
+        };
+    }
+
+    private static boolean isSuffix(char c) {
+        return c == '+' || c == '#' || c == '!' || c == '?';
+    }
+
+    private static int fileIndex(char c) {
+        return c >= 'a' && c <= 'h' ? c - 'a' + 1 : 0;
+    }
+
+    private static int rankIndex(char c) {
+        return c >= '1' && c <= '8' ? c - '0' : 0;
+    }
+}
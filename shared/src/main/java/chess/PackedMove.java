@@ -0,0 +1,52 @@
+package chess;
+
+/**
+ * Packs a ChessMove into an int so move lists can live in primitive arrays.
+ * <p>
+ * Bits 0-5 hold the start square and bits 6-11 the end square, each as
+ * (row - 1) * 8 + (column - 1). Bits 12-14 hold the promotion piece type
+ * ordinal plus one, or 0 for no promotion.
+ */
+public class PackedMove {
+    private static final ChessPiece.PieceType[] TYPES = ChessPiece.PieceType.values();
+
+    private PackedMove() {
+    }
+
+    public static int pack(ChessMove move) {
+        return pack(move.getStartPosition(), move.getEndPosition(), move.getPromotionPiece());
+    }
+
+    static int pack(ChessPosition start, ChessPosition end, ChessPiece.PieceType promotion) {
+        return square(start) | square(end) << 6 | (promotion == null ? 0 : promotion.ordinal() + 1) << 12;
+    }
+
+    /**
+     * @return the shared ChessMove for the packed move
+     */
+    public static ChessMove unpack(int packed) {
+        ChessMove move = ChessMove.canonical(packed);
+        return move != null ? move : new ChessMove(position(from(packed)), position(to(packed)), promotion(packed));
+    }
+
+    public static int square(ChessPosition position) {
+        return (position.getRow() - 1) * 8 + position.getColumn() - 1;
+    }
+
+    public static ChessPosition position(int square) {
+        return ChessPosition.of(square / 8 + 1, square % 8 + 1);
+    }
+
+    public static int from(int packed) {
+        return packed & 63;
+    }
+
+    public static int to(int packed) {
+        return (packed >>> 6) & 63;
+    }
+
+    public static ChessPiece.PieceType promotion(int packed) {
+        int code = (packed >>> 12) & 7;
+        return code == 0 ? null : TYPES[code - 1];
+    }
+}
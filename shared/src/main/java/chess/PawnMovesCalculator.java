@@ -18,7 +18,7 @@ public class PawnMovesCalculator implements PieceMoveCalculatorInterface {
             futureRow = row - 1;
         }
         if (!(futureRow <= 0 || futureRow > 8 || col <= 0 || col > 8)) {
-            ChessPosition futurePosition = new ChessPosition(futureRow, col);
+            ChessPosition futurePosition = ChessPosition.of(futureRow, col);
             ChessPiece futurePiece = board.getPiece(futurePosition);
             if (futurePiece == null) {
                 promotionPieceAdd(moves, myPosition,futurePosition, futureRow);
@@ -47,12 +47,12 @@ public class PawnMovesCalculator implements PieceMoveCalculatorInterface {
     private void promotionPieceAdd(
             Collection<ChessMove> moves, ChessPosition myPosition, ChessPosition futurePosition, int futureRow){
         if (futureRow == 8 || futureRow == 1){
-            moves.add(new ChessMove(myPosition, futurePosition, ChessPiece.PieceType.QUEEN));
-            moves.add(new ChessMove(myPosition, futurePosition, ChessPiece.PieceType.BISHOP));
-            moves.add(new ChessMove(myPosition, futurePosition, ChessPiece.PieceType.KNIGHT));
-            moves.add(new ChessMove(myPosition, futurePosition, ChessPiece.PieceType.ROOK));
+            moves.add(ChessMove.of(myPosition, futurePosition, ChessPiece.PieceType.QUEEN));
+            moves.add(ChessMove.of(myPosition, futurePosition, ChessPiece.PieceType.BISHOP));
+            moves.add(ChessMove.of(myPosition, futurePosition, ChessPiece.PieceType.KNIGHT));
+            moves.add(ChessMove.of(myPosition, futurePosition, ChessPiece.PieceType.ROOK));
         }else {
-            moves.add(new ChessMove(myPosition, futurePosition, null));
+            moves.add(ChessMove.of(myPosition, futurePosition, null));
         }
     }
 
@@ -67,7 +67,7 @@ public class PawnMovesCalculator implements PieceMoveCalculatorInterface {
                 futureRow -= 1;
             }
             if (!(futureRow <= 0 || futureRow > 8)) {
-                ChessPosition futurePosition = new ChessPosition(futureRow, col);
+                ChessPosition futurePosition = ChessPosition.of(futureRow, col);
                 ChessPiece futurePiece = board.getPiece(futurePosition);
                 if (futurePiece == null) {
                     promotionPieceAdd(moves, myPosition,futurePosition, futureRow);
@@ -80,7 +80,7 @@ public class PawnMovesCalculator implements PieceMoveCalculatorInterface {
     void diagonalKill(int futureRow, int futureCol, ChessBoard board,
                       ChessPiece currentPiece, Collection<ChessMove> moves, ChessPosition myPosition){
         if (!(futureRow <= 0 || futureRow > 8 || futureCol <= 0 || futureCol > 8)) {
-            ChessPosition futurePosition = new ChessPosition(futureRow, futureCol);
+            ChessPosition futurePosition = ChessPosition.of(futureRow, futureCol);
             ChessPiece futurePiece = board.getPiece(futurePosition);
             if (futurePiece != null && futurePiece.pieceColor != currentPiece.pieceColor) {
                 promotionPieceAdd(moves, myPosition, futurePosition, futureRow);
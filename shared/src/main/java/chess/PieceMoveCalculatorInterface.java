@@ -20,16 +20,16 @@ public interface PieceMoveCalculatorInterface {
         boolean blocked = false;
         while(!blocked){
             if (!(futureRow > 8 || futureCol > 8 || futureRow <=0 || futureCol <=0 )){
-                ChessPosition futurePosition = new ChessPosition(futureRow,futureCol);
+                ChessPosition futurePosition = ChessPosition.of(futureRow,futureCol);
                 ChessPiece pieceInFuturePosition = board.getPiece(futurePosition);
 
                 if (pieceInFuturePosition != null) {
                     if (pieceInFuturePosition.getTeamColor() != currentPiece.getTeamColor()){
-                        moves.add(new ChessMove(myPosition, futurePosition, null));
+                        moves.add(ChessMove.of(myPosition, futurePosition, null));
                     }
                     blocked = true;
                 }else{
-                    moves.add(new ChessMove(myPosition, futurePosition, null));
+                    moves.add(ChessMove.of(myPosition, futurePosition, null));
                     futureRow += direction[0];
                     futureCol += direction[1];
                 }
@@ -46,14 +46,14 @@ public interface PieceMoveCalculatorInterface {
             int futureCol = col + direction[1];
             ChessPiece currentPiece = board.getPiece(myPosition);
             if (!(futureRow <= 0 || futureRow > 8 || futureCol <= 0 || futureCol > 8)) {
-                ChessPosition futurePosition = new ChessPosition(futureRow, futureCol);
+                ChessPosition futurePosition = ChessPosition.of(futureRow, futureCol);
                 ChessPiece futurePiece = board.getPiece(futurePosition);
                 if (futurePiece != null) {
                     if (futurePiece.pieceColor != currentPiece.pieceColor) {
-                        moves.add(new ChessMove(myPosition, futurePosition, null));
+                        moves.add(ChessMove.of(myPosition, futurePosition, null));
                     }
                 } else {
-                    moves.add(new ChessMove(myPosition, futurePosition, null));
+                    moves.add(ChessMove.of(myPosition, futurePosition, null));
                 }
             }
         }
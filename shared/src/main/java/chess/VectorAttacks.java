@@ -0,0 +1,81 @@
+package chess;
+
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import static chess.BitboardAttacks.NOT_A;
+import static chess.BitboardAttacks.NOT_AB;
+import static chess.BitboardAttacks.NOT_GH;
+import static chess.BitboardAttacks.NOT_H;
+
+/**
+ * The BitboardAttacks kernel with one position per vector lane. Only compiled
+ * with the vector profile and only loaded when jdk.incubator.vector is
+ * present; positions that do not fill a whole vector at the end of the batch
+ * go through the scalar kernel.
+ */
+final class VectorAttacks implements BitboardAttacks.Kernel {
+    static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_PREFERRED;
+
+    // made by name from BitboardAttacks
+    VectorAttacks() {
+    }
+
+    @Override
+    public void run(AttackBatch batch, long[] out) {
+        attacks(batch, out);
+    }
+
+    @Override
+    public int lanes() {
+        return SPECIES.length();
+    }
+
+    static void attacks(AttackBatch b, long[] out) {
+        int size = b.size();
+        int upper = SPECIES.loopBound(size);
+        int i = 0;
+        for (; i < upper; i += SPECIES.length()) {
+            LongVector empty = LongVector.fromArray(SPECIES, b.occupied, i).not();
+            LongVector white = LongVector.fromArray(SPECIES, b.whitePawns, i);
+            LongVector black = LongVector.fromArray(SPECIES, b.blackPawns, i);
+            LongVector attacked = shift(white, 7).and(NOT_H).or(shift(white, 9).and(NOT_A))
+                    .or(shift(black, -9).and(NOT_H)).or(shift(black, -7).and(NOT_A));
+
+            LongVector n = LongVector.fromArray(SPECIES, b.knights, i);
+            attacked = attacked.or(shift(n, 17).and(NOT_A)).or(shift(n, 15).and(NOT_H))
+                    .or(shift(n, 10).and(NOT_AB)).or(shift(n, 6).and(NOT_GH))
+                    .or(shift(n, -15).and(NOT_A)).or(shift(n, -17).and(NOT_H))
+                    .or(shift(n, -6).and(NOT_AB)).or(shift(n, -10).and(NOT_GH));
+
+            LongVector k = LongVector.fromArray(SPECIES, b.kings, i);
+            LongVector sideways = shift(k, 1).and(NOT_A).or(shift(k, -1).and(NOT_H));
+            LongVector row = k.or(sideways);
+            attacked = attacked.or(sideways).or(shift(row, 8)).or(shift(row, -8));
+
+            LongVector diag = LongVector.fromArray(SPECIES, b.diagonal, i);
+            attacked = attacked.or(slide(diag, empty, 9, NOT_A)).or(slide(diag, empty, 7, NOT_H))
+                    .or(slide(diag, empty, -7, NOT_A)).or(slide(diag, empty, -9, NOT_H));
+            LongVector ortho = LongVector.fromArray(SPECIES, b.orthogonal, i);
+            attacked = attacked.or(slide(ortho, empty, 8, -1L)).or(slide(ortho, empty, -8, -1L))
+                    .or(slide(ortho, empty, 1, NOT_A)).or(slide(ortho, empty, -1, NOT_H));
+            attacked.intoArray(out, i);
+        }
+        BitboardAttacks.attacks(b, out, i, size);
+    }
+
+    private static LongVector slide(LongVector gen, LongVector empty, int step, long mask) {
+        LongVector open = empty.and(mask);
+        gen = gen.or(open.and(shift(gen, step)));
+        open = open.and(shift(open, step));
+        gen = gen.or(open.and(shift(gen, 2 * step)));
+        open = open.and(shift(open, 2 * step));
+        gen = gen.or(open.and(shift(gen, 4 * step)));
+        return shift(gen, step).and(mask);
+    }
+
+    private static LongVector shift(LongVector bits, int step) {
+        return step > 0 ? bits.lanewise(VectorOperators.LSHL, step) : bits.lanewise(VectorOperators.LSHR, -step);
+    }
+}
@@ -0,0 +1,44 @@
+package chess;
+
+import java.util.SplittableRandom;
+
+/**
+ * Zobrist hashing: a position's key is the XOR of one fixed random number per
+ * occupied square and piece, plus one for black to move. Equal positions
+ * always get equal keys, and different positions collide with odds of about
+ * one in 2^64.
+ */
+public class Zobrist {
+    private static final long[][] PIECE_KEYS = new long[64][16];
+    private static final long BLACK_TO_MOVE;
+
+    static {
+        SplittableRandom random = new SplittableRandom(0x5EED_C4E55L);
+        for (long[] square : PIECE_KEYS) {
+            for (int code = 0; code < square.length; code++) {
+                square[code] = random.nextLong();
+            }
+        }
+        BLACK_TO_MOVE = random.nextLong();
+    }
+
+    private Zobrist() {
+    }
+
+    public static long hash(ChessGame game) {
+        ChessPiece[][] squares = game.thisBoard.squares;
+        long key = game.getTeamTurn() == ChessGame.TeamColor.BLACK ? BLACK_TO_MOVE : 0L;
+        for (int square = 0; square < 64; square++) {
+            ChessPiece piece = squares[square / 8][square % 8];
+            if (piece != null) {
+                key ^= PIECE_KEYS[square][pieceCode(piece)];
+            }
+        }
+        return key;
+    }
+
+    static int pieceCode(ChessPiece piece) {
+        int code = piece.getPieceType().ordinal() + 1;
+        return piece.getTeamColor() == ChessGame.TeamColor.BLACK ? code | 8 : code;
+    }
+}
@@ -0,0 +1,11 @@
+package chess.engine;
+
+/**
+ * One position's outcome from a BatchAnalyzer run
+ *
+ * @param index where the position sat in the input, starting at 0
+ * @param result the search result, or null if the position could not be built
+ * @param error why the position could not be built, or null on success
+ */
+public record AnalysisResult(long index, SearchResult result, String error) {
+}
@@ -0,0 +1,164 @@
+package chess.engine;
+
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.InvalidMoveException;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Analyses many positions at once on a fixed pool of worker threads.
+ * <p>
+ * Positions are pulled from the input only as fast as the workers can take
+ * them, so at most a small window of positions is held in memory no matter
+ * how long the input is. Results are handed back in input order as soon as
+ * every earlier position has finished.
+ */
+public class BatchAnalyzer implements AutoCloseable {
+    private final ExecutorService executor;
+    private final int window;
+    private final Supplier<Evaluator> evaluators;
+    private final int maxDepth;
+    private final long nodeBudget;
+    private final long timeBudgetMillis;
+
+    /**
+     * @param threads worker threads to search on
+     * @param evaluators makes a fresh evaluator for each position's search
+     * @param maxDepth deepest iteration to search each position to
+     * @param nodeBudget maximum nodes per position
+     * @param timeBudgetMillis maximum wall-clock time per position
+     */
+    public BatchAnalyzer(int threads, Supplier<Evaluator> evaluators, int maxDepth, long nodeBudget,
+                         long timeBudgetMillis) {
+        this.executor = Executors.newFixedThreadPool(threads);
+        this.window = threads * 2;
+        this.evaluators = evaluators;
+        this.maxDepth = maxDepth;
+        this.nodeBudget = nodeBudget;
+        this.timeBudgetMillis = timeBudgetMillis;
+    }
+
+    /**
+     * Searches with the material evaluator
+     */
+    public BatchAnalyzer(int threads, int maxDepth, long nodeBudget, long timeBudgetMillis) {
+        this(threads, MaterialEvaluator::new, maxDepth, nodeBudget, timeBudgetMillis);
+    }
+
+    /**
+     * Uses one worker per available core and the material evaluator
+     */
+    public BatchAnalyzer(int maxDepth, long nodeBudget, long timeBudgetMillis) {
+        this(Runtime.getRuntime().availableProcessors(), maxDepth, nodeBudget, timeBudgetMillis);
+    }
+
+    /**
+     * Analyses finished positions
+     *
+     * @param positions positions to analyse, each is left untouched
+     * @param sink receives one result per position, in input order
+     */
+    public void analyze(Stream<ChessGame> positions, Consumer<AnalysisResult> sink) {
+        Iterator<ChessGame> input = positions.iterator();
+        run(new Iterator<>() {
+            public boolean hasNext() {
+                return input.hasNext();
+            }
+
+            public Callable<ChessGame> next() {
+                ChessGame game = input.next();
+                return () -> game;
+            }
+        }, sink);
+    }
+
+    /**
+     * Analyses the positions reached by playing move sequences from the
+     * starting position. The replay happens on the worker threads too.
+     *
+     * @param lines move sequences to replay
+     * @param sink receives one result per line, in input order
+     */
+    public void analyzeLines(Stream<List<ChessMove>> lines, Consumer<AnalysisResult> sink) {
+        Iterator<List<ChessMove>> input = lines.iterator();
+        run(new Iterator<>() {
+            public boolean hasNext() {
+                return input.hasNext();
+            }
+
+            public Callable<ChessGame> next() {
+                List<ChessMove> line = input.next();
+                return () -> replay(line);
+            }
+        }, sink);
+    }
+
+    private void run(Iterator<Callable<ChessGame>> input, Consumer<AnalysisResult> sink) {
+        Deque<Future<AnalysisResult>> inFlight = new ArrayDeque<>();
+        long index = 0;
+        while (input.hasNext()) {
+            Callable<ChessGame> position = input.next();
+            long positionIndex = index++;
+            inFlight.add(executor.submit(() -> analyzeOne(positionIndex, position)));
+
+            if (inFlight.size() >= window) {
+                sink.accept(await(inFlight.poll()));
+            }
+            while (!inFlight.isEmpty() && inFlight.peek().isDone()) {
+                sink.accept(await(inFlight.poll()));
+            }
+        }
+        while (!inFlight.isEmpty()) {
+            sink.accept(await(inFlight.poll()));
+        }
+    }
+
+    // anything that goes wrong with one position is that position's error, the rest of the batch carries on
+    private AnalysisResult analyzeOne(long index, Callable<ChessGame> position) {
+        try {
+            ChessGame game = position.call();
+            SearchResult result = new Search(evaluators.get()).search(game, maxDepth, nodeBudget, timeBudgetMillis);
+            return new AnalysisResult(index, result, null);
+        } catch (InvalidMoveException e) {
+            return new AnalysisResult(index, null, "illegal move in line");
+        } catch (Exception e) {
+            return new AnalysisResult(index, null, "analysis failed: " + e);
+        }
+    }
+
+    private static ChessGame replay(List<ChessMove> line) throws InvalidMoveException {
+        ChessGame game = new ChessGame();
+        for (ChessMove move : line) {
+            game.makeMove(move);
+        }
+        return game;
+    }
+
+    private static AnalysisResult await(Future<AnalysisResult> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("batch analysis interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("batch analysis failed", e.getCause());
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
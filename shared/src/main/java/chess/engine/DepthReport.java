@@ -0,0 +1,11 @@
+package chess.engine;
+
+/**
+ * What one finished iteration of an iterative deepening search cost
+ *
+ * @param depth the iteration's depth
+ * @param nodes positions visited by this iteration alone
+ * @param elapsedMillis wall-clock time spent on this iteration alone
+ */
+public record DepthReport(int depth, long nodes, long elapsedMillis) {
+}
@@ -0,0 +1,41 @@
+package chess.engine;
+
+import chess.ChessGame;
+import chess.ChessMove;
+
+/**
+ * Scores a position for the search.
+ * <p>
+ * Evaluators that keep incremental state, such as NnueEvaluator, follow the
+ * search through reset, push and pop; stateless evaluators can ignore them.
+ * An evaluator with state belongs to one search at a time.
+ */
+public interface Evaluator {
+
+    /**
+     * @param game the position to score
+     * @return centipawn score from the point of view of the team whose turn it is
+     */
+    int evaluate(ChessGame game);
+
+    /**
+     * Called before a search starts from this position
+     */
+    default void reset(ChessGame root) {
+    }
+
+    /**
+     * Called as the search plays a move; evaluate then sees the position after it
+     *
+     * @param position the position before the move
+     * @param move the move being played
+     */
+    default void push(ChessGame position, ChessMove move) {
+    }
+
+    /**
+     * Called as the search takes back the move from the matching push
+     */
+    default void pop() {
+    }
+}
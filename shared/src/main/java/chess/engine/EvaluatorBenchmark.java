@@ -0,0 +1,107 @@
+package chess.engine;
+
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.InvalidMoveException;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Measures what an evaluator costs per search node: one push, one evaluate
+ * and one pop, down the lines of random games.
+ * <pre>
+ * java chess.engine.EvaluatorBenchmark [nnue-file] [budget-ns]
+ * </pre>
+ * With a budget given, exits with status 1 if the NNUE evaluator costs more
+ * than that per node. Without a file a random 256 wide network is used.
+ */
+public class EvaluatorBenchmark {
+    private static final int POSITIONS = 2_000;
+    private static final int ROUNDS = 200;
+    // keeps the JIT from throwing the evaluations away
+    private static volatile long sink;
+
+    /**
+     * A random game: positions.get(i) is the position moves.get(i) is played
+     * from, and the last position is the one after the final move
+     */
+    record Line(List<ChessGame> positions, List<ChessMove> moves) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        NnueNetwork network = args.length > 0 ? NnueNetwork.load(Path.of(args[0]))
+                : NnueNetwork.random(256, 240);
+        long budgetNanos = args.length > 1 ? Long.parseLong(args[1]) : Long.MAX_VALUE;
+
+        List<Line> lines = sampleLines();
+
+        double material = nanosPerNode(new MaterialEvaluator(), lines);
+        double nnue = nanosPerNode(new NnueEvaluator(network), lines);
+        System.out.printf("material: %.1f ns/node%n", material);
+        System.out.printf("nnue (H=%d): %.1f ns/node%n", network.getHiddenSize(), nnue);
+        if (nnue > budgetNanos) {
+            System.out.println("NNUE evaluator is over the " + budgetNanos + " ns budget");
+            System.exit(1);
+        }
+    }
+
+    static double nanosPerNode(Evaluator evaluator, List<Line> lines) {
+        long checksum = 0;
+        long elapsed = 0;
+        long nodes = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            boolean warm = round >= ROUNDS / 4;
+            for (Line line : lines) {
+                List<ChessGame> positions = line.positions();
+                List<ChessMove> moves = line.moves();
+                // reset is a full refresh done once per search, so it stays outside the timed part
+                evaluator.reset(positions.get(0));
+                // a single node is too short for nanoTime, so the whole line is timed at once
+                long start = System.nanoTime();
+                for (int ply = 0; ply < moves.size(); ply++) {
+                    evaluator.push(positions.get(ply), moves.get(ply));
+                    checksum += evaluator.evaluate(positions.get(ply + 1));
+                }
+                for (int ply = 0; ply < moves.size(); ply++) {
+                    evaluator.pop();
+                }
+                if (warm) {
+                    elapsed += System.nanoTime() - start;
+                    nodes += moves.size();
+                }
+            }
+        }
+        sink = checksum;
+        return elapsed / (double) nodes;
+    }
+
+    static List<Line> sampleLines() throws InvalidMoveException {
+        Random random = new Random(240);
+        List<Line> lines = new ArrayList<>();
+        int sampled = 0;
+        while (sampled < POSITIONS) {
+            ChessGame game = new ChessGame();
+            List<ChessGame> positions = new ArrayList<>(List.of(game.clone()));
+            List<ChessMove> moves = new ArrayList<>();
+            // 60 plies keeps a line well inside NnueEvaluator.MAX_PLY
+            for (int ply = 0; ply < 60 && sampled < POSITIONS; ply++) {
+                List<ChessMove> legal = new ArrayList<>(game.legalMoves());
+                if (legal.isEmpty()) {
+                    break;
+                }
+                ChessMove move = legal.get(random.nextInt(legal.size()));
+                game.makeMove(move);
+                moves.add(move);
+                positions.add(game.clone());
+                sampled++;
+            }
+            if (!moves.isEmpty()) {
+                lines.add(new Line(positions, moves));
+            }
+        }
+        return lines;
+    }
+}
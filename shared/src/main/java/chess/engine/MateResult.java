@@ -0,0 +1,29 @@
+package chess.engine;
+
+import chess.ChessMove;
+import chess.MoveNotation;
+
+import java.util.List;
+
+/**
+ * Outcome of a MateSolver run
+ *
+ * @param proven true if a forced mate was found
+ * @param mateIn length of the mate in the attacker's moves, 0 if unproven
+ * @param line one mating line, attacker's move first, empty if unproven
+ * @param nodes positions visited
+ */
+public record MateResult(boolean proven, int mateIn, List<ChessMove> line, long nodes) {
+
+    @Override
+    public String toString() {
+        if (!proven) {
+            return "unproven";
+        }
+        StringBuilder out = new StringBuilder("mate in ").append(mateIn).append(':');
+        for (ChessMove move : line) {
+            MoveNotation.appendUci(out.append(' '), move);
+        }
+        return out.toString();
+    }
+}
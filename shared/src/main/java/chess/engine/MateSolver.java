@@ -0,0 +1,224 @@
+package chess.engine;
+
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.InvalidMoveException;
+import chess.Zobrist;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Proves forced mates with depth-first proof-number search (df-pn).
+ * <p>
+ * The side to move is the attacker. A position is proven when every defence
+ * loses to mate within the move limit, and disproven when one defence
+ * survives it. Proof and disproof numbers are kept in a fixed size table, so
+ * the memory cap is fixed when the solver is built; entries that are pushed
+ * out are simply searched again. The remaining ply count is mixed into each
+ * table key, which keeps the search graph acyclic even though the game keeps
+ * no history of its own.
+ * <p>
+ * Mate in 1 is tried first, then mate in 2 and so on, so the first proof found
+ * is also the shortest. A solver is not thread safe.
+ */
+public class MateSolver {
+    private static final int INF = 100_000_000;
+    private static final int SLOT_BYTES = 16;
+    private static final long DEPTH_KEY = 0x9E3779B97F4A7C15L;
+
+    private final long[] keys;
+    private final int[] phis;
+    private final int[] deltas;
+    private final int mask;
+    private long nodes;
+    private long nodeBudget;
+    private boolean aborted;
+
+    /**
+     * @param memoryBytes most memory the proof table may take; rounded down to
+     *                    a power of two slots, with a floor of 1024 slots
+     */
+    public MateSolver(long memoryBytes) {
+        long slots = Long.highestOneBit(Math.max(1024, Math.min(memoryBytes / SLOT_BYTES, 1 << 28)));
+        keys = new long[(int) slots];
+        phis = new int[(int) slots];
+        deltas = new int[(int) slots];
+        mask = (int) slots - 1;
+    }
+
+    /**
+     * Looks for a forced mate for the side to move
+     *
+     * @param game the position, left untouched
+     * @param maxMateMoves longest mate to look for, in the attacker's moves
+     * @param nodeBudget most positions to visit across every attempt
+     * @return the shortest mate found, or an unproven result if there is none
+     * within the limit or the budget ran out first
+     */
+    public MateResult solve(ChessGame game, int maxMateMoves, long nodeBudget) {
+        this.nodes = 0;
+        this.nodeBudget = nodeBudget;
+        this.aborted = false;
+        for (int mateIn = 1; mateIn <= maxMateMoves; mateIn++) {
+            int plies = 2 * mateIn - 1;
+            long key = key(game, plies);
+            long result = mid(game, key, plies, INF, INF);
+            if (aborted) {
+                break;
+            }
+            if (result >>> 32 == 0) {
+                List<ChessMove> line = line(game, plies);
+                if (line != null) {
+                    return new MateResult(true, mateIn, line, nodes);
+                }
+                break;
+            }
+        }
+        return new MateResult(false, 0, List.of(), nodes);
+    }
+
+    /*
+     * phi and delta are the proof and disproof numbers from the side to move's
+     * point of view: phi is how hard it is to show the side to move gets its
+     * way, delta how hard it is to show it does not. The attacker's way is
+     * mate, the defender's is surviving until the plies run out.
+     *
+     * Returns the node's final phi and delta packed as phi << 32 | delta. Each
+     * call keeps its children's numbers in local arrays, so a small table that
+     * drops entries slows the search down but never makes it lose ground.
+     */
+    private long mid(ChessGame game, long key, int plies, int thPhi, int thDelta) {
+        if (++nodes > nodeBudget) {
+            aborted = true;
+            return pack(1, 1);
+        }
+        boolean attacker = plies % 2 == 1;
+        List<ChessMove> moves = new ArrayList<>(game.legalMoves(null)); // proof nodes stay off the shared cache
+        if (moves.isEmpty()) {
+            boolean defenderWins = !attacker && !game.isInCheck(game.getTeamTurn());
+            return store(key, defenderWins ? 0 : INF, defenderWins ? INF : 0);
+        }
+        if (plies == 0) {
+            return store(key, 0, INF); // the defender is to move, not mated, and out of danger
+        }
+
+        int count = moves.size();
+        ChessGame[] children = new ChessGame[count];
+        long[] childKeys = new long[count];
+        int[] childPhis = new int[count];
+        int[] childDeltas = new int[count];
+        for (int i = 0; i < count; i++) {
+            children[i] = play(game, moves.get(i));
+            childKeys[i] = key(children[i], plies - 1);
+            childPhis[i] = phi(childKeys[i]);
+            childDeltas[i] = delta(childKeys[i]);
+        }
+
+        while (true) {
+            int phi = INF;
+            int delta = 0;
+            int best = -1;
+            int secondDelta = INF;
+            for (int i = 0; i < count; i++) {
+                delta = Math.min(INF, delta + childPhis[i]);
+                if (childDeltas[i] < phi) {
+                    secondDelta = phi;
+                    phi = childDeltas[i];
+                    best = i;
+                } else if (childDeltas[i] < secondDelta) {
+                    secondDelta = childDeltas[i];
+                }
+            }
+            if (phi >= thPhi || delta >= thDelta) {
+                return store(key, phi, delta);
+            }
+            int childThPhi = (int) Math.min(INF, (long) thDelta - delta + childPhis[best]);
+            int childThDelta = Math.min(thPhi, secondDelta == INF ? INF : secondDelta + 1);
+            long child = mid(children[best], childKeys[best], plies - 1, childThPhi, childThDelta);
+            if (aborted) {
+                return pack(phi, delta);
+            }
+            childPhis[best] = (int) (child >>> 32);
+            childDeltas[best] = (int) child;
+        }
+    }
+
+    /**
+     * Walks a proven position, taking a mating move for the attacker and any
+     * defence for the defender. Subtrees whose entries were pushed out of the
+     * table are proven again on the way.
+     */
+    private List<ChessMove> line(ChessGame game, int plies) {
+        List<ChessMove> line = new ArrayList<>(plies);
+        ChessGame position = game;
+        for (int left = plies; left > 0 && !position.legalMoves(null).isEmpty(); left--) {
+            ChessMove next = null;
+            ChessGame nextPosition = null;
+            for (ChessMove move : position.legalMoves(null)) {
+                ChessGame child = play(position, move);
+                long key = key(child, left - 1);
+                long settled = pack(phi(key), delta(key));
+                if ((int) (settled >>> 32) != 0 && (int) settled != 0) {
+                    settled = mid(child, key, left - 1, INF, INF);
+                    if (aborted) {
+                        return null;
+                    }
+                }
+                // after the attacker's move the defender must be lost, after the defender's the attacker must win
+                boolean good = left % 2 == 1 ? (int) settled == 0 : settled >>> 32 == 0;
+                if (good) {
+                    next = move;
+                    nextPosition = child;
+                    break;
+                }
+            }
+            if (next == null) {
+                return null;
+            }
+            line.add(next);
+            position = nextPosition;
+        }
+        return List.copyOf(line);
+    }
+
+    private int phi(long key) {
+        int slot = slot(key);
+        return keys[slot] == key ? phis[slot] : 1;
+    }
+
+    private int delta(long key) {
+        int slot = slot(key);
+        return keys[slot] == key ? deltas[slot] : 1;
+    }
+
+    private long store(long key, int phi, int delta) {
+        int slot = slot(key);
+        keys[slot] = key;
+        phis[slot] = phi;
+        deltas[slot] = delta;
+        return pack(phi, delta);
+    }
+
+    private static long pack(int phi, int delta) {
+        return (long) phi << 32 | delta;
+    }
+
+    private int slot(long key) {
+        return (int) (key ^ key >>> 32) & mask;
+    }
+
+    private static long key(ChessGame game, int plies) {
+        return Zobrist.hash(game) + plies * DEPTH_KEY;
+    }
+
+    private static ChessGame play(ChessGame game, ChessMove move) {
+        ChessGame child = game.clone();
+        try {
+            child.makeMove(move);
+        } catch (InvalidMoveException e) {
+            throw new IllegalStateException("generated an illegal move " + move, e);
+        }
+        return child;
+    }
+}
@@ -0,0 +1,40 @@
+package chess.engine;
+
+import chess.ChessBoard;
+import chess.ChessGame;
+import chess.ChessPiece;
+import chess.ChessPosition;
+
+/**
+ * Plain material count, good enough to drive the search and as a baseline
+ * for the stronger evaluators
+ */
+public class MaterialEvaluator implements Evaluator {
+
+    public int evaluate(ChessGame game) {
+        ChessBoard board = game.getBoard();
+        ChessGame.TeamColor us = game.getTeamTurn();
+        int score = 0;
+        for (int i = 1; i <= 8; i++) {
+            for (int j = 1; j <= 8; j++) {
+                ChessPiece piece = board.getPiece(ChessPosition.of(i, j));
+                if (piece != null) {
+                    int value = pieceValue(piece.getPieceType());
+                    score += piece.getTeamColor() == us ? value : -value;
+                }
+            }
+        }
+        return score;
+    }
+
+    static int pieceValue(ChessPiece.PieceType type) {
+        return switch (type) {
+            case PAWN -> 100;
+            case KNIGHT -> 320;
+            case BISHOP -> 330;
+            case ROOK -> 500;
+            case QUEEN -> 900;
+            case KING -> 0;
+        };
+    }
+}
@@ -0,0 +1,16 @@
+package chess.engine;
+
+import java.util.List;
+
+/**
+ * Outcome of a multi-PV search: the best few root moves, ranked
+ *
+ * @param lines best line first, at most as many as were asked for
+ * @param depth deepest iteration that finished inside the budget
+ * @param nodes positions visited
+ * @param elapsedMillis wall-clock time spent
+ * @param iterations the cost of each finished iteration, shallowest first
+ */
+public record MultiPvResult(List<PvLine> lines, int depth, long nodes, long elapsedMillis,
+                            List<DepthReport> iterations) {
+}
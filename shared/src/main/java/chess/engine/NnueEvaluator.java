@@ -0,0 +1,161 @@
+package chess.engine;
+
+import chess.ChessBoard;
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.ChessPiece;
+import chess.ChessPosition;
+import chess.PackedMove;
+
+/**
+ * Evaluates with an NnueNetwork, keeping the first layer up to date
+ * incrementally as the search plays and takes back moves.
+ * <p>
+ * Each side has an int16 accumulator holding the first layer's sums for the
+ * pieces on the board. A move changes at most three inputs (the piece leaves
+ * a square, a captured piece goes, the piece or its promotion lands), so push
+ * costs at most 3 * 2 * H adds and evaluate 2 * H multiply-adds, whatever the
+ * position. The inner loops are plain passes over short arrays so HotSpot's
+ * auto-vectorizer can turn them into SIMD. EvaluatorBenchmark checks the
+ * per-node cost.
+ * <p>
+ * An evaluator follows one search at a time; share the network, not the evaluator.
+ */
+public class NnueEvaluator implements Evaluator {
+    public static final int MAX_PLY = 128;
+    private static final int CLIP = 255;
+    private static final int OUTPUT_SCALE = 400;
+    private static final int OUTPUT_DIVISOR = CLIP * 64;
+    private static final ChessGame.TeamColor[] PERSPECTIVES = ChessGame.TeamColor.values();
+
+    private final NnueNetwork network;
+    private final int hidden;
+    // [ply][white perspective H values, then black perspective H values]
+    private final short[][] stack;
+    private int ply = -1;
+
+    public NnueEvaluator(NnueNetwork network) {
+        this.network = network;
+        this.hidden = network.hidden;
+        this.stack = new short[MAX_PLY + 1][2 * hidden];
+    }
+
+    @Override
+    public void reset(ChessGame root) {
+        ply = 0;
+        refresh(root.getBoard(), stack[0]);
+    }
+
+    @Override
+    public void push(ChessGame position, ChessMove move) {
+        if (ply < 0) {
+            reset(position);
+        }
+        if (ply == MAX_PLY) {
+            throw new IllegalStateException("NNUE accumulator stack is full at ply " + MAX_PLY);
+        }
+        ChessBoard board = position.getBoard();
+        ChessPiece piece = board.getPiece(move.getStartPosition());
+        ChessPiece captured = board.getPiece(move.getEndPosition());
+        int from = PackedMove.square(move.getStartPosition());
+        int to = PackedMove.square(move.getEndPosition());
+        ChessPiece.PieceType landed = move.getPromotionPiece() == null ? piece.getPieceType() : move.getPromotionPiece();
+
+        short[] previous = stack[ply];
+        short[] next = stack[ply + 1];
+        for (ChessGame.TeamColor perspective : PERSPECTIVES) {
+            int offset = perspective == ChessGame.TeamColor.WHITE ? 0 : hidden;
+            int removed = feature(perspective, piece.getTeamColor(), piece.getPieceType(), from) * hidden;
+            int added = feature(perspective, piece.getTeamColor(), landed, to) * hidden;
+            if (captured == null) {
+                moveInputs(previous, next, offset, removed, added);
+            } else {
+                int taken = feature(perspective, captured.getTeamColor(), captured.getPieceType(), to) * hidden;
+                captureInputs(previous, next, offset, removed, taken, added);
+            }
+        }
+        ply++;
+    }
+
+    // one fused pass per perspective: copy the parent's sums and apply the move's changes together
+    private void moveInputs(short[] previous, short[] next, int offset, int removed, int added) {
+        short[] weights = network.featureWeights;
+        for (int i = 0; i < hidden; i++) {
+            next[offset + i] = (short) (previous[offset + i] - weights[removed + i] + weights[added + i]);
+        }
+    }
+
+    private void captureInputs(short[] previous, short[] next, int offset, int removed, int taken, int added) {
+        short[] weights = network.featureWeights;
+        for (int i = 0; i < hidden; i++) {
+            next[offset + i] = (short) (previous[offset + i] - weights[removed + i] - weights[taken + i]
+                    + weights[added + i]);
+        }
+    }
+
+    @Override
+    public void pop() {
+        ply--;
+    }
+
+    @Override
+    public int evaluate(ChessGame game) {
+        if (ply < 0) {
+            reset(game);
+        }
+        short[] accumulator = stack[ply];
+        boolean whiteToMove = game.getTeamTurn() == ChessGame.TeamColor.WHITE;
+        int us = whiteToMove ? 0 : hidden;
+        int them = whiteToMove ? hidden : 0;
+
+        short[] weights = network.outputWeights;
+        int sum = 0;
+        for (int i = 0; i < hidden; i++) {
+            int value = accumulator[us + i];
+            value = value < 0 ? 0 : Math.min(value, CLIP);
+            sum += value * weights[i];
+        }
+        for (int i = 0; i < hidden; i++) {
+            int value = accumulator[them + i];
+            value = value < 0 ? 0 : Math.min(value, CLIP);
+            sum += value * weights[hidden + i];
+        }
+        return (int) ((sum + (long) network.outputBias) * OUTPUT_SCALE / OUTPUT_DIVISOR);
+    }
+
+    private void refresh(ChessBoard board, short[] accumulator) {
+        System.arraycopy(network.featureBias, 0, accumulator, 0, hidden);
+        System.arraycopy(network.featureBias, 0, accumulator, hidden, hidden);
+        for (int i = 1; i <= 8; i++) {
+            for (int j = 1; j <= 8; j++) {
+                ChessPiece piece = board.getPiece(ChessPosition.of(i, j));
+                if (piece != null) {
+                    add(accumulator, piece.getTeamColor(), piece.getPieceType(), (i - 1) * 8 + j - 1);
+                }
+            }
+        }
+    }
+
+    private void add(short[] accumulator, ChessGame.TeamColor color, ChessPiece.PieceType type, int square) {
+        short[] weights = network.featureWeights;
+        int white = feature(ChessGame.TeamColor.WHITE, color, type, square) * hidden;
+        int black = feature(ChessGame.TeamColor.BLACK, color, type, square) * hidden;
+        for (int i = 0; i < hidden; i++) {
+            accumulator[i] += weights[white + i];
+        }
+        for (int i = 0; i < hidden; i++) {
+            accumulator[hidden + i] += weights[black + i];
+        }
+    }
+
+    /**
+     * Input index as seen by one side: that side's pieces first, and the board
+     * flipped for black so both sides see their own pieces moving up the board
+     */
+    private static int feature(ChessGame.TeamColor perspective, ChessGame.TeamColor color,
+                               ChessPiece.PieceType type, int square) {
+        int relativeSquare = perspective == ChessGame.TeamColor.WHITE ? square : square ^ 56;
+        int side = color == perspective ? 0 : 6;
+        return (side + type.ordinal()) * 64 + relativeSquare;
+    }
+}
@@ -0,0 +1,120 @@
+package chess.engine;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+/**
+ * Weights for a small quantized network: 768 piece-square inputs per side,
+ * one int16 hidden layer per side, clipped ReLU, and one output.
+ * <p>
+ * A network is immutable once loaded and can be shared by any number of
+ * NnueEvaluators. The weight file is little endian:
+ * <pre>
+ * int32   magic "NNUE"
+ * int32   format version (1)
+ * int32   hidden size H
+ * int16   feature weights [768][H]
+ * int16   feature biases [H]
+ * int16   output weights [2H], side to move's half first
+ * int32   output bias
+ * </pre>
+ */
+public final class NnueNetwork {
+    public static final int FEATURES = 768;
+    private static final int MAGIC = 0x45554E4E;
+    private static final int VERSION = 1;
+
+    final int hidden;
+    final short[] featureWeights;
+    final short[] featureBias;
+    final short[] outputWeights;
+    final int outputBias;
+
+    NnueNetwork(int hidden, short[] featureWeights, short[] featureBias, short[] outputWeights, int outputBias) {
+        this.hidden = hidden;
+        this.featureWeights = featureWeights;
+        this.featureBias = featureBias;
+        this.outputWeights = outputWeights;
+        this.outputBias = outputBias;
+    }
+
+    public int getHiddenSize() {
+        return hidden;
+    }
+
+    /**
+     * Reads a network from a weight file
+     *
+     * @throws IOException if the file cannot be read or is not a version 1 network
+     */
+    public static NnueNetwork load(Path file) throws IOException {
+        // plain read: the weights end up in heap arrays for the evaluator's inner loops anyway
+        long size = Files.size(file);
+        if (size < 12 || size > Integer.MAX_VALUE) {
+            throw new IOException("Not a version " + VERSION + " NNUE file: " + file);
+        }
+        ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.LITTLE_ENDIAN);
+        if (in.getInt() != MAGIC || in.getInt() != VERSION) {
+            throw new IOException("Not a version " + VERSION + " NNUE file: " + file);
+        }
+        int hidden = in.getInt();
+        long expected = 12L + 2L * (FEATURES * (long) hidden + hidden + 2L * hidden) + 4;
+        if (hidden <= 0 || in.capacity() != expected) {
+            throw new IOException("NNUE file has the wrong size for hidden size " + hidden);
+        }
+        short[] featureWeights = new short[FEATURES * hidden];
+        short[] featureBias = new short[hidden];
+        short[] outputWeights = new short[2 * hidden];
+        in.asShortBuffer().get(featureWeights);
+        in.position(in.position() + 2 * featureWeights.length);
+        in.asShortBuffer().get(featureBias);
+        in.position(in.position() + 2 * featureBias.length);
+        in.asShortBuffer().get(outputWeights);
+        in.position(in.position() + 2 * outputWeights.length);
+        return new NnueNetwork(hidden, featureWeights, featureBias, outputWeights, in.getInt());
+    }
+
+    public void save(Path file) throws IOException {
+        try (OutputStream out = Files.newOutputStream(file)) {
+            ByteBuffer buffer = ByteBuffer.allocate(12 + 2 * (featureWeights.length + featureBias.length
+                    + outputWeights.length) + 4).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(hidden);
+            for (short weight : featureWeights) {
+                buffer.putShort(weight);
+            }
+            for (short bias : featureBias) {
+                buffer.putShort(bias);
+            }
+            for (short weight : outputWeights) {
+                buffer.putShort(weight);
+            }
+            buffer.putInt(outputBias);
+            out.write(buffer.array());
+        }
+    }
+
+    /**
+     * A network with small random weights, for tests and benchmarks
+     */
+    public static NnueNetwork random(int hidden, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        short[] featureWeights = new short[FEATURES * hidden];
+        short[] featureBias = new short[hidden];
+        short[] outputWeights = new short[2 * hidden];
+        for (int i = 0; i < featureWeights.length; i++) {
+            featureWeights[i] = (short) random.nextInt(-32, 33);
+        }
+        for (int i = 0; i < hidden; i++) {
+            featureBias[i] = (short) random.nextInt(0, 128);
+        }
+        for (int i = 0; i < outputWeights.length; i++) {
+            outputWeights[i] = (short) random.nextInt(-64, 65);
+        }
+        return new NnueNetwork(hidden, featureWeights, featureBias, outputWeights, 0);
+    }
+}
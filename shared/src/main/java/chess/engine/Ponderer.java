@@ -0,0 +1,130 @@
+package chess.engine;
+
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.InvalidMoveException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Thinks on the opponent's time.
+ * <p>
+ * After the engine moves, {@link #start} guesses the opponent's reply (usually
+ * the second move of the engine's principal variation) and searches the
+ * position after it in the background. When the real reply arrives,
+ * {@link #onOpponentMove} stops that search. If the guess was right the
+ * finished iterations are handed back as an instant answer; if not they are
+ * thrown away and the caller searches the real position as usual.
+ */
+public class Ponderer {
+    private final Executor executor;
+    private final Supplier<Evaluator> evaluators;
+    private final int maxDepth;
+    private final long nodeBudget;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    private SearchLimits limits;
+    private CompletableFuture<SearchResult> pending;
+    private ChessMove predicted;
+
+    /**
+     * @param executor runs the background searches, one at a time
+     * @param evaluators makes a fresh evaluator for each ponder search
+     * @param maxDepth deepest iteration to ponder to
+     * @param nodeBudget maximum nodes to ponder for
+     */
+    public Ponderer(Executor executor, Supplier<Evaluator> evaluators, int maxDepth, long nodeBudget) {
+        this.executor = executor;
+        this.evaluators = evaluators;
+        this.maxDepth = maxDepth;
+        this.nodeBudget = nodeBudget;
+    }
+
+    /**
+     * Starts pondering, stopping any earlier ponder search first
+     *
+     * @param position the position with the opponent to move, left untouched
+     * @param predictedReply the move the opponent is expected to play
+     * @return false if the predicted reply is not legal there, so nothing was started
+     */
+    public synchronized boolean start(ChessGame position, ChessMove predictedReply) {
+        cancel();
+        if (predictedReply == null) {
+            return false;
+        }
+        ChessGame after = position.clone();
+        try {
+            after.makeMove(predictedReply);
+        } catch (InvalidMoveException e) {
+            return false;
+        }
+        Search ponderSearch = new Search(evaluators.get());
+        SearchLimits ponderLimits = new SearchLimits(maxDepth, nodeBudget, SearchLimits.NO_TIME_LIMIT,
+                SearchLimits.NO_TIME_LIMIT);
+        limits = ponderLimits;
+        predicted = predictedReply;
+        pending = CompletableFuture.supplyAsync(() -> ponderSearch.search(after, ponderLimits), executor);
+        return true;
+    }
+
+    /**
+     * Stops pondering because the opponent has moved. The ponder search is
+     * stopped at once and waited for, which takes no longer than one node.
+     *
+     * @param actual the move the opponent played
+     * @return the pondered result if actual was the predicted move and at least
+     * one iteration finished, otherwise null
+     */
+    public synchronized SearchResult onOpponentMove(ChessMove actual) {
+        if (pending == null) {
+            return null;
+        }
+        boolean hit = predicted.equals(actual);
+        limits.stop();
+        SearchResult result;
+        try {
+            result = pending.join();
+        } catch (CompletionException e) {
+            result = null;
+        }
+        limits = null;
+        pending = null;
+        predicted = null;
+
+        if (!hit) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return result != null && result.depth() > 0 ? result : null;
+    }
+
+    /**
+     * Stops pondering without waiting for the search to exit
+     */
+    public synchronized void cancel() {
+        if (limits != null) {
+            limits.stop();
+        }
+        limits = null;
+        pending = null;
+        predicted = null;
+    }
+
+    public synchronized boolean isPondering() {
+        return pending != null;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+}
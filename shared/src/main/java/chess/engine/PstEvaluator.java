@@ -0,0 +1,105 @@
+package chess.engine;
+
+import chess.ChessBoard;
+import chess.ChessGame;
+import chess.ChessPiece;
+import chess.ChessPosition;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Material plus piece-square tables, a linear evaluation whose weights can be
+ * tuned by TexelTuner.
+ * <p>
+ * Weights 0-5 are piece values by type ordinal; then come one 64 square table
+ * per type, from white's side of the board, so black pieces read their square
+ * mirrored top to bottom. The default weights are MaterialEvaluator's values
+ * with empty tables. Weight files are plain text: a "pst" header and the
+ * weights, whitespace separated.
+ */
+public class PstEvaluator implements Evaluator {
+    public static final int WEIGHTS = 6 + 6 * 64;
+    private static final ChessPiece.PieceType[] TYPES = ChessPiece.PieceType.values();
+
+    private final int[] weights;
+
+    public PstEvaluator() {
+        this(defaultWeights());
+    }
+
+    public PstEvaluator(int[] weights) {
+        if (weights.length != WEIGHTS) {
+            throw new IllegalArgumentException("Expected " + WEIGHTS + " weights, got " + weights.length);
+        }
+        this.weights = weights.clone();
+    }
+
+    public static int[] defaultWeights() {
+        int[] weights = new int[WEIGHTS];
+        for (ChessPiece.PieceType type : TYPES) {
+            weights[type.ordinal()] = MaterialEvaluator.pieceValue(type);
+        }
+        return weights;
+    }
+
+    public int[] getWeights() {
+        return weights.clone();
+    }
+
+    public int evaluate(ChessGame game) {
+        ChessBoard board = game.getBoard();
+        int white = 0;
+        for (int i = 1; i <= 8; i++) {
+            for (int j = 1; j <= 8; j++) {
+                ChessPiece piece = board.getPiece(ChessPosition.of(i, j));
+                if (piece == null) {
+                    continue;
+                }
+                int type = piece.getPieceType().ordinal();
+                boolean isWhite = piece.getTeamColor() == ChessGame.TeamColor.WHITE;
+                int value = weights[type] + weights[tableIndex(type, isWhite, (i - 1) * 8 + j - 1)];
+                white += isWhite ? value : -value;
+            }
+        }
+        return game.getTeamTurn() == ChessGame.TeamColor.WHITE ? white : -white;
+    }
+
+    static int tableIndex(int type, boolean white, int square) {
+        return 6 + type * 64 + (white ? square : square ^ 56);
+    }
+
+    public void save(Path file) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write("pst");
+            out.newLine();
+            for (int table = 0; table < 7; table++) {
+                int from = table == 0 ? 0 : 6 + (table - 1) * 64;
+                int to = table == 0 ? 6 : from + 64;
+                for (int i = from; i < to; i++) {
+                    out.write(Integer.toString(weights[i]));
+                    out.write((i - from) % 8 == 7 || i == to - 1 ? "\n" : " ");
+                }
+            }
+        }
+    }
+
+    /**
+     * @throws IOException if the file cannot be read or is not a weight file
+     */
+    public static PstEvaluator load(Path file) throws IOException {
+        String[] tokens = Files.readString(file, StandardCharsets.UTF_8).trim().split("\\s+");
+        if (tokens.length != WEIGHTS + 1 || !tokens[0].equals("pst")) {
+            throw new IOException("Not a piece-square weight file: " + file);
+        }
+        try {
+            return new PstEvaluator(Arrays.stream(tokens, 1, tokens.length).mapToInt(Integer::parseInt).toArray());
+        } catch (NumberFormatException e) {
+            throw new IOException("Bad weight in " + file, e);
+        }
+    }
+}
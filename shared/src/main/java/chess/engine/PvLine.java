@@ -0,0 +1,18 @@
+package chess.engine;
+
+import chess.ChessMove;
+
+import java.util.List;
+
+/**
+ * One ranked line from a multi-PV search
+ *
+ * @param score centipawn score from the point of view of the side to move
+ * @param moves the expected line of play, starting with the candidate move
+ */
+public record PvLine(int score, List<ChessMove> moves) {
+
+    public ChessMove move() {
+        return moves.get(0);
+    }
+}
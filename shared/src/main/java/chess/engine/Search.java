@@ -0,0 +1,278 @@
+package chess.engine;
+
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.InvalidMoveException;
+import chess.PackedMove;
+import chess.Zobrist;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Iterative deepening alpha-beta search over a ChessGame.
+ * <p>
+ * A search stops when it runs out of depth, nodes or time. The result of the
+ * last iteration that finished is returned, so a budget that runs out mid
+ * iteration never produces a half searched move.
+ * <p>
+ * Results are kept in a transposition table that lives as long as the Search,
+ * so each iteration, and each later search, starts from what the earlier ones
+ * learned. {@link #searchMultiPv} ranks several root moves in the same pass:
+ * only moves that could still make the top N are searched with an open window.
+ * <p>
+ * Limits come in as a {@link SearchLimits}; stopping them from another thread
+ * ends the search within a node, so the searching thread gives up the CPU
+ * almost at once.
+ */
+public class Search {
+    public static final int MATE = 100000;
+    static final int MAX_PLY = 64;
+    private static final int MATE_BOUND = MATE - 1000;
+    private static final int DEFAULT_TABLE_BITS = 16;
+
+    private final Evaluator evaluator;
+    private final TranspositionTable table;
+    private long nodes;
+    private SearchLimits limits;
+    private boolean aborted;
+    private final ChessMove[][] pv = new ChessMove[MAX_PLY + 1][MAX_PLY + 1];
+    private final int[] pvLength = new int[MAX_PLY + 1];
+
+    public Search(Evaluator evaluator) {
+        this(evaluator, new TranspositionTable(DEFAULT_TABLE_BITS));
+    }
+
+    /**
+     * @param table transposition table to read and fill, not safe to share between threads
+     */
+    public Search(Evaluator evaluator, TranspositionTable table) {
+        this.evaluator = evaluator;
+        this.table = table;
+    }
+
+    /**
+     * Searches a position
+     *
+     * @param game the position to search, left untouched
+     * @param maxDepth deepest iteration to run
+     * @param nodeBudget maximum positions to visit
+     * @param timeBudgetMillis maximum wall-clock time to spend
+     * @return the best move found within the budget
+     */
+    public SearchResult search(ChessGame game, int maxDepth, long nodeBudget, long timeBudgetMillis) {
+        return search(game, SearchLimits.of(maxDepth, nodeBudget, timeBudgetMillis));
+    }
+
+    /**
+     * Searches a position
+     *
+     * @param game the position to search, left untouched
+     * @param limits when to stop
+     * @return the best move found within the limits
+     */
+    public SearchResult search(ChessGame game, SearchLimits limits) {
+        MultiPvResult result = searchMultiPv(game, 1, limits);
+        if (result.lines().isEmpty()) {
+            int score = game.isInCheck(game.getTeamTurn()) ? -MATE : 0;
+            return new SearchResult(null, score, 0, 0, result.elapsedMillis(), List.of());
+        }
+        PvLine best = result.lines().get(0);
+        return new SearchResult(best.move(), best.score(), result.depth(), result.nodes(), result.elapsedMillis(),
+                best.moves());
+    }
+
+    /**
+     * Searches a position for its best few moves
+     *
+     * @param game the position to search, left untouched
+     * @param lineCount how many root moves to rank
+     * @param maxDepth deepest iteration to run
+     * @param nodeBudget maximum positions to visit
+     * @param timeBudgetMillis maximum wall-clock time to spend
+     * @return up to lineCount lines, best first, with exact scores
+     */
+    public MultiPvResult searchMultiPv(ChessGame game, int lineCount, int maxDepth, long nodeBudget,
+                                       long timeBudgetMillis) {
+        return searchMultiPv(game, lineCount, SearchLimits.of(maxDepth, nodeBudget, timeBudgetMillis));
+    }
+
+    /**
+     * Searches a position for its best few moves
+     *
+     * @param game the position to search, left untouched
+     * @param lineCount how many root moves to rank
+     * @param limits when to stop
+     * @return up to lineCount lines, best first, with exact scores
+     */
+    public MultiPvResult searchMultiPv(ChessGame game, int lineCount, SearchLimits limits) {
+        if (lineCount < 1) {
+            throw new IllegalArgumentException("lineCount must be at least 1");
+        }
+        long start = System.currentTimeMillis();
+        this.nodes = 0;
+        this.limits = limits;
+        this.aborted = false;
+        evaluator.reset(game);
+
+        List<ChessMove> rootMoves = new ArrayList<>(game.legalMoves());
+        if (rootMoves.isEmpty()) {
+            return new MultiPvResult(List.of(), 0, 0, System.currentTimeMillis() - start, List.of());
+        }
+        lineCount = Math.min(lineCount, rootMoves.size());
+
+        List<PvLine> lines = new ArrayList<>(lineCount);
+        for (ChessMove move : rootMoves.subList(0, lineCount)) {
+            lines.add(new PvLine(0, List.of(move)));
+        }
+        List<DepthReport> iterations = new ArrayList<>();
+        int completedDepth = 0;
+        int maxDepth = Math.min(limits.maxDepth, MAX_PLY);
+        for (int depth = 1; depth <= maxDepth; depth++) {
+            long iterationStart = System.currentTimeMillis();
+            long iterationNodes = nodes;
+            List<PvLine> ranked = new ArrayList<>(lineCount + 1);
+            for (ChessMove move : rootMoves) {
+                // a move only needs an exact score if it can still make the top lineCount
+                int alpha = ranked.size() < lineCount ? -MATE - 1 : ranked.get(lineCount - 1).score();
+                evaluator.push(game, move);
+                int score = -negamax(play(game, move), depth - 1, -MATE - 1, -alpha, 1);
+                evaluator.pop();
+                if (aborted) {
+                    break;
+                }
+                if (score > alpha) {
+                    insert(ranked, new PvLine(score, principalLine(move)), lineCount);
+                }
+            }
+            if (aborted) {
+                break;
+            }
+            lines = ranked;
+            completedDepth = depth;
+            iterations.add(new DepthReport(depth, nodes - iterationNodes,
+                    System.currentTimeMillis() - iterationStart));
+            // search the previous best lines first so the next iteration cuts off sooner
+            for (int i = lines.size() - 1; i >= 0; i--) {
+                rootMoves.remove(lines.get(i).move());
+                rootMoves.add(0, lines.get(i).move());
+            }
+            if (limits.pastSoftDeadline()) {
+                break;
+            }
+        }
+        return new MultiPvResult(List.copyOf(lines), completedDepth, nodes, System.currentTimeMillis() - start,
+                List.copyOf(iterations));
+    }
+
+    private static void insert(List<PvLine> ranked, PvLine line, int lineCount) {
+        int at = ranked.size();
+        while (at > 0 && ranked.get(at - 1).score() < line.score()) {
+            at--;
+        }
+        ranked.add(at, line);
+        if (ranked.size() > lineCount) {
+            ranked.remove(lineCount);
+        }
+    }
+
+    private List<ChessMove> principalLine(ChessMove rootMove) {
+        List<ChessMove> line = new ArrayList<>(pvLength[1]);
+        line.add(rootMove);
+        for (int i = 1; i < pvLength[1]; i++) {
+            line.add(pv[1][i]);
+        }
+        return List.copyOf(line);
+    }
+
+    private int negamax(ChessGame game, int depth, int alpha, int beta, int ply) {
+        nodes++;
+        pvLength[ply] = ply;
+        if (limits.stopped || nodes >= limits.nodeCap
+                || ((nodes & 255) == 0 && System.currentTimeMillis() >= limits.hardDeadline)) {
+            aborted = true;
+        }
+        if (aborted) {
+            return 0;
+        }
+        if (depth == 0) {
+            return evaluator.evaluate(game);
+        }
+
+        long key = Zobrist.hash(game);
+        long entry = table.probe(key);
+        int tableMove = 0;
+        if (entry != 0) {
+            tableMove = TranspositionTable.move(entry);
+            if (TranspositionTable.depth(entry) >= depth) {
+                int score = fromTable(TranspositionTable.score(entry), ply);
+                int bound = TranspositionTable.bound(entry);
+                if (bound == TranspositionTable.LOWER && score >= beta) {
+                    return beta;
+                }
+                if (bound == TranspositionTable.UPPER && score <= alpha) {
+                    return alpha;
+                }
+                if (bound == TranspositionTable.EXACT) {
+                    return Math.max(alpha, Math.min(beta, score));
+                }
+            }
+        }
+
+        // search nodes stay off the shared move cache; the transposition table already covers repeats
+        List<ChessMove> moves = new ArrayList<>(game.legalMoves(null));
+        if (moves.isEmpty()) {
+            return game.isInCheck(game.getTeamTurn()) ? -MATE + ply : 0;
+        }
+        if (tableMove != 0) {
+            ChessMove first = PackedMove.unpack(tableMove);
+            if (moves.remove(first)) {
+                moves.add(0, first);
+            }
+        }
+
+        int originalAlpha = alpha;
+        ChessMove bestMove = null;
+        for (ChessMove move : moves) {
+            evaluator.push(game, move);
+            int score = -negamax(play(game, move), depth - 1, -beta, -alpha, ply + 1);
+            evaluator.pop();
+            if (aborted) {
+                return 0;
+            }
+            if (score >= beta) {
+                table.store(key, depth, TranspositionTable.LOWER, toTable(beta, ply), PackedMove.pack(move));
+                return beta;
+            }
+            if (score > alpha) {
+                alpha = score;
+                bestMove = move;
+                pv[ply][ply] = move;
+                System.arraycopy(pv[ply + 1], ply + 1, pv[ply], ply + 1, pvLength[ply + 1] - ply - 1);
+                pvLength[ply] = pvLength[ply + 1];
+            }
+        }
+        table.store(key, depth, alpha > originalAlpha ? TranspositionTable.EXACT : TranspositionTable.UPPER,
+                toTable(alpha, ply), bestMove == null ? tableMove : PackedMove.pack(bestMove));
+        return alpha;
+    }
+
+    // mate scores count plies from the root, the table stores them counted from the node
+    private static int toTable(int score, int ply) {
+        return score >= MATE_BOUND ? score + ply : score <= -MATE_BOUND ? score - ply : score;
+    }
+
+    private static int fromTable(int score, int ply) {
+        return score >= MATE_BOUND ? score - ply : score <= -MATE_BOUND ? score + ply : score;
+    }
+
+    private static ChessGame play(ChessGame game, ChessMove move) {
+        ChessGame child = game.clone();
+        try {
+            child.makeMove(move);
+        } catch (InvalidMoveException e) {
+            throw new IllegalStateException("generated an illegal move " + move, e);
+        }
+        return child;
+    }
+}
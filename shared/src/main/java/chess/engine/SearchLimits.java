@@ -0,0 +1,80 @@
+package chess.engine;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * How far a search may go: a depth, a node cap, a soft and a hard deadline,
+ * and a stop flag any thread may raise.
+ * <p>
+ * The soft deadline is checked between iterations, and once it has passed no
+ * new iteration starts. The hard deadline abandons the iteration in progress;
+ * the search checks it every 256 nodes and checks the node cap and stop flag
+ * at every node. Deadlines count from when the limits are made, so a server
+ * can make them as soon as a request arrives. Stopping is permanent, and one
+ * set of limits may be shared by every search that should end together.
+ */
+public final class SearchLimits {
+    public static final long NO_TIME_LIMIT = TimeUnit.DAYS.toMillis(1);
+
+    final int maxDepth;
+    final long nodeCap;
+    final long softDeadline;
+    final long hardDeadline;
+    volatile boolean stopped;
+
+    /**
+     * @param maxDepth deepest iteration to run
+     * @param nodeCap most positions to visit
+     * @param softMillis time after which no new iteration starts
+     * @param hardMillis time after which the search gives up mid iteration
+     */
+    public SearchLimits(int maxDepth, long nodeCap, long softMillis, long hardMillis) {
+        long now = System.currentTimeMillis();
+        this.maxDepth = maxDepth;
+        this.nodeCap = nodeCap;
+        this.hardDeadline = deadline(now, hardMillis);
+        this.softDeadline = Math.min(deadline(now, softMillis), hardDeadline);
+    }
+
+    /**
+     * Limits with one deadline, after which the search stops at once
+     */
+    public static SearchLimits of(int maxDepth, long nodeCap, long timeMillis) {
+        return new SearchLimits(maxDepth, nodeCap, timeMillis, timeMillis);
+    }
+
+    /**
+     * Limits that only end when stopped
+     */
+    public static SearchLimits infinite() {
+        return new SearchLimits(Search.MAX_PLY, Long.MAX_VALUE, NO_TIME_LIMIT, NO_TIME_LIMIT);
+    }
+
+    /**
+     * Ends every search using these limits; each returns the last iteration it
+     * completed
+     */
+    public void stop() {
+        stopped = true;
+    }
+
+    public boolean isStopped() {
+        return stopped;
+    }
+
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    public long getNodeCap() {
+        return nodeCap;
+    }
+
+    boolean pastSoftDeadline() {
+        return System.currentTimeMillis() >= softDeadline;
+    }
+
+    private static long deadline(long now, long millis) {
+        return millis >= Long.MAX_VALUE - now ? Long.MAX_VALUE : now + Math.max(0, millis);
+    }
+}
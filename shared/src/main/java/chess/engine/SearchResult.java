@@ -0,0 +1,27 @@
+package chess.engine;
+
+import chess.ChessMove;
+
+import java.util.List;
+
+/**
+ * Outcome of a search: the best move found, its score, the deepest fully
+ * searched depth and what it cost
+ *
+ * @param bestMove the best move, or null if the side to move has no moves
+ * @param score centipawn score from the point of view of the side to move
+ * @param depth deepest iteration that finished inside the budget
+ * @param nodes positions visited
+ * @param elapsedMillis wall-clock time spent
+ * @param principalVariation the expected line of play, starting with bestMove
+ */
+public record SearchResult(ChessMove bestMove, int score, int depth, long nodes, long elapsedMillis,
+                           List<ChessMove> principalVariation) {
+
+    /**
+     * @return the reply the search expects to bestMove, or null if it has none
+     */
+    public ChessMove ponderMove() {
+        return principalVariation.size() > 1 ? principalVariation.get(1) : null;
+    }
+}
@@ -0,0 +1,201 @@
+package chess.engine;
+
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Tunes PstEvaluator weights against game results, Texel style.
+ * <p>
+ * Each position's score is squashed to an expected result with
+ * 1 / (1 + 10^(-k * score / 400)), and the tuner lowers the mean squared
+ * gap to the real results. k is fitted once to the starting weights. The
+ * evaluation is linear in its weights, so the gradient is exact and cheap,
+ * and the weights follow it with Adam steps.
+ * <p>
+ * Every pass over the positions is split into shards that run on a
+ * fork-join pool, each shard returning its share of the error and gradient.
+ * <pre>
+ * java chess.engine.TexelTuner games.pgn weights.txt [iterations] [threads]
+ * </pre>
+ */
+public class TexelTuner {
+    private static final int SHARD = 16_384;
+    private static final double LN10_OVER_400 = Math.log(10) / 400;
+
+    private final ForkJoinPool pool;
+
+    public TexelTuner(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    public TexelTuner() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.out.println("usage: TexelTuner games.pgn weights.txt [iterations] [threads]");
+            return;
+        }
+        int iterations = args.length > 2 ? Integer.parseInt(args[2]) : 500;
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+
+        long start = System.nanoTime();
+        TuningSet set;
+        try (Reader in = new FileReader(args[0], StandardCharsets.UTF_8)) {
+            set = TuningSet.fromPgn(in, 8, 1, threads);
+        }
+        System.out.printf("loaded %d positions in %.1f s%n", set.size(), (System.nanoTime() - start) / 1e9);
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            TexelTuner tuner = new TexelTuner(pool);
+            int[] weights = PstEvaluator.defaultWeights();
+            double k = tuner.fitK(set, weights);
+            System.out.printf("k = %.3f, error %.6f%n", k, tuner.error(set, weights, k));
+
+            start = System.nanoTime();
+            int[] tuned = tuner.tune(set, weights, k, iterations, 1.0);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("error %.6f after %d iterations, %.1f ms each%n",
+                    tuner.error(set, tuned, k), iterations, seconds * 1000 / iterations);
+            new PstEvaluator(tuned).save(Path.of(args[1]));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * @return mean squared gap between expected and real results
+     */
+    public double error(TuningSet set, int[] weights, double k) {
+        return pool.invoke(new Shard(set, toDoubles(weights), k, 0, set.size(), false))[0] / set.size();
+    }
+
+    /**
+     * Finds the k that gives the starting weights their lowest error, by
+     * ternary search over a plausible range
+     */
+    public double fitK(TuningSet set, int[] weights) {
+        double low = 0.05;
+        double high = 4;
+        for (int i = 0; i < 40; i++) {
+            double a = low + (high - low) / 3;
+            double b = high - (high - low) / 3;
+            if (error(set, weights, a) < error(set, weights, b)) {
+                high = b;
+            } else {
+                low = a;
+            }
+        }
+        return (low + high) / 2;
+    }
+
+    /**
+     * Runs gradient descent from the given weights
+     *
+     * @param rate Adam step size, in centipawns
+     * @return the tuned weights, rounded
+     */
+    public int[] tune(TuningSet set, int[] start, double k, int iterations, double rate) {
+        double[] weights = toDoubles(start);
+        double[] mean = new double[weights.length];
+        double[] variance = new double[weights.length];
+        double beta1 = 0.9;
+        double beta2 = 0.999;
+        for (int t = 1; t <= iterations; t++) {
+            double[] sums = pool.invoke(new Shard(set, weights, k, 0, set.size(), true));
+            double correction1 = 1 - Math.pow(beta1, t);
+            double correction2 = 1 - Math.pow(beta2, t);
+            for (int w = 0; w < weights.length; w++) {
+                double gradient = sums[w + 1] / set.size();
+                mean[w] = beta1 * mean[w] + (1 - beta1) * gradient;
+                variance[w] = beta2 * variance[w] + (1 - beta2) * gradient * gradient;
+                weights[w] -= rate * (mean[w] / correction1) / (Math.sqrt(variance[w] / correction2) + 1e-12);
+            }
+        }
+        int[] rounded = new int[weights.length];
+        for (int w = 0; w < weights.length; w++) {
+            rounded[w] = (int) Math.round(weights[w]);
+        }
+        return rounded;
+    }
+
+    private static double[] toDoubles(int[] weights) {
+        double[] out = new double[weights.length];
+        for (int i = 0; i < weights.length; i++) {
+            out[i] = weights[i];
+        }
+        return out;
+    }
+
+    /**
+     * One range of positions. Returns the summed squared error in slot 0
+     * and, when asked, the summed gradient of each weight after it.
+     */
+    private static final class Shard extends RecursiveTask<double[]> {
+        private final TuningSet set;
+        private final double[] weights;
+        private final double k;
+        private final int from;
+        private final int to;
+        private final boolean gradient;
+
+        Shard(TuningSet set, double[] weights, double k, int from, int to, boolean gradient) {
+            this.set = set;
+            this.weights = weights;
+            this.k = k;
+            this.from = from;
+            this.to = to;
+            this.gradient = gradient;
+        }
+
+        @Override
+        protected double[] compute() {
+            if (to - from > SHARD) {
+                int mid = (from + to) >>> 1;
+                Shard left = new Shard(set, weights, k, from, mid, gradient);
+                left.fork();
+                double[] right = new Shard(set, weights, k, mid, to, gradient).compute();
+                double[] sums = left.join();
+                for (int i = 0; i < sums.length; i++) {
+                    sums[i] += right[i];
+                }
+                return sums;
+            }
+
+            short[] features = set.features();
+            int[] offsets = set.offsets();
+            float[] results = set.results();
+            double[] sums = new double[gradient ? weights.length + 1 : 1];
+            for (int p = from; p < to; p++) {
+                double score = 0;
+                for (int f = offsets[p]; f < offsets[p + 1]; f++) {
+                    int code = features[f];
+                    score += code > 0 ? weights[code - 1] : -weights[-code - 1];
+                }
+                double expected = 1 / (1 + Math.pow(10, -k * score / 400));
+                double gap = results[p] - expected;
+                sums[0] += gap * gap;
+                if (gradient) {
+                    // d(gap^2)/d(score), then each weight moves the score by +1 or -1
+                    double slope = -2 * gap * expected * (1 - expected) * k * LN10_OVER_400;
+                    for (int f = offsets[p]; f < offsets[p + 1]; f++) {
+                        int code = features[f];
+                        if (code > 0) {
+                            sums[code] += slope;
+                        } else {
+                            sums[-code] -= slope;
+                        }
+                    }
+                }
+            }
+            return sums;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package chess.engine;
+
+/**
+ * Turns a game clock into limits for one move.
+ * <p>
+ * The time left, less a safety margin for lag, is shared out over the moves
+ * expected before the next time control, and most of the increment is spent
+ * as it arrives. That share is the soft deadline. The hard deadline allows an
+ * iteration that is nearly done to run three times over, but never past
+ * half the clock unless this is the last move before the control.
+ */
+public class TimeAllocator {
+    private final long overheadMillis;
+    private final int defaultMovesToGo;
+
+    public TimeAllocator() {
+        this(50, 30);
+    }
+
+    /**
+     * @param overheadMillis time held back on every move for transport and lag
+     * @param defaultMovesToGo moves to plan for when the control does not say
+     */
+    public TimeAllocator(long overheadMillis, int defaultMovesToGo) {
+        this.overheadMillis = overheadMillis;
+        this.defaultMovesToGo = defaultMovesToGo;
+    }
+
+    /**
+     * @param maxDepth deepest iteration to run
+     * @param nodeCap most positions to visit
+     * @param remainingMillis time left on the mover's clock
+     * @param incrementMillis time added to the clock after each move
+     * @param movesToGo moves until the next time control, or 0 if unknown
+     */
+    public SearchLimits allocate(int maxDepth, long nodeCap, long remainingMillis, long incrementMillis,
+                                 int movesToGo) {
+        long usable = Math.max(0, remainingMillis - overheadMillis);
+        int moves = movesToGo > 0 ? movesToGo : defaultMovesToGo;
+        long cap = moves == 1 ? usable : usable / 2;
+        long soft = Math.min(cap, usable / moves + incrementMillis * 3 / 4);
+        long hard = Math.min(cap, soft * 3);
+        return new SearchLimits(maxDepth, nodeCap, soft, hard);
+    }
+}
@@ -0,0 +1,82 @@
+package chess.engine;
+
+import java.util.Arrays;
+
+/**
+ * Fixed size table of earlier search results, keyed by Zobrist hash.
+ * <p>
+ * Each slot is a key plus one packed long, so the table never allocates after
+ * construction. A new entry replaces the old one unless the old one is for the
+ * same position and was searched deeper.
+ * <pre>
+ * bits 0-15   best move, as a PackedMove, 0 if none
+ * bits 16-23  depth searched
+ * bits 24-25  bound: EXACT, LOWER or UPPER
+ * bit  26     set on every stored entry, so 0 means empty
+ * bits 32-63  score
+ * </pre>
+ */
+public class TranspositionTable {
+    static final int EXACT = 0;
+    static final int LOWER = 1;
+    static final int UPPER = 2;
+    private static final long VALID = 1L << 26;
+
+    private final long[] keys;
+    private final long[] entries;
+    private final int mask;
+
+    /**
+     * @param sizeBits log2 of the number of slots
+     */
+    public TranspositionTable(int sizeBits) {
+        if (sizeBits < 1 || sizeBits > 28) {
+            throw new IllegalArgumentException("sizeBits must be between 1 and 28");
+        }
+        keys = new long[1 << sizeBits];
+        entries = new long[1 << sizeBits];
+        mask = (1 << sizeBits) - 1;
+    }
+
+    /**
+     * @return the entry for key, or 0 if there is none
+     */
+    long probe(long key) {
+        int slot = (int) key & mask;
+        return keys[slot] == key ? entries[slot] : 0;
+    }
+
+    void store(long key, int depth, int bound, int score, int move) {
+        int slot = (int) key & mask;
+        if (keys[slot] == key && entries[slot] != 0 && depth(entries[slot]) > depth) {
+            return;
+        }
+        keys[slot] = key;
+        entries[slot] = (long) score << 32 | VALID | (long) bound << 24 | (long) depth << 16 | move & 0xFFFF;
+    }
+
+    static int move(long entry) {
+        return (int) (entry & 0xFFFF);
+    }
+
+    static int depth(long entry) {
+        return (int) (entry >>> 16) & 0xFF;
+    }
+
+    static int bound(long entry) {
+        return (int) (entry >>> 24) & 3;
+    }
+
+    static int score(long entry) {
+        return (int) (entry >> 32);
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0);
+        Arrays.fill(entries, 0);
+    }
+
+    public int capacity() {
+        return keys.length;
+    }
+}
@@ -0,0 +1,136 @@
+package chess.engine;
+
+import chess.ChessGame;
+import chess.ChessPiece;
+import chess.ChessPosition;
+import chess.InvalidMoveException;
+import chess.pgn.PgnException;
+import chess.pgn.PgnGame;
+import chess.pgn.PgnImporter;
+import chess.pgn.PgnReader;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * Labelled positions for TexelTuner, packed as PstEvaluator features.
+ * <p>
+ * A position is stored as the weights its pieces touch, two per piece, each a
+ * short holding the weight index plus one, negated for black pieces. With
+ * about 30 pieces that is some 120 bytes a position, so a few million fit in
+ * an ordinary heap. Results are from white's side: 1, 0.5 or 0.
+ */
+public class TuningSet {
+    private short[] features = new short[1 << 16];
+    private int[] offsets = new int[1 << 10];
+    private float[] results = new float[1 << 10];
+    private int size;
+
+    /**
+     * Adds a position
+     *
+     * @param result the game's result from white's side: 1, 0.5 or 0
+     */
+    public void add(ChessGame game, float result) {
+        short[] packed = new short[64];
+        int count = 0;
+        for (int i = 1; i <= 8; i++) {
+            for (int j = 1; j <= 8; j++) {
+                ChessPiece piece = game.getBoard().getPiece(ChessPosition.of(i, j));
+                if (piece == null) {
+                    continue;
+                }
+                int type = piece.getPieceType().ordinal();
+                boolean white = piece.getTeamColor() == ChessGame.TeamColor.WHITE;
+                int sign = white ? 1 : -1;
+                packed[count++] = (short) (sign * (type + 1));
+                packed[count++] = (short) (sign * (PstEvaluator.tableIndex(type, white, (i - 1) * 8 + j - 1) + 1));
+            }
+        }
+        addPacked(packed, count, result);
+    }
+
+    private synchronized void addPacked(short[] packed, int count, float result) {
+        int start = offsets[size];
+        if (start + count > features.length) {
+            features = Arrays.copyOf(features, Math.max(features.length * 2, start + count));
+        }
+        if (size + 2 > offsets.length) {
+            offsets = Arrays.copyOf(offsets, offsets.length * 2);
+            results = Arrays.copyOf(results, results.length * 2);
+        }
+        System.arraycopy(packed, 0, features, start, count);
+        results[size] = result;
+        offsets[++size] = start + count;
+    }
+
+    /**
+     * Loads positions from decided games in a PGN file, parsing on every core
+     *
+     * @param skipPlies opening plies to leave out of each game
+     * @param everyNth keep one position in this many after the opening
+     */
+    public static TuningSet fromPgn(Reader in, int skipPlies, int everyNth) throws IOException {
+        return fromPgn(in, skipPlies, everyNth, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Loads positions from decided games in a PGN file
+     *
+     * @param skipPlies opening plies to leave out of each game
+     * @param everyNth keep one position in this many after the opening
+     * @param threads parsing threads, 1 to parse on the calling thread
+     */
+    public static TuningSet fromPgn(Reader in, int skipPlies, int everyNth, int threads) throws IOException {
+        TuningSet set = new TuningSet();
+        new PgnImporter(threads).importAll(in, game -> set.addGame(game, skipPlies, everyNth));
+        return set;
+    }
+
+    void addGame(PgnGame pgn, int skipPlies, int everyNth) {
+        float result = switch (pgn.result()) {
+            case "1-0" -> 1f;
+            case "0-1" -> 0f;
+            case "1/2-1/2" -> 0.5f;
+            default -> -1f;
+        };
+        if (result < 0) {
+            return;
+        }
+        ChessGame game;
+        try {
+            game = PgnReader.startingPosition(pgn.tags());
+        } catch (PgnException e) {
+            return; // PgnImporter only hands over games that replay, so this is never reached
+        }
+        int ply = 0;
+        for (var move : pgn.moves()) {
+            try {
+                game.makeMove(move);
+            } catch (InvalidMoveException e) {
+                return; // likewise
+            }
+            ply++;
+            if (ply >= skipPlies && (ply - skipPlies) % everyNth == 0) {
+                add(game, result);
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    short[] features() {
+        return features;
+    }
+
+    int[] offsets() {
+        return offsets;
+    }
+
+    float[] results() {
+        return results;
+    }
+}
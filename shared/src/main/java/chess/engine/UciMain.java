@@ -0,0 +1,424 @@
+package chess.engine;
+
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.Fen;
+import chess.InvalidMoveException;
+import chess.MoveNotation;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Speaks the Universal Chess Interface over stdin and stdout, so GUIs and
+ * tournament managers can drive the search.
+ * <pre>
+ * java chess.engine.UciMain            talk UCI
+ * java chess.engine.UciMain bench [d]  run the bench and exit
+ * </pre>
+ * Searches run on a background thread so "stop" is heard while thinking.
+ * "quit" stops the current search; end of input lets it finish first, so a
+ * piped script still gets its bestmove.
+ * <p>
+ * "go ponder" searches with no time limit and holds back its bestmove. On
+ * "ponderhit" the clock starts: the search gets the time the go command's
+ * clock would have given it, counted from the ponderhit. "stop" ends a ponder
+ * search straight away.
+ * <p>
+ * "bench [depth]" searches a fixed set of positions to a fixed depth with a
+ * fresh hash table and prints the total node count and nodes per second. The
+ * node count only changes when the search does, so it doubles as a signature
+ * of the search's behaviour.
+ */
+public class UciMain {
+    static final String[] BENCH_POSITIONS = {
+            Fen.START,
+            "r1bqkbnr/pppp1ppp/2n5/4p3/4P3/5N2/PPPP1PPP/RNBQKB1R w - - 2 3",
+            "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w - - 0 1",
+            "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+            "4rrk1/pp1n3p/3q2pQ/2p1pb2/2PP4/2P3N1/P2B2PP/4RRK1 b - - 7 19",
+            "6k1/5ppp/8/8/8/8/5PPP/3R2K1 w - - 0 1",
+    };
+    static final int BENCH_DEPTH = 3;
+    private static final int DEFAULT_HASH_MB = 16;
+    private static final int MAX_HASH_MB = 4096;
+
+    private final BufferedReader in;
+    private final PrintStream out;
+    private final ExecutorService searchThread = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "uci-search");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // ends ponder searches once the time they were given after ponderhit runs out
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "uci-timer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final TimeAllocator allocator = new TimeAllocator();
+
+    private ChessGame position = new ChessGame();
+    private TranspositionTable table = new TranspositionTable(hashBits(DEFAULT_HASH_MB));
+    private Supplier<Evaluator> evaluators = MaterialEvaluator::new;
+    private int multiPv = 1;
+    private SearchLimits limits;
+    private Future<?> pending;
+    // while pondering: holds the bestmove back until ponderhit or stop
+    private CountDownLatch ponderHeld;
+    private long ponderMillis;
+
+    public UciMain(BufferedReader in, PrintStream out) {
+        this.in = in;
+        this.out = out;
+    }
+
+    public static void main(String[] args) throws IOException {
+        UciMain uci = new UciMain(new BufferedReader(new InputStreamReader(System.in)), System.out);
+        if (args.length > 0 && args[0].equals("bench")) {
+            uci.handle(String.join(" ", args));
+            uci.finish();
+            return;
+        }
+        uci.run();
+    }
+
+    /**
+     * Reads commands until "quit" or the end of input
+     */
+    public void run() throws IOException {
+        String line;
+        boolean quit = false;
+        while (!quit && (line = in.readLine()) != null) {
+            quit = !handle(line.trim());
+        }
+        if (quit) {
+            stopSearch();
+        }
+        finish();
+    }
+
+    /**
+     * @return false once "quit" is read
+     */
+    boolean handle(String line) {
+        if (line.isEmpty()) {
+            return true;
+        }
+        String[] tokens = line.split("\\s+");
+        switch (tokens[0]) {
+            case "uci" -> {
+                out.println("id name chess240");
+                out.println("id author chess240 contributors");
+                out.println("option name Hash type spin default " + DEFAULT_HASH_MB + " min 1 max " + MAX_HASH_MB);
+                out.println("option name MultiPV type spin default 1 min 1 max 64");
+                out.println("option name EvalFile type string default <empty>");
+                out.println("option name Ponder type check default false");
+                out.println("uciok");
+            }
+            case "isready" -> out.println("readyok");
+            case "setoption" -> setOption(tokens);
+            case "ucinewgame" -> {
+                stopSearch();
+                table.clear();
+                position = new ChessGame();
+            }
+            case "position" -> setPosition(tokens);
+            case "go" -> go(tokens);
+            case "stop" -> stopSearch();
+            case "ponderhit" -> ponderHit();
+            case "bench" -> {
+                try {
+                    bench(tokens.length > 1 ? Integer.parseInt(tokens[1]) : BENCH_DEPTH);
+                } catch (NumberFormatException e) {
+                    out.println("info string bad bench depth: " + e.getMessage());
+                }
+            }
+            case "quit" -> {
+                return false;
+            }
+            default -> out.println("info string unknown command " + tokens[0]);
+        }
+        return true;
+    }
+
+    private void setOption(String[] tokens) {
+        String name = null;
+        StringBuilder value = new StringBuilder();
+        for (int i = 1; i < tokens.length; i++) {
+            if (tokens[i].equals("name") && i + 1 < tokens.length) {
+                name = tokens[++i];
+            } else if (tokens[i].equals("value")) {
+                for (int j = i + 1; j < tokens.length; j++) {
+                    value.append(j > i + 1 ? " " : "").append(tokens[j]);
+                }
+                break;
+            }
+        }
+        if (name == null) {
+            return;
+        }
+        stopSearch();
+        try {
+            switch (name) {
+                case "Hash" -> table = new TranspositionTable(hashBits(Integer.parseInt(value.toString())));
+                case "MultiPV" -> multiPv = Math.max(1, Integer.parseInt(value.toString()));
+                case "Ponder" -> { } // nothing to set, the GUI says when with go ponder
+                case "EvalFile" -> {
+                    if (value.isEmpty() || value.toString().equals("<empty>")) {
+                        evaluators = MaterialEvaluator::new;
+                    } else {
+                        evaluators = loadEvaluators(Path.of(value.toString()));
+                    }
+                }
+                default -> out.println("info string unknown option " + name);
+            }
+        } catch (NumberFormatException | IOException e) {
+            out.println("info string bad value for " + name + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * @return evaluators for a weight file: TexelTuner's piece-square weights
+     * if it has their "pst" header, otherwise an NNUE network
+     */
+    private static Supplier<Evaluator> loadEvaluators(Path file) throws IOException {
+        byte[] header;
+        try (InputStream stream = Files.newInputStream(file)) {
+            header = stream.readNBytes(3);
+        }
+        if (Arrays.equals(header, "pst".getBytes(StandardCharsets.US_ASCII))) {
+            PstEvaluator pst = PstEvaluator.load(file);
+            return () -> pst; // only reads its weights, so searches can share it
+        }
+        NnueNetwork network = NnueNetwork.load(file);
+        return () -> new NnueEvaluator(network);
+    }
+
+    private void setPosition(String[] tokens) {
+        stopSearch();
+        int i = 1;
+        ChessGame next;
+        if (i < tokens.length && tokens[i].equals("startpos")) {
+            next = new ChessGame();
+            i++;
+        } else if (i < tokens.length && tokens[i].equals("fen")) {
+            StringBuilder fen = new StringBuilder();
+            for (i++; i < tokens.length && !tokens[i].equals("moves"); i++) {
+                fen.append(tokens[i]).append(' ');
+            }
+            try {
+                next = Fen.parse(fen.toString());
+            } catch (IllegalArgumentException e) {
+                out.println("info string " + e.getMessage());
+                return;
+            }
+        } else {
+            out.println("info string position needs startpos or fen");
+            return;
+        }
+        if (i < tokens.length && tokens[i].equals("moves")) {
+            for (i++; i < tokens.length; i++) {
+                ChessMove move = MoveNotation.parseUci(tokens[i]);
+                try {
+                    if (move == null) {
+                        throw new InvalidMoveException("not a UCI move");
+                    }
+                    next.makeMove(move);
+                } catch (InvalidMoveException e) {
+                    out.println("info string illegal move " + tokens[i]);
+                    break;
+                }
+            }
+        }
+        position = next;
+    }
+
+    private void go(String[] tokens) {
+        stopSearch();
+        int depth = Search.MAX_PLY;
+        long nodes = Long.MAX_VALUE;
+        long moveTime = -1;
+        long clock = -1;
+        long increment = 0;
+        int movesToGo = 0;
+        boolean white = position.getTeamTurn() == ChessGame.TeamColor.WHITE;
+        try {
+            for (int i = 1; i + 1 < tokens.length; i++) {
+                String value = tokens[i + 1];
+                switch (tokens[i]) {
+                    case "depth" -> depth = Integer.parseInt(value);
+                    case "nodes" -> nodes = Long.parseLong(value);
+                    case "movetime" -> moveTime = Long.parseLong(value);
+                    case "wtime" -> clock = white ? Long.parseLong(value) : clock;
+                    case "btime" -> clock = white ? clock : Long.parseLong(value);
+                    case "winc" -> increment = white ? Long.parseLong(value) : increment;
+                    case "binc" -> increment = white ? increment : Long.parseLong(value);
+                    case "movestogo" -> movesToGo = Integer.parseInt(value);
+                    default -> {
+                        continue;
+                    }
+                }
+                i++;
+            }
+        } catch (NumberFormatException e) {
+            out.println("info string bad value for go: " + e.getMessage());
+            return;
+        }
+        SearchLimits next = moveTime >= 0 ? SearchLimits.of(depth, nodes, moveTime)
+                : clock >= 0 ? allocator.allocate(depth, nodes, clock, increment, movesToGo)
+                : new SearchLimits(depth, nodes, SearchLimits.NO_TIME_LIMIT, SearchLimits.NO_TIME_LIMIT);
+
+        ChessGame root = position.clone();
+        Search search = new Search(evaluators.get(), table);
+        int lines = multiPv;
+        if (!Arrays.asList(tokens).contains("ponder")) {
+            limits = next;
+            pending = searchThread.submit(() -> report(search.searchMultiPv(root, lines, next)));
+            return;
+        }
+
+        // no clock until ponderhit; remember what the clock would have allowed
+        ponderMillis = next.softDeadline == Long.MAX_VALUE ? -1
+                : Math.max(0, next.softDeadline - System.currentTimeMillis());
+        SearchLimits pondering = new SearchLimits(depth, nodes, SearchLimits.NO_TIME_LIMIT,
+                SearchLimits.NO_TIME_LIMIT);
+        CountDownLatch held = new CountDownLatch(1);
+        ponderHeld = held;
+        limits = pondering;
+        pending = searchThread.submit(() -> {
+            MultiPvResult result = search.searchMultiPv(root, lines, pondering);
+            held.await();
+            report(result);
+            return null;
+        });
+    }
+
+    private void ponderHit() {
+        if (ponderHeld == null) {
+            return;
+        }
+        if (ponderMillis >= 0) {
+            timer.schedule(limits::stop, ponderMillis, TimeUnit.MILLISECONDS);
+        }
+        ponderHeld.countDown();
+        ponderHeld = null;
+    }
+
+    private void report(MultiPvResult result) {
+        for (DepthReport iteration : result.iterations()) {
+            out.println("info depth " + iteration.depth() + " nodes " + iteration.nodes()
+                    + " time " + iteration.elapsedMillis());
+        }
+        long nps = result.nodes() * 1000 / Math.max(1, result.elapsedMillis());
+        List<PvLine> lines = result.lines();
+        for (int k = 0; k < lines.size(); k++) {
+            StringBuilder info = new StringBuilder("info depth ").append(result.depth());
+            if (lines.size() > 1) {
+                info.append(" multipv ").append(k + 1);
+            }
+            appendScore(info.append(" score "), lines.get(k).score());
+            info.append(" nodes ").append(result.nodes()).append(" nps ").append(nps)
+                    .append(" time ").append(result.elapsedMillis()).append(" pv");
+            for (ChessMove move : lines.get(k).moves()) {
+                MoveNotation.appendUci(info.append(' '), move);
+            }
+            out.println(info);
+        }
+        if (lines.isEmpty()) {
+            out.println("bestmove 0000");
+            return;
+        }
+        List<ChessMove> best = lines.get(0).moves();
+        StringBuilder bestMove = MoveNotation.appendUci(new StringBuilder("bestmove "), best.get(0));
+        if (best.size() > 1) {
+            MoveNotation.appendUci(bestMove.append(" ponder "), best.get(1));
+        }
+        out.println(bestMove);
+    }
+
+    private static void appendScore(StringBuilder info, int score) {
+        if (Math.abs(score) >= Search.MATE - Search.MAX_PLY) {
+            int plies = Search.MATE - Math.abs(score);
+            int moves = (plies + 1) / 2;
+            info.append("mate ").append(score > 0 ? moves : -moves);
+        } else {
+            info.append("cp ").append(score);
+        }
+    }
+
+    private void bench(int depth) {
+        stopSearch();
+        TranspositionTable benchTable = new TranspositionTable(hashBits(DEFAULT_HASH_MB));
+        long nodes = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < BENCH_POSITIONS.length; i++) {
+            SearchResult result = new Search(evaluators.get(), benchTable)
+                    .search(Fen.parse(BENCH_POSITIONS[i]), depth, Long.MAX_VALUE, SearchLimits.NO_TIME_LIMIT);
+            out.println("Position " + (i + 1) + "/" + BENCH_POSITIONS.length + ": " + result.nodes() + " nodes");
+            nodes += result.nodes();
+        }
+        long millis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        out.println("===========================");
+        out.println("Total time (ms) : " + millis);
+        out.println("Nodes searched  : " + nodes);
+        out.println("Nodes/second    : " + nodes * 1000 / millis);
+    }
+
+    private void stopSearch() {
+        if (limits != null) {
+            limits.stop();
+        }
+        if (ponderHeld != null) {
+            ponderHeld.countDown();
+            ponderHeld = null;
+        }
+        awaitSearch();
+    }
+
+    private void awaitSearch() {
+        if (pending == null) {
+            return;
+        }
+        try {
+            pending.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            out.println("info string search failed: " + e.getCause());
+        }
+        pending = null;
+        limits = null;
+    }
+
+    private void finish() {
+        if (ponderHeld != null) {
+            stopSearch(); // nobody is left to send ponderhit
+        }
+        awaitSearch();
+        searchThread.shutdown();
+        timer.shutdownNow();
+        out.flush();
+    }
+
+    private static int hashBits(int megabytes) {
+        long slots = Math.max(1, Math.min(megabytes, MAX_HASH_MB)) * (1L << 20) / 16;
+        return Math.min(28, 63 - Long.numberOfLeadingZeros(slots));
+    }
+}
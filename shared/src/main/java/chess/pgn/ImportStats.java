@@ -0,0 +1,27 @@
+package chess.pgn;
+
+/**
+ * Totals from a PGN import
+ *
+ * @param games games that replayed cleanly and were taken by the sink
+ * @param plies moves in those games
+ * @param rejected games that were malformed, had an illegal move, or that
+ *                 the parser or sink threw on
+ * @param elapsedNanos wall-clock time for the whole import
+ */
+public record ImportStats(long games, long plies, long rejected, long elapsedNanos) {
+
+    public double gamesPerSecond() {
+        return elapsedNanos == 0 ? 0 : games * 1e9 / elapsedNanos;
+    }
+
+    public double pliesPerSecond() {
+        return elapsedNanos == 0 ? 0 : plies * 1e9 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d games, %d plies, %d rejected in %.2f s (%.0f games/s, %.0f plies/s)",
+                games, plies, rejected, elapsedNanos / 1e9, gamesPerSecond(), pliesPerSecond());
+    }
+}
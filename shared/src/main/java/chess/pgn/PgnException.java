@@ -0,0 +1,11 @@
+package chess.pgn;
+
+/**
+ * Indicates a game in a PGN file could not be read or replayed
+ */
+public class PgnException extends Exception {
+
+    public PgnException(String message) {
+        super(message);
+    }
+}
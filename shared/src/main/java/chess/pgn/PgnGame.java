@@ -0,0 +1,16 @@
+package chess.pgn;
+
+import chess.ChessMove;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One game read from or written to PGN
+ *
+ * @param tags tag pairs in file order, e.g. "White" to "Magnus"
+ * @param moves the main line, already checked against the rules
+ * @param result "1-0", "0-1", "1/2-1/2" or "*"
+ */
+public record PgnGame(Map<String, String> tags, List<ChessMove> moves, String result) {
+}
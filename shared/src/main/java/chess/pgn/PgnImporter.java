@@ -0,0 +1,117 @@
+package chess.pgn;
+
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Loads and validates large PGN files.
+ * <p>
+ * One thread cuts the input into games and the workers parse and replay
+ * them. Only a few games per worker are held at once, so memory stays
+ * bounded. Games reach the sink in whatever order the workers finish them;
+ * the sink must be safe to call from several threads.
+ * <p>
+ * Run it on its own to measure throughput:
+ * <pre>
+ * java chess.pgn.PgnImporter games.pgn [threads]
+ * </pre>
+ */
+public class PgnImporter {
+    private final int threads;
+
+    /**
+     * @param threads worker threads, 1 to parse on the calling thread
+     */
+    public PgnImporter(int threads) {
+        this.threads = threads;
+    }
+
+    public PgnImporter() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param in the PGN text
+     * @param sink receives every game that replays cleanly
+     * @return counts and throughput for the run
+     */
+    public ImportStats importAll(Reader in, Consumer<PgnGame> sink) throws IOException {
+        long start = System.nanoTime();
+        AtomicLong games = new AtomicLong();
+        AtomicLong plies = new AtomicLong();
+        AtomicLong rejected = new AtomicLong();
+
+        try (PgnReader reader = new PgnReader(in)) {
+            if (threads <= 1) {
+                String text;
+                while ((text = reader.nextGameText()) != null) {
+                    accept(text, sink, games, plies, rejected);
+                }
+            } else {
+                splitAcrossWorkers(reader, sink, games, plies, rejected);
+            }
+        }
+        return new ImportStats(games.get(), plies.get(), rejected.get(), System.nanoTime() - start);
+    }
+
+    private void splitAcrossWorkers(PgnReader reader, Consumer<PgnGame> sink,
+                                    AtomicLong games, AtomicLong plies, AtomicLong rejected) throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        Semaphore inFlight = new Semaphore(threads * 4);
+        try {
+            String text;
+            while ((text = reader.nextGameText()) != null) {
+                inFlight.acquireUninterruptibly();
+                String game = text;
+                executor.execute(() -> {
+                    try {
+                        accept(game, sink, games, plies, rejected);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        } finally {
+            executor.shutdown();
+            try {
+                executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                executor.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static void accept(String text, Consumer<PgnGame> sink,
+                               AtomicLong games, AtomicLong plies, AtomicLong rejected) {
+        // a game that blows up anywhere, in the parser or in the sink, is rejected and the import carries on
+        try {
+            PgnGame game = PgnReader.parse(text);
+            sink.accept(game);
+            games.incrementAndGet();
+            plies.addAndGet(game.moves().size());
+        } catch (PgnException | RuntimeException e) {
+            rejected.incrementAndGet();
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.out.println("Usage: PgnImporter <file.pgn> [threads]");
+            return;
+        }
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        try (Reader in = new FileReader(args[0], StandardCharsets.UTF_8)) {
+            ImportStats stats = new PgnImporter(threads).importAll(in, game -> { });
+            System.out.println(threads + " thread(s): " + stats);
+        }
+    }
+}
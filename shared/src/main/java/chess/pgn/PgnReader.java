@@ -0,0 +1,268 @@
+package chess.pgn;
+
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.Fen;
+import chess.InvalidMoveException;
+import chess.MoveNotation;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads PGN one game at a time.
+ * <p>
+ * The input is pulled through a fixed size buffer and only the text of the
+ * game being read is held, so memory stays flat however large the file is.
+ * Every move is replayed through ChessGame.makeMove, so a game that comes
+ * back from next() is known to be legal. Games with a FEN tag are replayed
+ * from that position instead of the standard start.
+ */
+public class PgnReader implements Closeable {
+    private static final int CHUNK_SIZE = 1 << 16;
+
+    private final BufferedReader in;
+    private String pendingLine;
+
+    public PgnReader(Reader in) {
+        this.in = new BufferedReader(in, CHUNK_SIZE);
+    }
+
+    /**
+     * @return the next game, or null at the end of the input
+     * @throws PgnException if the game is malformed or has an illegal move;
+     *                      reading can carry on with the game after it
+     */
+    public PgnGame next() throws IOException, PgnException {
+        String text = nextGameText();
+        return text == null ? null : parse(text);
+    }
+
+    /**
+     * Cuts the next game out of the input without parsing it, so the parsing
+     * can be done on another thread
+     *
+     * @return the raw text of the next game, or null at the end of the input
+     */
+    public String nextGameText() throws IOException {
+        StringBuilder game = new StringBuilder(1024);
+        boolean sawMovetext = false;
+        boolean inComment = false;
+        String line;
+        while ((line = readLine()) != null) {
+            if (inComment) {
+                // blank lines and [ lines inside a {...} comment don't end the game
+                game.append(line).append('\n');
+                inComment = endsInComment(line, true);
+                continue;
+            }
+            String trimmed = line.strip();
+            if (trimmed.isEmpty()) {
+                if (sawMovetext) {
+                    break;
+                }
+                continue;
+            }
+            if (trimmed.charAt(0) == '[' && sawMovetext) {
+                pendingLine = line;
+                break;
+            }
+            if (trimmed.charAt(0) != '[' && trimmed.charAt(0) != '%') {
+                sawMovetext = true;
+                inComment = endsInComment(line, false);
+            }
+            game.append(line).append('\n');
+        }
+        return game.isEmpty() ? null : game.toString();
+    }
+
+    /**
+     * @return whether a {...} comment is still open at the end of the line.
+     * Comments don't nest, and a ; outside one comments out the rest of the line
+     */
+    private static boolean endsInComment(String line, boolean inComment) {
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (inComment) {
+                inComment = c != '}';
+            } else if (c == '{') {
+                inComment = true;
+            } else if (c == ';') {
+                return false;
+            }
+        }
+        return inComment;
+    }
+
+    private String readLine() throws IOException {
+        if (pendingLine != null) {
+            String line = pendingLine;
+            pendingLine = null;
+            return line;
+        }
+        return in.readLine();
+    }
+
+    /**
+     * Parses and replays the text of a single game
+     */
+    public static PgnGame parse(CharSequence text) throws PgnException {
+        Map<String, String> tags = new LinkedHashMap<>();
+        List<ChessMove> moves = new ArrayList<>();
+        ChessGame game = null; // set up once the tags, which come first, have all been read
+        String result = "*";
+
+        int length = text.length();
+        int i = 0;
+        int variationDepth = 0;
+        while (i < length) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '[' && variationDepth == 0) {
+                i = readTag(text, i, tags);
+            } else if (c == '{') {
+                i = skipPast(text, i, '}');
+            } else if (c == ';' || (c == '%' && (i == 0 || text.charAt(i - 1) == '\n'))) {
+                i = skipPast(text, i, '\n');
+            } else if (c == '(') {
+                variationDepth++;
+                i++;
+            } else if (c == ')') {
+                variationDepth--;
+                i++;
+            } else {
+                int end = i;
+                while (end < length && !isDelimiter(text.charAt(end))) {
+                    end++;
+                }
+                if (variationDepth == 0) {
+                    String token = readMoveToken(text, i, end);
+                    if (isResult(token)) {
+                        result = token;
+                    } else if (token != null) {
+                        if (game == null) {
+                            game = startingPosition(tags);
+                        }
+                        moves.add(play(game, token, moves.size() + 1));
+                    }
+                }
+                i = end;
+            }
+        }
+        return new PgnGame(tags, moves, result);
+    }
+
+    /**
+     * @return the position the tags say the game starts from: the FEN tag's
+     * if there is one and SetUp isn't "0", otherwise the standard start
+     * @throws PgnException if the FEN tag can't be read
+     */
+    public static ChessGame startingPosition(Map<String, String> tags) throws PgnException {
+        String fen = tags.get("FEN");
+        if (fen == null || "0".equals(tags.get("SetUp"))) {
+            return new ChessGame();
+        }
+        try {
+            return Fen.parse(fen);
+        } catch (IllegalArgumentException e) {
+            throw new PgnException(e.getMessage());
+        }
+    }
+
+    private static ChessMove play(ChessGame game, String san, int ply) throws PgnException {
+        ChessMove move = MoveNotation.parseSan(san, game);
+        if (move == null) {
+            throw new PgnException("Illegal or unreadable move '" + san + "' at ply " + ply);
+        }
+        try {
+            game.makeMove(move);
+        } catch (InvalidMoveException e) {
+            throw new PgnException("Illegal move '" + san + "' at ply " + ply);
+        }
+        return move;
+    }
+
+    /**
+     * @return the SAN or result in the token with any move number stripped, or
+     * null if the token is only a move number or a NAG
+     */
+    private static String readMoveToken(CharSequence text, int start, int end) {
+        if (text.charAt(start) == '$') {
+            return null;
+        }
+        String token = text.subSequence(start, end).toString();
+        if (isResult(token)) {
+            return token;
+        }
+        int i = 0;
+        while (i < token.length() && Character.isDigit(token.charAt(i))) {
+            i++;
+        }
+        if (i > 0 && i < token.length() && token.charAt(i) == '.') {
+            while (i < token.length() && token.charAt(i) == '.') {
+                i++;
+            }
+            token = token.substring(i);
+        } else if (i == token.length()) {
+            return null;
+        }
+        if (token.startsWith("...")) {
+            token = token.substring(3);
+        }
+        return token.isEmpty() ? null : token;
+    }
+
+    private static int readTag(CharSequence text, int start, Map<String, String> tags) throws PgnException {
+        int i = start + 1;
+        int nameStart = i;
+        while (i < text.length() && !Character.isWhitespace(text.charAt(i)) && text.charAt(i) != '"') {
+            i++;
+        }
+        String name = text.subSequence(nameStart, i).toString();
+        while (i < text.length() && text.charAt(i) != '"') {
+            i++;
+        }
+        if (i >= text.length()) {
+            throw new PgnException("Unterminated tag " + name);
+        }
+        StringBuilder value = new StringBuilder();
+        i++;
+        while (i < text.length() && text.charAt(i) != '"') {
+            if (text.charAt(i) == '\\' && i + 1 < text.length()) {
+                i++;
+            }
+            value.append(text.charAt(i));
+            i++;
+        }
+        tags.put(name, value.toString());
+        return skipPast(text, i, ']');
+    }
+
+    private static int skipPast(CharSequence text, int start, char end) {
+        int i = start;
+        while (i < text.length() && text.charAt(i) != end) {
+            i++;
+        }
+        return i + 1;
+    }
+
+    private static boolean isDelimiter(char c) {
+        return Character.isWhitespace(c) || c == '{' || c == '(' || c == ')' || c == ';';
+    }
+
+    static boolean isResult(String token) {
+        return "1-0".equals(token) || "0-1".equals(token) || "1/2-1/2".equals(token) || "*".equals(token);
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
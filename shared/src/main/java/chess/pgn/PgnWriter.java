@@ -0,0 +1,123 @@
+package chess.pgn;
+
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.InvalidMoveException;
+import chess.MoveNotation;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes games as PGN, one at a time, straight to the underlying writer
+ */
+public class PgnWriter implements Closeable, Flushable {
+    private static final String[] SEVEN_TAG_ROSTER = {"Event", "Site", "Date", "Round", "White", "Black", "Result"};
+    private static final int LINE_WIDTH = 80;
+
+    private final Writer out;
+    private final StringBuilder buffer = new StringBuilder(1024);
+
+    public PgnWriter(Writer out) {
+        this.out = out;
+    }
+
+    public void write(PgnGame game) throws IOException {
+        write(game.tags(), game.moves(), game.result());
+    }
+
+    /**
+     * Writes one game. The seven standard tags are always written, using "?"
+     * for any that are missing.
+     *
+     * @param tags tag pairs to write; a FEN tag sets the starting position and
+     *             the move numbers
+     * @param moves the moves from the starting position
+     * @param result "1-0", "0-1", "1/2-1/2" or "*"
+     * @throws IllegalArgumentException if one of the moves is illegal or the
+     *                                  FEN tag can't be read
+     */
+    public void write(Map<String, String> tags, List<ChessMove> moves, String result) throws IOException {
+        buffer.setLength(0);
+        for (String name : SEVEN_TAG_ROSTER) {
+            String value = "Result".equals(name) ? result : tags.getOrDefault(name, "?");
+            appendTag(name, value);
+        }
+        for (var tag : tags.entrySet()) {
+            if (!isRosterTag(tag.getKey())) {
+                appendTag(tag.getKey(), tag.getValue());
+            }
+        }
+        buffer.append('\n');
+
+        ChessGame game;
+        try {
+            game = PgnReader.startingPosition(tags);
+        } catch (PgnException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+        int lineStart = buffer.length();
+        for (int ply = 0; ply < moves.size(); ply++) {
+            int tokenStart = buffer.length();
+            int turn = game.getTurnCounter();
+            if (turn % 2 == 0) {
+                buffer.append(turn / 2 + 1).append(". ");
+            } else if (ply == 0) {
+                buffer.append(turn / 2 + 1).append("... "); // a set-up position with black to move
+            }
+            ChessMove move = moves.get(ply);
+            MoveNotation.appendSan(buffer, game, move).append(' ');
+            try {
+                game.makeMove(move);
+            } catch (InvalidMoveException e) {
+                throw new IllegalArgumentException("Illegal move at ply " + (ply + 1), e);
+            }
+            lineStart = wrap(lineStart, tokenStart);
+        }
+        buffer.append(result).append("\n\n");
+        out.append(buffer);
+    }
+
+    private int wrap(int lineStart, int tokenStart) {
+        if (buffer.length() - 1 - lineStart <= LINE_WIDTH || tokenStart == lineStart) {
+            return lineStart;
+        }
+        buffer.setCharAt(tokenStart - 1, '\n');
+        return tokenStart;
+    }
+
+    private void appendTag(String name, String value) {
+        buffer.append('[').append(name).append(" \"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                buffer.append('\\');
+            }
+            buffer.append(c);
+        }
+        buffer.append("\"]\n");
+    }
+
+    private static boolean isRosterTag(String name) {
+        for (String rosterTag : SEVEN_TAG_ROSTER) {
+            if (rosterTag.equals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
@@ -16,17 +16,26 @@ public class UserGameCommand {
 
     private final Integer gameID;
 
+    // set on CONNECT by clients that can apply MOVE_APPLIED messages themselves
+    private final Boolean moveUpdates;
+
     public UserGameCommand(CommandType commandType, String authToken, Integer gameID) {
+        this(commandType, authToken, gameID, null);
+    }
+
+    public UserGameCommand(CommandType commandType, String authToken, Integer gameID, Boolean moveUpdates) {
         this.commandType = commandType;
         this.authToken = authToken;
         this.gameID = gameID;
+        this.moveUpdates = moveUpdates;
     }
 
     public enum CommandType {
         CONNECT,
         MAKE_MOVE,
         LEAVE,
-        RESIGN
+        RESIGN,
+        SYNC
     }
 
     public CommandType getCommandType() {
@@ -41,6 +50,14 @@ public class UserGameCommand {
         return gameID;
     }
 
+    /**
+     * @return true if the client asked for MOVE_APPLIED instead of a full
+     * LOAD_GAME after each move
+     */
+    public boolean wantsMoveUpdates() {
+        return Boolean.TRUE.equals(moveUpdates);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -1,10 +1,10 @@
 package websocket.messages;
 
-import com.google.gson.Gson;
+import chess.ChessJson;
 
 public record ErrorMessage(String message) {
     public String toString() {
-        return new Gson().toJson(this);
+        return ChessJson.GSON.toJson(this);
     }
 
     public String getMessage() {
@@ -1,6 +1,6 @@
 package websocket.messages;
 
-import com.google.gson.Gson;
+import chess.ChessJson;
 
 public record Notification(Type type, String message) {
     public enum Type {
@@ -15,7 +15,7 @@ public record Notification(Type type, String message) {
     }
 
     public String toString() {
-        return new Gson().toJson(this);
+        return ChessJson.GSON.toJson(this);
     }
 
     public String getMessage() {
@@ -1,5 +1,8 @@
 package websocket.messages;
 
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.GameSnapshot;
 import model.GameData;
 
 import java.util.Objects;
@@ -15,11 +18,46 @@ public class ServerMessage {
     ServerMessageType serverMessageType;
     Object message;
     Object errorMessage;
+    ChessMove move;
+    Integer version;
+    GameStatus status;
+    Long sequence;
 
     public enum ServerMessageType {
         LOAD_GAME,
         ERROR,
-        NOTIFICATION
+        NOTIFICATION,
+        MOVE_APPLIED
+    }
+
+    /**
+     * Where the game stands for the side to move after a MOVE_APPLIED
+     */
+    public enum GameStatus {
+        IN_PROGRESS,
+        CHECK,
+        CHECKMATE,
+        STALEMATE;
+
+        public static GameStatus of(ChessGame game) {
+            return of(game.snapshot());
+        }
+
+        /**
+         * Works on a private game built from the snapshot, so it never reads
+         * a board someone else may be changing
+         */
+        public static GameStatus of(GameSnapshot snapshot) {
+            ChessGame game = snapshot.toGame();
+            ChessGame.TeamColor toMove = game.getTeamTurn();
+            if (game.isInCheckmate(toMove)) {
+                return CHECKMATE;
+            }
+            if (game.isInStalemate(toMove)) {
+                return STALEMATE;
+            }
+            return game.isInCheck(toMove) ? CHECK : IN_PROGRESS;
+        }
     }
 
     public ServerMessage(ServerMessageType type, GameData game, Object message, Object errorMessage) {
@@ -29,6 +67,28 @@ public class ServerMessage {
         this.errorMessage = errorMessage;
     }
 
+    /**
+     * The whole game, pinned to its snapshot as of now. The message carries
+     * its own game built from the snapshot's rows, so encoding it later, on
+     * any thread, sees this position even if the real game has moved on.
+     */
+    public static ServerMessage loadGame(GameData gameData) {
+        GameData pinned = gameData.game() == null ? gameData : gameData.setGame(gameData.game().snapshot().toGame());
+        return new ServerMessage(ServerMessageType.LOAD_GAME, pinned, null, null);
+    }
+
+    /**
+     * A move the receiver applies to its own copy of the game. The version is
+     * the game's turn counter after the move, so a receiver whose copy is not
+     * exactly one move behind knows it missed something.
+     */
+    public static ServerMessage moveApplied(ChessMove move, int version, GameStatus status) {
+        ServerMessage message = new ServerMessage(ServerMessageType.MOVE_APPLIED, null, null, null);
+        message.move = move;
+        message.version = version;
+        message.status = status;
+        return message;
+    }
 
     public ServerMessageType getServerMessageType() {
         return this.serverMessageType;
@@ -42,6 +102,26 @@ public class ServerMessage {
     public GameData getGame(){
         return this.game;
     }
+    public ChessMove getMove() {
+        return this.move;
+    }
+    public Integer getVersion() {
+        return this.version;
+    }
+    public GameStatus getStatus() {
+        return this.status;
+    }
+
+    /**
+     * @return where this message falls among everything sent about its game,
+     * or null for messages outside any game such as errors
+     */
+    public Long getSequence() {
+        return this.sequence;
+    }
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
 
     @Override
     public boolean equals(Object o) {
@@ -0,0 +1,73 @@
+package chess;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class BitboardAttacksTests {
+
+    static List<ChessGame> randomPositions(int count) throws InvalidMoveException {
+        List<ChessGame> positions = new ArrayList<>(count);
+        Random random = new Random(37);
+        while (positions.size() < count) {
+            ChessGame game = new ChessGame();
+            for (int ply = 0; ply < 80 && positions.size() < count; ply++) {
+                List<ChessMove> legal = new ArrayList<>(game.legalMoves());
+                if (legal.isEmpty()) {
+                    break;
+                }
+                positions.add(game.clone());
+                game.makeMove(legal.get(random.nextInt(legal.size())));
+            }
+        }
+        return positions;
+    }
+
+    @Test
+    @DisplayName("Scalar Kernel Agrees With The Array Walk")
+    public void scalarMatchesGame() throws InvalidMoveException {
+        List<ChessGame> positions = randomPositions(300);
+        AttackBatch batch = new AttackBatch(positions.size());
+        for (ChessGame position : positions) {
+            batch.add(position, ChessGame.TeamColor.BLACK);
+        }
+        long[] attacks = new long[batch.size()];
+        BitboardAttacks.attacks(batch, attacks, 0, batch.size());
+
+        for (int i = 0; i < positions.size(); i++) {
+            for (int square = 0; square < 64; square++) {
+                boolean expected = positions.get(i).isSquareAttacked(square / 8 + 1, square % 8 + 1,
+                        ChessGame.TeamColor.WHITE);
+                Assertions.assertEquals(expected, (attacks[i] >>> square & 1) != 0,
+                        "position " + i + " square " + square);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Kings Attacked Matches isInCheck")
+    public void checksMatch() throws InvalidMoveException {
+        List<ChessGame> positions = randomPositions(500);
+        AttackBatch batch = new AttackBatch(positions.size());
+        positions.forEach(batch::addChecksOn);
+        boolean[] inCheck = new boolean[batch.size()];
+        BitboardAttacks.kingsAttacked(batch, new long[batch.size()], inCheck);
+
+        for (int i = 0; i < positions.size(); i++) {
+            ChessGame position = positions.get(i);
+            Assertions.assertEquals(position.isInCheck(position.getTeamTurn()), inCheck[i]);
+        }
+    }
+
+    @Test
+    @DisplayName("Full Batch Is Rejected")
+    public void fullBatch() {
+        AttackBatch batch = new AttackBatch(1);
+        batch.addChecksOn(new ChessGame());
+        Assertions.assertThrows(IllegalStateException.class, () -> batch.addChecksOn(new ChessGame()));
+    }
+}
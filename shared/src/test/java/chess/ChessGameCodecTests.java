@@ -0,0 +1,33 @@
+package chess;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class ChessGameCodecTests {
+
+    @Test
+    @DisplayName("Encode Then Decode Gives An Equal Game")
+    public void roundTrip() throws InvalidMoveException {
+        ChessGame game = new ChessGame();
+        game.makeMove(MoveNotation.parseUci("e2e4"));
+        game.makeMove(MoveNotation.parseUci("d7d5"));
+        game.makeMove(MoveNotation.parseUci("e4d5"));
+
+        byte[] encoded = ChessGameCodec.encode(game);
+        Assertions.assertEquals(ChessGameCodec.ENCODED_LENGTH, encoded.length);
+        ChessGame decoded = ChessGameCodec.decode(encoded);
+        Assertions.assertEquals(game, decoded);
+        Assertions.assertEquals(ChessGame.TeamColor.BLACK, decoded.getTeamTurn());
+        Assertions.assertEquals(new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.PAWN),
+                decoded.getBoard().getPiece(new ChessPosition(5, 4)));
+    }
+
+    @Test
+    @DisplayName("Rejects Unknown Versions")
+    public void rejectsUnknownVersion() {
+        byte[] encoded = ChessGameCodec.encode(new ChessGame());
+        encoded[0] = 99;
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ChessGameCodec.decode(encoded));
+    }
+}
@@ -0,0 +1,64 @@
+package chess;
+
+import com.google.gson.Gson;
+import model.GameData;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import websocket.commands.MakeMoveCommand;
+import websocket.messages.ServerMessage;
+
+public class ChessJsonTests {
+
+    @Test
+    @DisplayName("Games Round Trip As FEN")
+    public void gameRoundTrip() throws InvalidMoveException {
+        ChessGame game = new ChessGame();
+        game.makeMove(MoveNotation.parseUci("e2e4"));
+        GameData data = new GameData(7, "white", null, "opening", game);
+
+        String json = ChessJson.GSON.toJson(data);
+        Assertions.assertTrue(json.contains("\"rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b - - 0 1\""), json);
+        Assertions.assertEquals(data, ChessJson.GSON.fromJson(json, GameData.class));
+        Assertions.assertTrue(json.length() < new Gson().toJson(data).length() / 4);
+    }
+
+    @Test
+    @DisplayName("Games Saved By Reflection Still Load")
+    public void legacyGame() throws InvalidMoveException {
+        ChessGame game = new ChessGame();
+        game.makeMove(MoveNotation.parseUci("g1f3"));
+        game.makeMove(MoveNotation.parseUci("d7d5"));
+
+        Assertions.assertEquals(game, ChessJson.GSON.fromJson(new Gson().toJson(game), ChessGame.class));
+        Assertions.assertNull(ChessJson.GSON.fromJson("{\"gameID\":1}", GameData.class).game());
+    }
+
+    @Test
+    @DisplayName("Moves Read Either Form And Come Back Shared")
+    public void moves() {
+        ChessMove promotion = MoveNotation.parseUci("e7e8q");
+        MakeMoveCommand command = new MakeMoveCommand("token", 3, promotion);
+
+        String reflected = new Gson().toJson(command);
+        Assertions.assertEquals(reflected, ChessJson.GSON.toJson(command));
+        Assertions.assertSame(promotion, ChessJson.GSON.fromJson(reflected, MakeMoveCommand.class).getMove());
+        Assertions.assertSame(promotion, ChessJson.GSON.fromJson("\"e7e8q\"", ChessMove.class));
+    }
+
+    @Test
+    @DisplayName("Move Updates Carry The Move, Version And Status")
+    public void moveApplied() throws InvalidMoveException {
+        ChessGame game = Fen.parse("6k1/5ppp/8/8/8/8/5PPP/3R2K1 w - - 0 1");
+        ChessMove mate = MoveNotation.parseUci("d1d8");
+        game.makeMove(mate);
+        ServerMessage update = ServerMessage.moveApplied(mate, game.getTurnCounter(),
+                ServerMessage.GameStatus.of(game));
+
+        ServerMessage decoded = ChessJson.GSON.fromJson(ChessJson.GSON.toJson(update), ServerMessage.class);
+        Assertions.assertEquals(ServerMessage.ServerMessageType.MOVE_APPLIED, decoded.getServerMessageType());
+        Assertions.assertSame(mate, decoded.getMove());
+        Assertions.assertEquals(1, decoded.getVersion());
+        Assertions.assertEquals(ServerMessage.GameStatus.CHECKMATE, decoded.getStatus());
+    }
+}
@@ -0,0 +1,36 @@
+package chess;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class FenTests {
+
+    @Test
+    @DisplayName("Start Position")
+    public void startPosition() {
+        Assertions.assertEquals(new ChessGame(), Fen.parse(Fen.START));
+        Assertions.assertEquals(Fen.START, Fen.toFen(new ChessGame()));
+    }
+
+    @Test
+    @DisplayName("Round Trip After Moves")
+    public void roundTrip() throws InvalidMoveException {
+        ChessGame game = new ChessGame();
+        game.makeMove(MoveNotation.parseUci("e2e4"));
+        game.makeMove(MoveNotation.parseUci("c7c5"));
+        game.makeMove(MoveNotation.parseUci("g1f3"));
+        String fen = Fen.toFen(game);
+        Assertions.assertEquals("rnbqkbnr/pp1ppppp/8/2p5/4P3/5N2/PPPP1PPP/RNBQKB1R b - - 0 2", fen);
+        Assertions.assertEquals(game, Fen.parse(fen));
+    }
+
+    @Test
+    @DisplayName("Malformed FEN Is Rejected")
+    public void malformed() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Fen.parse("8/8/8 w"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Fen.parse("9/8/8/8/8/8/8/8 w"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Fen.parse(Fen.START.replace(" w ", " x ")));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Fen.parse("rnbqkbnr/ppppxppp/8/8/8/8/PPPPPPPP/RNBQKBNR w"));
+    }
+}
@@ -0,0 +1,90 @@
+package chess;
+
+import model.GameData;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import websocket.messages.ServerMessage;
+
+public class GameSnapshotTests {
+
+    @Test
+    @DisplayName("Snapshot Does Not Change When The Game Moves On")
+    public void snapshotIsImmutable() throws InvalidMoveException {
+        ChessGame game = new ChessGame();
+        GameSnapshot before = game.snapshot();
+        game.makeMove(MoveNotation.parseUci("e2e4"));
+        GameSnapshot after = game.snapshot();
+
+        Assertions.assertNotNull(before.getPiece(new ChessPosition(2, 5)));
+        Assertions.assertNull(before.getPiece(new ChessPosition(4, 5)));
+        Assertions.assertEquals(ChessGame.TeamColor.WHITE, before.getTeamTurn());
+        Assertions.assertEquals(ChessGame.TeamColor.BLACK, after.getTeamTurn());
+        Assertions.assertEquals(game, after.toGame());
+    }
+
+    @Test
+    @DisplayName("Untouched Rows Are Shared Between Snapshots")
+    public void structuralSharing() throws InvalidMoveException {
+        ChessGame game = new ChessGame();
+        GameSnapshot before = game.snapshot();
+        game.makeMove(MoveNotation.parseUci("g1f3"));
+        GameSnapshot after = game.snapshot();
+
+        Assertions.assertFalse(after.sharesRow(before, 1));
+        Assertions.assertFalse(after.sharesRow(before, 3));
+        for (int row : new int[]{2, 4, 5, 6, 7, 8}) {
+            Assertions.assertTrue(after.sharesRow(before, row));
+        }
+    }
+
+    @Test
+    @DisplayName("Changing The Board Directly Refreshes The Snapshot")
+    public void directEditsRefresh() {
+        ChessGame game = new ChessGame();
+        game.snapshot();
+        game.getBoard().addPiece(new ChessPosition(4, 4),
+                new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.QUEEN));
+        game.setTeamTurn(ChessGame.TeamColor.BLACK);
+
+        Assertions.assertEquals(ChessPiece.PieceType.QUEEN,
+                game.snapshot().getPiece(new ChessPosition(4, 4)).getPieceType());
+        Assertions.assertEquals(ChessGame.TeamColor.BLACK, game.snapshot().getTeamTurn());
+    }
+
+    @Test
+    @DisplayName("A Game Built From A Snapshot Starts Out With That Snapshot")
+    public void toGameAdoptsSnapshot() {
+        GameSnapshot snapshot = Fen.parse("7k/8/8/8/8/8/8/K7 b - - 0 40").snapshot();
+        ChessGame game = snapshot.toGame();
+
+        Assertions.assertSame(snapshot, game.snapshot());
+        Assertions.assertEquals(Fen.parse("7k/8/8/8/8/8/8/K7 b - - 0 40"), game);
+        Assertions.assertEquals("7k/8/8/8/8/8/8/K7 b - - 0 40", snapshot.toFen());
+    }
+
+    @Test
+    @DisplayName("Load Game Messages Keep The Position They Were Made With")
+    public void loadGamePinsPosition() throws InvalidMoveException {
+        ChessGame live = new ChessGame();
+        ServerMessage message = ServerMessage.loadGame(new GameData(1, "a", "b", "game", live));
+        live.makeMove(MoveNotation.parseUci("e2e4"));
+
+        String json = ChessJson.GSON.toJson(message);
+        Assertions.assertTrue(json.contains(Fen.START), json);
+        Assertions.assertEquals(new ChessGame(), message.getGame().game());
+    }
+
+    @Test
+    @DisplayName("Status Checks Read The Snapshot")
+    public void statusFromSnapshot() throws InvalidMoveException {
+        ChessGame game = new ChessGame();
+        for (String uci : new String[]{"f2f3", "e7e5", "g2g4", "d8h4"}) {
+            game.makeMove(MoveNotation.parseUci(uci));
+        }
+        ChessGame before = game.clone();
+
+        Assertions.assertEquals(ServerMessage.GameStatus.CHECKMATE, ServerMessage.GameStatus.of(game.snapshot()));
+        Assertions.assertEquals(before, game);
+    }
+}
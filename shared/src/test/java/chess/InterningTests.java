@@ -0,0 +1,39 @@
+package chess;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class InterningTests {
+
+    @Test
+    @DisplayName("Positions On The Board Are Shared")
+    public void positionsShared() {
+        Assertions.assertSame(ChessPosition.of(4, 5), ChessPosition.of(4, 5));
+        Assertions.assertEquals(new ChessPosition(4, 5), ChessPosition.of(4, 5));
+        Assertions.assertEquals(new ChessPosition(4, 5).hashCode(), ChessPosition.of(4, 5).hashCode());
+        Assertions.assertEquals(0, ChessPosition.of(0, 9).getRow());
+    }
+
+    @Test
+    @DisplayName("Generated Moves Are The Canonical Instances")
+    public void generatedMovesShared() {
+        ChessGame game = Fen.parse("4k3/1P6/8/8/8/8/8/4K1N1 w - - 0 1");
+        for (ChessMove move : game.legalMoves()) {
+            Assertions.assertSame(move, ChessMove.of(new ChessPosition(move.getStartPosition().getRow(),
+                    move.getStartPosition().getColumn()), move.getEndPosition(), move.getPromotionPiece()));
+        }
+        Assertions.assertSame(ChessMove.of(ChessPosition.of(7, 2), ChessPosition.of(8, 2), ChessPiece.PieceType.KNIGHT),
+                PackedMove.unpack(PackedMove.pack(new ChessMove(new ChessPosition(7, 2), new ChessPosition(8, 2),
+                        ChessPiece.PieceType.KNIGHT))));
+    }
+
+    @Test
+    @DisplayName("Moves Outside The Table Still Compare By Value")
+    public void uncommonMoves() {
+        ChessMove odd = ChessMove.of(ChessPosition.of(4, 4), ChessPosition.of(5, 4), ChessPiece.PieceType.QUEEN);
+        Assertions.assertEquals(new ChessMove(new ChessPosition(4, 4), new ChessPosition(5, 4),
+                ChessPiece.PieceType.QUEEN), odd);
+        Assertions.assertNotEquals(ChessMove.of(ChessPosition.of(4, 4), ChessPosition.of(5, 4), null), odd);
+    }
+}
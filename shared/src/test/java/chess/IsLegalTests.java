@@ -0,0 +1,106 @@
+package chess;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class IsLegalTests {
+
+    @Test
+    @DisplayName("isLegal Agrees With validMoves Over Random Games")
+    public void agreesWithValidMoves() throws InvalidMoveException {
+        Random random = new Random(240);
+        for (int gameNumber = 0; gameNumber < 20; gameNumber++) {
+            ChessGame game = new ChessGame();
+            for (int ply = 0; ply < 80; ply++) {
+                for (int i = 1; i <= 8; i++) {
+                    for (int j = 1; j <= 8; j++) {
+                        checkEveryTarget(game, new ChessPosition(i, j));
+                    }
+                }
+                List<ChessMove> moves = new ArrayList<>(game.legalMoves());
+                if (moves.isEmpty()) {
+                    break;
+                }
+                game.makeMove(moves.get(random.nextInt(moves.size())));
+            }
+        }
+    }
+
+    private void checkEveryTarget(ChessGame game, ChessPosition start) {
+        Collection<ChessMove> valid = game.validMoves(start);
+        ChessPiece piece = game.getBoard().getPiece(start);
+        if (piece != null) {
+            // the slow way, trying each move on a copy of the game
+            Collection<ChessMove> tried = new ArrayList<>();
+            for (ChessMove move : piece.pieceMoves(game.getBoard(), start)) {
+                if (!game.placesKingInCheck(move)) {
+                    tried.add(move);
+                }
+            }
+            Assertions.assertEquals(new HashSet<>(tried), new HashSet<>(valid));
+        }
+        ChessGame before = game.clone();
+        for (int i = 1; i <= 8; i++) {
+            for (int j = 1; j <= 8; j++) {
+                ChessPosition end = new ChessPosition(i, j);
+                for (ChessPiece.PieceType promotion : new ChessPiece.PieceType[]{null,
+                        ChessPiece.PieceType.QUEEN, ChessPiece.PieceType.KNIGHT, ChessPiece.PieceType.KING}) {
+                    ChessMove move = new ChessMove(start, end, promotion);
+                    Assertions.assertEquals(valid.contains(move), game.isLegal(move), move.toString());
+                }
+            }
+        }
+        Assertions.assertEquals(before, game, "isLegal must leave the board as it found it");
+    }
+
+    @Test
+    @DisplayName("isLegal Rejects Moving Into Check")
+    public void rejectsPinnedPiece() {
+        ChessBoard board = new ChessBoard();
+        board.addPiece(new ChessPosition(1, 5), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KING));
+        board.addPiece(new ChessPosition(2, 5), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.ROOK));
+        board.addPiece(new ChessPosition(8, 5), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.QUEEN));
+        board.addPiece(new ChessPosition(8, 1), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.KING));
+        ChessGame game = new ChessGame();
+        game.setBoard(board);
+
+        Assertions.assertFalse(game.isLegal(new ChessMove(new ChessPosition(2, 5), new ChessPosition(2, 1), null)));
+        Assertions.assertTrue(game.isLegal(new ChessMove(new ChessPosition(2, 5), new ChessPosition(8, 5), null)));
+    }
+
+    @Test
+    @DisplayName("isLegal Never Shows Another Reader A Half-Made Move")
+    public void neverTouchesTheBoard() throws InterruptedException {
+        ChessGame game = new ChessGame();
+        ChessBoard board = game.getBoard();
+        ChessPosition pinned = new ChessPosition(2, 5);
+        ChessPosition target = new ChessPosition(4, 5);
+        ChessPiece pawn = board.getPiece(pinned);
+        AtomicBoolean sawChange = new AtomicBoolean();
+        AtomicBoolean done = new AtomicBoolean();
+        Thread reader = Thread.ofPlatform().start(() -> {
+            while (!done.get() && !sawChange.get()) {
+                if (board.getPiece(pinned) != pawn || board.getPiece(target) != null) {
+                    sawChange.set(true);
+                }
+            }
+        });
+
+        ChessMove move = new ChessMove(pinned, target, null);
+        for (int i = 0; i < 2_000_000 && !sawChange.get(); i++) {
+            Assertions.assertTrue(game.isLegal(move));
+        }
+        done.set(true);
+        reader.join();
+
+        Assertions.assertFalse(sawChange.get(), "a reader saw the move played out on the live board");
+    }
+}
@@ -0,0 +1,120 @@
+package chess;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import chess.engine.MaterialEvaluator;
+import chess.engine.Search;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+public class MoveCacheTests {
+    private final MoveCache original = ChessGame.getMoveCache();
+
+    @AfterEach
+    void restoreCache() {
+        ChessGame.setMoveCache(original);
+    }
+
+    @Test
+    @DisplayName("Second Game Through A Position Hits The Cache")
+    public void sharedAcrossGames() {
+        MoveCache cache = new MoveCache(16);
+        ChessGame.setMoveCache(cache);
+
+        Assertions.assertEquals(20, new ChessGame().legalMoves().size());
+        Assertions.assertEquals(20, new ChessGame().legalMoves().size());
+        Assertions.assertEquals(1, cache.getMisses());
+        Assertions.assertEquals(1, cache.getHits());
+    }
+
+    @Test
+    @DisplayName("Cached And Generated Moves Agree")
+    public void agreesWithGeneration() throws InvalidMoveException {
+        ChessGame.setMoveCache(new MoveCache(4));
+        ChessGame game = new ChessGame();
+        for (String uci : new String[]{"e2e4", "e7e5", "d1h5", "b8c6", "f1c4", "g8f6", "h5f7"}) {
+            game.makeMove(MoveNotation.parseUci(uci));
+            var cached = new HashSet<>(game.legalMoves());
+            ChessGame.setMoveCache(null);
+            Assertions.assertEquals(new HashSet<>(game.legalMoves()), cached);
+            ChessGame.setMoveCache(new MoveCache(4));
+        }
+        Assertions.assertTrue(game.isInCheckmate(ChessGame.TeamColor.BLACK));
+    }
+
+    @Test
+    @DisplayName("Cache Stays Within Capacity")
+    public void bounded() {
+        MoveCache cache = new MoveCache(8);
+        for (long key = 0; key < 100; key++) {
+            cache.put(key, new int[0]);
+            cache.get(key % 3);
+        }
+        Assertions.assertEquals(8, cache.size());
+        Assertions.assertEquals(92, cache.getEvictions());
+    }
+
+    @Test
+    @DisplayName("Threads Inserting At Once Neither Block Nor Lose Count")
+    public void concurrentInserts() throws InterruptedException {
+        int capacity = 1_024;
+        int threads = 8;
+        int perThread = 20_000;
+        MoveCache cache = new MoveCache(capacity);
+        CountDownLatch go = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            long base = (long) t * perThread;
+            workers.add(Thread.ofPlatform().start(() -> {
+                try {
+                    go.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (long key = base; key < base + perThread; key++) {
+                    cache.put(key, new int[0]);
+                    cache.get(key - 7); // some hits, so the clock has reference bits to clear
+                }
+            }));
+        }
+        go.countDown();
+        for (Thread worker : workers) {
+            worker.join(10_000);
+            Assertions.assertFalse(worker.isAlive(), "an insert never finished");
+        }
+
+        // once everyone is done, every ring slot holds exactly one live entry
+        Assertions.assertEquals(capacity, cache.size());
+        Assertions.assertEquals((long) threads * perThread - capacity, cache.getEvictions());
+    }
+
+    @Test
+    @DisplayName("One Piece's Moves Don't Go Through The Cache")
+    public void validMovesStayOff() {
+        MoveCache cache = new MoveCache(16);
+        ChessGame.setMoveCache(cache);
+
+        Assertions.assertEquals(2, new ChessGame().validMoves(new ChessPosition(1, 2)).size());
+        Assertions.assertEquals(0, cache.size());
+        Assertions.assertEquals(0, cache.getMisses());
+    }
+
+    @Test
+    @DisplayName("Engine Searches Leave The Shared Cache Alone")
+    public void searchesStayOff() {
+        MoveCache cache = new MoveCache(64);
+        ChessGame.setMoveCache(cache);
+
+        new Search(new MaterialEvaluator()).search(new ChessGame(), 3, 100_000, 10_000);
+
+        // only the root position, which a real game might well come back to
+        Assertions.assertEquals(1, cache.size());
+        Assertions.assertEquals(0, cache.getEvictions());
+    }
+}
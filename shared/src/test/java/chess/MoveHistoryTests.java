@@ -0,0 +1,87 @@
+package chess;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class MoveHistoryTests {
+
+    private static ChessGame play(ChessGame game, String... moves) throws InvalidMoveException {
+        for (String move : moves) {
+            game.makeMove(MoveNotation.parseUci(move));
+        }
+        return game;
+    }
+
+    @Test
+    @DisplayName("Undo Walks A Game With Captures Back To The Start")
+    public void undoToStart() throws InvalidMoveException {
+        ChessGame game = play(new ChessGame(), "e2e4", "d7d5", "e4d5", "d8d5", "b1c3", "d5a2");
+        Assertions.assertEquals(6, game.getPly());
+        Assertions.assertEquals(MoveNotation.parseUci("e4d5"), game.getMoveHistory().get(2));
+
+        for (int i = 5; i >= 0; i--) {
+            Assertions.assertNotNull(game.undo());
+            Assertions.assertEquals(i, game.getPly());
+        }
+        Assertions.assertEquals(new ChessGame(), game);
+        Assertions.assertNull(game.undo());
+    }
+
+    @Test
+    @DisplayName("Undoing A Capturing Promotion Puts Back The Pawn And The Piece")
+    public void undoPromotion() throws InvalidMoveException {
+        ChessGame game = Fen.parse("1n2k3/2P5/8/8/8/8/8/4K3 w - - 0 1");
+        ChessGame before = game.clone();
+        game.makeMove(MoveNotation.parseUci("c7b8q"));
+
+        Assertions.assertEquals(MoveNotation.parseUci("c7b8q"), game.undo());
+        Assertions.assertEquals(before, game);
+    }
+
+    @Test
+    @DisplayName("Clones Keep Their Own History")
+    public void clonesDiverge() throws InvalidMoveException {
+        ChessGame game = play(new ChessGame(), "e2e4", "e7e5");
+        ChessGame copy = game.clone();
+        play(copy, "g1f3");
+        game.undo();
+        play(game, "c7c5");
+
+        Assertions.assertEquals(List.of(MoveNotation.parseUci("e2e4"), MoveNotation.parseUci("e7e5"),
+                MoveNotation.parseUci("g1f3")), copy.getMoveHistory());
+        Assertions.assertEquals(List.of(MoveNotation.parseUci("e2e4"), MoveNotation.parseUci("c7c5")),
+                game.getMoveHistory());
+    }
+
+    @Test
+    @DisplayName("The Original Can Take Back And Replay Moves Under A Clone")
+    public void originalRewritesUnderClone() throws InvalidMoveException {
+        ChessGame game = play(new ChessGame(), "e2e4", "e7e5", "g1f3");
+        ChessGame copy = game.clone();
+        game.undo();
+        game.undo();
+        play(game, "c7c5", "g1f3");
+
+        Assertions.assertEquals(List.of(MoveNotation.parseUci("e2e4"), MoveNotation.parseUci("e7e5"),
+                MoveNotation.parseUci("g1f3")), copy.getMoveHistory());
+        Assertions.assertEquals(MoveNotation.parseUci("g1f3"), copy.undo());
+        Assertions.assertEquals(MoveNotation.parseUci("e7e5"), copy.undo());
+        Assertions.assertEquals(List.of(MoveNotation.parseUci("e2e4"), MoveNotation.parseUci("c7c5"),
+                MoveNotation.parseUci("g1f3")), game.getMoveHistory());
+    }
+
+    @Test
+    @DisplayName("Editing The Board Directly Drops The History")
+    public void directEditsDropHistory() throws InvalidMoveException {
+        ChessGame game = play(new ChessGame(), "e2e4");
+        game.getBoard().addPiece(new ChessPosition(4, 4), null);
+
+        Assertions.assertEquals(0, game.getPly());
+        Assertions.assertNull(game.undo());
+        play(game, "e7e5");
+        Assertions.assertEquals(List.of(MoveNotation.parseUci("e7e5")), game.getMoveHistory());
+    }
+}
@@ -0,0 +1,96 @@
+package chess;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class MoveNotationTests {
+
+    private static ChessMove move(int fromRow, int fromCol, int toRow, int toCol, ChessPiece.PieceType promotion) {
+        return new ChessMove(new ChessPosition(fromRow, fromCol), new ChessPosition(toRow, toCol), promotion);
+    }
+
+    @Test
+    @DisplayName("UCI Round Trip")
+    public void uciRoundTrip() {
+        Assertions.assertEquals(move(2, 5, 4, 5, null), MoveNotation.parseUci("e2e4"));
+        Assertions.assertEquals(move(7, 5, 8, 5, ChessPiece.PieceType.QUEEN), MoveNotation.parseUci("e7e8q"));
+        Assertions.assertEquals("e7e8n", MoveNotation.toUci(move(7, 5, 8, 5, ChessPiece.PieceType.KNIGHT)));
+        Assertions.assertNull(MoveNotation.parseUci("e9e4"));
+        Assertions.assertNull(MoveNotation.parseUci("e7e8k"));
+        Assertions.assertNull(MoveNotation.parseUci("e2"));
+    }
+
+    @Test
+    @DisplayName("SAN Round Trip From Opening")
+    public void sanRoundTrip() throws InvalidMoveException {
+        ChessGame game = new ChessGame();
+        String[] line = {"e4", "e5", "Nf3", "Nc6", "Bb5", "Nf6", "Bxc6", "dxc6", "Nxe5", "Qd4"};
+        for (String san : line) {
+            ChessMove parsed = MoveNotation.parseSan(san, game);
+            Assertions.assertNotNull(parsed, san);
+            Assertions.assertEquals(san, MoveNotation.toSan(game, parsed));
+            game.makeMove(parsed);
+        }
+    }
+
+    @Test
+    @DisplayName("SAN Disambiguation, Check And Mate Marks")
+    public void sanMarks() throws InvalidMoveException {
+        ChessGame game = new ChessGame();
+        for (String san : new String[]{"f3", "e5", "g4"}) {
+            game.makeMove(MoveNotation.parseSan(san, game));
+        }
+        Assertions.assertEquals("Qh4#", MoveNotation.toSan(game, MoveNotation.parseSan("Qh4", game)));
+
+        ChessBoard board = new ChessBoard();
+        board.addPiece(new ChessPosition(1, 1), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.ROOK));
+        board.addPiece(new ChessPosition(1, 8), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.ROOK));
+        board.addPiece(new ChessPosition(2, 2), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KING));
+        board.addPiece(new ChessPosition(8, 5), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.KING));
+        ChessGame rooks = new ChessGame();
+        rooks.setBoard(board);
+        Assertions.assertNull(MoveNotation.parseSan("Re1", rooks));
+        ChessMove fromA = MoveNotation.parseSan("Rae1+", rooks);
+        Assertions.assertEquals(move(1, 1, 1, 5, null), fromA);
+        Assertions.assertEquals("Rae1+", MoveNotation.toSan(rooks, fromA));
+    }
+
+    @Test
+    @DisplayName("Check And Mate Marks Match Playing The Move, Without Touching The Move Cache")
+    public void marksMatchPlayedMoves() throws InvalidMoveException {
+        MoveCache original = ChessGame.getMoveCache();
+        MoveCache cache = new MoveCache();
+        ChessGame.setMoveCache(cache);
+        try {
+            Random random = new Random(28);
+            for (int gameNumber = 0; gameNumber < 30; gameNumber++) {
+                ChessGame game = new ChessGame();
+                for (int ply = 0; ply < 120; ply++) {
+                    List<ChessMove> moves = new ArrayList<>(game.legalMoves());
+                    if (moves.isEmpty()) {
+                        break;
+                    }
+                    for (ChessMove move : moves) {
+                        int cached = cache.size();
+                        String san = MoveNotation.toSan(game, move);
+                        Assertions.assertEquals(cached, cache.size(), san);
+
+                        ChessGame after = game.clone();
+                        after.makeMove(move);
+                        ChessGame.TeamColor opponent = after.getTeamTurn();
+                        String mark = after.isInCheckmate(opponent) ? "#" : after.isInCheck(opponent) ? "+" : "";
+                        Assertions.assertEquals(mark, san.replaceAll("[^+#]", ""), san);
+                    }
+                    game.makeMove(moves.get(random.nextInt(moves.size())));
+                }
+            }
+        } finally {
+            ChessGame.setMoveCache(original);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package chess;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+// only run by the vector profile, see shared/pom.xml; skipped if picked by name without it
+public class VectorAttacksTests {
+
+    @Test
+    @DisplayName("Vector Kernel Agrees With Scalar")
+    public void vectorMatchesScalar() throws InvalidMoveException {
+        Assumptions.assumeTrue(BitboardAttacks.isVectorAvailable());
+        List<ChessGame> positions = BitboardAttacksTests.randomPositions(301);
+        AttackBatch batch = new AttackBatch(positions.size());
+        positions.forEach(batch::addChecksOn);
+
+        long[] scalar = new long[batch.size()];
+        long[] vector = new long[batch.size()];
+        BitboardAttacks.attacks(batch, scalar, 0, batch.size());
+        BitboardAttacks.Backend previous = BitboardAttacks.getBackend();
+        BitboardAttacks.setBackend(BitboardAttacks.Backend.VECTOR);
+        try {
+            BitboardAttacks.attacks(batch, vector);
+        } finally {
+            BitboardAttacks.setBackend(previous);
+        }
+        Assertions.assertArrayEquals(scalar, vector);
+    }
+}
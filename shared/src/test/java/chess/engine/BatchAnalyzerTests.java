@@ -0,0 +1,87 @@
+package chess.engine;
+
+import chess.ChessBoard;
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.ChessPiece;
+import chess.ChessPosition;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+public class BatchAnalyzerTests {
+
+    @Test
+    @DisplayName("Results Come Back In Input Order")
+    public void resultsInOrder() {
+        List<AnalysisResult> results = new ArrayList<>();
+        try (var analyzer = new BatchAnalyzer(4, 2, 100_000, 10_000)) {
+            analyzer.analyze(IntStream.range(0, 20).mapToObj(i -> new ChessGame()), results::add);
+        }
+        Assertions.assertEquals(20, results.size());
+        for (int i = 0; i < results.size(); i++) {
+            Assertions.assertEquals(i, results.get(i).index());
+            Assertions.assertNotNull(results.get(i).result().bestMove());
+        }
+    }
+
+    @Test
+    @DisplayName("Finds Hanging Queen")
+    public void findsCapture() {
+        ChessBoard board = new ChessBoard();
+        board.addPiece(new ChessPosition(1, 1), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KING));
+        board.addPiece(new ChessPosition(8, 8), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.KING));
+        board.addPiece(new ChessPosition(4, 4), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.ROOK));
+        board.addPiece(new ChessPosition(4, 7), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.QUEEN));
+        ChessGame game = new ChessGame();
+        game.setBoard(board);
+
+        List<AnalysisResult> results = new ArrayList<>();
+        try (var analyzer = new BatchAnalyzer(1, 2, 100_000, 10_000)) {
+            analyzer.analyze(Stream.of(game), results::add);
+        }
+        Assertions.assertEquals(new ChessMove(new ChessPosition(4, 4), new ChessPosition(4, 7), null),
+                results.get(0).result().bestMove());
+    }
+
+    @Test
+    @DisplayName("Illegal Line Reports An Error")
+    public void illegalLine() {
+        List<ChessMove> line = List.of(new ChessMove(new ChessPosition(2, 5), new ChessPosition(5, 5), null));
+        List<AnalysisResult> results = new ArrayList<>();
+        try (var analyzer = new BatchAnalyzer(2, 1, 1_000, 1_000)) {
+            analyzer.analyzeLines(Stream.of(List.of(), line), results::add);
+        }
+        Assertions.assertNull(results.get(0).error());
+        Assertions.assertNotNull(results.get(1).error());
+    }
+
+    @Test
+    @DisplayName("A Position That Blows Up Reports An Error And The Batch Carries On")
+    public void failingPositionReported() {
+        AtomicInteger made = new AtomicInteger();
+        Supplier<Evaluator> evaluators = () -> {
+            if (made.incrementAndGet() == 2) {
+                throw new IllegalStateException("no weights");
+            }
+            return new MaterialEvaluator();
+        };
+        List<AnalysisResult> results = new ArrayList<>();
+        try (var analyzer = new BatchAnalyzer(1, evaluators, 1, 1_000, 1_000)) {
+            analyzer.analyze(IntStream.range(0, 3).mapToObj(i -> new ChessGame()), results::add);
+        }
+
+        Assertions.assertEquals(3, results.size());
+        Assertions.assertNull(results.get(0).error());
+        Assertions.assertNull(results.get(1).result());
+        Assertions.assertTrue(results.get(1).error().contains("no weights"), results.get(1).error());
+        Assertions.assertNotNull(results.get(2).result().bestMove());
+    }
+}
@@ -0,0 +1,89 @@
+package chess.engine;
+
+import chess.ChessBoard;
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.ChessPiece;
+import chess.ChessPosition;
+import chess.InvalidMoveException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class MateSolverTests {
+
+    private static ChessGame position(int[][] white, int[][] black, ChessPiece.PieceType... types) {
+        ChessBoard board = new ChessBoard();
+        int t = 0;
+        for (int[] square : white) {
+            board.addPiece(new ChessPosition(square[0], square[1]), new ChessPiece(ChessGame.TeamColor.WHITE, types[t++]));
+        }
+        for (int[] square : black) {
+            board.addPiece(new ChessPosition(square[0], square[1]), new ChessPiece(ChessGame.TeamColor.BLACK, types[t++]));
+        }
+        ChessGame game = new ChessGame();
+        game.setBoard(board);
+        return game;
+    }
+
+    private static ChessGame backRank() {
+        return position(new int[][]{{6, 2}, {1, 8}}, new int[][]{{8, 1}},
+                ChessPiece.PieceType.KING, ChessPiece.PieceType.ROOK, ChessPiece.PieceType.KING);
+    }
+
+    private static ChessGame ladder() {
+        return position(new int[][]{{1, 8}, {6, 1}, {5, 2}}, new int[][]{{7, 5}},
+                ChessPiece.PieceType.KING, ChessPiece.PieceType.ROOK, ChessPiece.PieceType.ROOK,
+                ChessPiece.PieceType.KING);
+    }
+
+    @Test
+    @DisplayName("Mate In One")
+    public void mateInOne() {
+        MateResult result = new MateSolver(1 << 20).solve(backRank(), 3, 100_000);
+        Assertions.assertTrue(result.proven());
+        Assertions.assertEquals(1, result.mateIn());
+        Assertions.assertEquals(new ChessMove(new ChessPosition(1, 8), new ChessPosition(8, 8), null),
+                result.line().get(0));
+        Assertions.assertEquals("mate in 1: h1h8", result.toString());
+    }
+
+    @Test
+    @DisplayName("Mate In Two Line Ends In Mate")
+    public void mateInTwo() throws InvalidMoveException {
+        ChessGame game = ladder();
+        MateResult result = new MateSolver(1 << 20).solve(game, 3, 1_000_000);
+        Assertions.assertTrue(result.proven());
+        Assertions.assertEquals(2, result.mateIn());
+        Assertions.assertEquals(3, result.line().size());
+
+        for (ChessMove move : result.line()) {
+            game.makeMove(move);
+        }
+        Assertions.assertTrue(game.isInCheckmate(ChessGame.TeamColor.BLACK));
+    }
+
+    @Test
+    @DisplayName("Small Table Still Proves")
+    public void smallTable() {
+        MateResult result = new MateSolver(0).solve(ladder(), 2, 1_000_000);
+        Assertions.assertTrue(result.proven());
+        Assertions.assertEquals(2, result.mateIn());
+    }
+
+    @Test
+    @DisplayName("No Mate Is Unproven")
+    public void noMate() {
+        MateResult result = new MateSolver(1 << 20).solve(new ChessGame(), 1, 100_000);
+        Assertions.assertFalse(result.proven());
+        Assertions.assertEquals("unproven", result.toString());
+    }
+
+    @Test
+    @DisplayName("Node Budget Is Respected")
+    public void budget() {
+        MateResult result = new MateSolver(1 << 20).solve(ladder(), 2, 5);
+        Assertions.assertFalse(result.proven());
+        Assertions.assertTrue(result.nodes() <= 6);
+    }
+}
@@ -0,0 +1,83 @@
+package chess.engine;
+
+import chess.ChessBoard;
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.ChessPiece;
+import chess.ChessPosition;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+
+public class MultiPvTests {
+
+    private static ChessGame hangingQueen() {
+        ChessBoard board = new ChessBoard();
+        board.addPiece(new ChessPosition(1, 1), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KING));
+        board.addPiece(new ChessPosition(8, 8), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.KING));
+        board.addPiece(new ChessPosition(4, 4), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.ROOK));
+        board.addPiece(new ChessPosition(4, 7), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.QUEEN));
+        ChessGame game = new ChessGame();
+        game.setBoard(board);
+        return game;
+    }
+
+    @Test
+    @DisplayName("Lines Are Ranked And Distinct")
+    public void rankedLines() {
+        MultiPvResult result = new Search(new MaterialEvaluator())
+                .searchMultiPv(hangingQueen(), 3, 2, 1_000_000, 10_000);
+
+        List<PvLine> lines = result.lines();
+        Assertions.assertEquals(3, lines.size());
+        Assertions.assertEquals(new ChessMove(new ChessPosition(4, 4), new ChessPosition(4, 7), null),
+                lines.get(0).move());
+        var moves = new HashSet<ChessMove>();
+        for (int i = 0; i < lines.size(); i++) {
+            Assertions.assertTrue(moves.add(lines.get(i).move()));
+            if (i > 0) {
+                Assertions.assertTrue(lines.get(i - 1).score() >= lines.get(i).score());
+            }
+        }
+        Assertions.assertTrue(lines.get(0).score() > lines.get(1).score());
+    }
+
+    @Test
+    @DisplayName("Top Line Matches A Single Line Search")
+    public void topLineMatchesSearch() {
+        SearchResult single = new Search(new MaterialEvaluator()).search(new ChessGame(), 3, 1_000_000, 30_000);
+        MultiPvResult multi = new Search(new MaterialEvaluator())
+                .searchMultiPv(new ChessGame(), 4, 3, 1_000_000, 30_000);
+        Assertions.assertEquals(single.score(), multi.lines().get(0).score());
+    }
+
+    @Test
+    @DisplayName("Reports Each Iteration")
+    public void depthReports() {
+        MultiPvResult result = new Search(new MaterialEvaluator())
+                .searchMultiPv(new ChessGame(), 2, 3, 1_000_000, 30_000);
+        Assertions.assertEquals(3, result.depth());
+        Assertions.assertEquals(3, result.iterations().size());
+        long nodes = 0;
+        for (int i = 0; i < 3; i++) {
+            Assertions.assertEquals(i + 1, result.iterations().get(i).depth());
+            nodes += result.iterations().get(i).nodes();
+        }
+        Assertions.assertEquals(result.nodes(), nodes);
+    }
+
+    @Test
+    @DisplayName("More Lines Than Moves")
+    public void fewerMovesThanLines() {
+        ChessBoard board = new ChessBoard();
+        board.addPiece(new ChessPosition(1, 1), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KING));
+        board.addPiece(new ChessPosition(3, 2), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.KING));
+        ChessGame game = new ChessGame();
+        game.setBoard(board);
+        MultiPvResult result = new Search(new MaterialEvaluator()).searchMultiPv(game, 5, 2, 100_000, 10_000);
+        Assertions.assertEquals(game.legalMoves().size(), result.lines().size());
+    }
+}
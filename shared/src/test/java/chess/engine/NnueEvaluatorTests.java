@@ -0,0 +1,61 @@
+package chess.engine;
+
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.InvalidMoveException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class NnueEvaluatorTests {
+
+    @Test
+    @DisplayName("Incremental Updates Match A Full Refresh")
+    public void incrementalMatchesRefresh() throws InvalidMoveException {
+        NnueNetwork network = NnueNetwork.random(32, 1);
+        NnueEvaluator incremental = new NnueEvaluator(network);
+        Random random = new Random(7);
+        ChessGame game = new ChessGame();
+        incremental.reset(game);
+        for (int ply = 0; ply < 60; ply++) {
+            List<ChessMove> moves = new ArrayList<>(game.legalMoves());
+            if (moves.isEmpty()) {
+                break;
+            }
+            ChessMove move = moves.get(random.nextInt(moves.size()));
+            incremental.push(game, move);
+            game.makeMove(move);
+
+            NnueEvaluator fresh = new NnueEvaluator(network);
+            Assertions.assertEquals(fresh.evaluate(game), incremental.evaluate(game));
+        }
+    }
+
+    @Test
+    @DisplayName("Saved Network Loads Back The Same")
+    public void saveAndLoad(@TempDir Path dir) throws IOException {
+        NnueNetwork network = NnueNetwork.random(16, 3);
+        Path file = dir.resolve("net.nnue");
+        network.save(file);
+        NnueNetwork loaded = NnueNetwork.load(file);
+
+        ChessGame game = new ChessGame();
+        Assertions.assertEquals(new NnueEvaluator(network).evaluate(game), new NnueEvaluator(loaded).evaluate(game));
+    }
+
+    @Test
+    @DisplayName("Search Runs With The NNUE Evaluator")
+    public void searchWithNnue() {
+        SearchResult result = new Search(new NnueEvaluator(NnueNetwork.random(16, 5)))
+                .search(new ChessGame(), 2, 100_000, 10_000);
+        Assertions.assertNotNull(result.bestMove());
+        Assertions.assertEquals(2, result.depth());
+    }
+}
@@ -0,0 +1,74 @@
+package chess.engine;
+
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.ChessPosition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class PondererTests {
+    private static final ChessMove E4 = new ChessMove(new ChessPosition(2, 5), new ChessPosition(4, 5), null);
+    private static final ChessMove D4 = new ChessMove(new ChessPosition(2, 4), new ChessPosition(4, 4), null);
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void setUp() {
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Search Reports Its Expected Reply")
+    public void principalVariation() {
+        SearchResult result = new Search(new MaterialEvaluator()).search(new ChessGame(), 2, 100_000, 10_000);
+        Assertions.assertEquals(2, result.principalVariation().size());
+        Assertions.assertEquals(result.bestMove(), result.principalVariation().get(0));
+        Assertions.assertNotNull(result.ponderMove());
+    }
+
+    @Test
+    @DisplayName("Ponder Hit Answers From The Background Search")
+    public void ponderHit() throws InterruptedException {
+        Ponderer ponderer = new Ponderer(executor, MaterialEvaluator::new, 2, 1_000_000);
+        Assertions.assertTrue(ponderer.start(new ChessGame(), E4));
+        Thread.sleep(500);
+
+        SearchResult result = ponderer.onOpponentMove(E4);
+        Assertions.assertNotNull(result);
+        Assertions.assertTrue(result.depth() > 0);
+        Assertions.assertEquals(1, ponderer.getHits());
+        Assertions.assertFalse(ponderer.isPondering());
+    }
+
+    @Test
+    @DisplayName("Ponder Miss Stops Promptly")
+    public void ponderMiss() {
+        Ponderer ponderer = new Ponderer(executor, MaterialEvaluator::new, 64, Long.MAX_VALUE);
+        Assertions.assertTrue(ponderer.start(new ChessGame(), E4));
+
+        long start = System.nanoTime();
+        Assertions.assertNull(ponderer.onOpponentMove(D4));
+        Assertions.assertTrue(System.nanoTime() - start < 2_000_000_000L);
+        Assertions.assertEquals(1, ponderer.getMisses());
+    }
+
+    @Test
+    @DisplayName("Illegal Prediction Is Not Pondered")
+    public void illegalPrediction() {
+        Ponderer ponderer = new Ponderer(executor, MaterialEvaluator::new, 2, 1_000);
+        ChessMove illegal = new ChessMove(new ChessPosition(2, 5), new ChessPosition(5, 5), null);
+        Assertions.assertFalse(ponderer.start(new ChessGame(), illegal));
+        Assertions.assertNull(ponderer.onOpponentMove(illegal));
+    }
+}
@@ -0,0 +1,71 @@
+package chess.engine;
+
+import chess.ChessGame;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+public class SearchLimitsTests {
+
+    @Test
+    @DisplayName("Stop From Another Thread Ends The Search")
+    public void stopFlag() throws Exception {
+        SearchLimits limits = SearchLimits.infinite();
+        CompletableFuture<SearchResult> running = CompletableFuture.supplyAsync(
+                () -> new Search(new MaterialEvaluator()).search(new ChessGame(), limits));
+        Thread.sleep(200);
+        long start = System.nanoTime();
+        limits.stop();
+
+        SearchResult result = running.get(5, TimeUnit.SECONDS);
+        Assertions.assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+        Assertions.assertNotNull(result.bestMove());
+        Assertions.assertTrue(limits.isStopped());
+    }
+
+    @Test
+    @DisplayName("Stopped Limits End The Search At Once")
+    public void stoppedBeforeStart() {
+        SearchLimits limits = SearchLimits.infinite();
+        limits.stop();
+        SearchResult result = new Search(new MaterialEvaluator()).search(new ChessGame(), limits);
+        Assertions.assertEquals(0, result.depth());
+        Assertions.assertTrue(result.nodes() <= 1);
+    }
+
+    @Test
+    @DisplayName("Soft Deadline Starts No New Iteration")
+    public void softDeadline() {
+        SearchLimits limits = new SearchLimits(64, Long.MAX_VALUE, 0, SearchLimits.NO_TIME_LIMIT);
+        SearchResult result = new Search(new MaterialEvaluator()).search(new ChessGame(), limits);
+        Assertions.assertEquals(1, result.depth());
+    }
+
+    @Test
+    @DisplayName("Node Cap")
+    public void nodeCap() {
+        SearchResult result = new Search(new MaterialEvaluator())
+                .search(new ChessGame(), new SearchLimits(64, 500, 60_000, 60_000));
+        Assertions.assertTrue(result.nodes() <= 500);
+    }
+
+    @Test
+    @DisplayName("Allocator Shares Out The Clock")
+    public void allocator() {
+        TimeAllocator allocator = new TimeAllocator(50, 30);
+        long before = System.currentTimeMillis();
+        SearchLimits limits = allocator.allocate(64, Long.MAX_VALUE, 60_050, 1_000, 0);
+        // 60000 / 30 + 750 soft, three times that hard, both under half the clock
+        Assertions.assertEquals(2_750, limits.softDeadline - before, 20);
+        Assertions.assertEquals(8_250, limits.hardDeadline - before, 20);
+
+        SearchLimits lastMove = allocator.allocate(64, Long.MAX_VALUE, 1_050, 0, 1);
+        Assertions.assertTrue(lastMove.hardDeadline - before <= 1_000 + 20);
+
+        SearchLimits flagging = allocator.allocate(64, Long.MAX_VALUE, 10, 0, 0);
+        Assertions.assertTrue(flagging.hardDeadline - before <= 20);
+    }
+}
@@ -0,0 +1,129 @@
+package chess.engine;
+
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.InvalidMoveException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+public class TexelTunerTests {
+
+    private static List<ChessGame> randomPositions(int count) throws InvalidMoveException {
+        List<ChessGame> positions = new ArrayList<>(count);
+        Random random = new Random(40);
+        while (positions.size() < count) {
+            ChessGame game = new ChessGame();
+            for (int ply = 0; ply < 80 && positions.size() < count; ply++) {
+                List<ChessMove> legal = new ArrayList<>(game.legalMoves());
+                if (legal.isEmpty()) {
+                    break;
+                }
+                game.makeMove(legal.get(random.nextInt(legal.size())));
+                positions.add(game.clone());
+            }
+        }
+        return positions;
+    }
+
+    // labels each position by who is ahead on material, from white's side
+    private static TuningSet materialLabelled(List<ChessGame> positions, int copies) {
+        TuningSet set = new TuningSet();
+        MaterialEvaluator material = new MaterialEvaluator();
+        for (int copy = 0; copy < copies; copy++) {
+            for (ChessGame position : positions) {
+                int score = material.evaluate(position);
+                int white = position.getTeamTurn() == ChessGame.TeamColor.WHITE ? score : -score;
+                set.add(position, white > 0 ? 1f : white < 0 ? 0f : 0.5f);
+            }
+        }
+        return set;
+    }
+
+    @Test
+    @DisplayName("Default Weights Match The Material Evaluator")
+    public void defaultsMatchMaterial() throws InvalidMoveException {
+        PstEvaluator pst = new PstEvaluator();
+        MaterialEvaluator material = new MaterialEvaluator();
+        for (ChessGame position : randomPositions(200)) {
+            Assertions.assertEquals(material.evaluate(position), pst.evaluate(position));
+        }
+    }
+
+    @Test
+    @DisplayName("Weight File Round Trip")
+    public void saveAndLoad(@TempDir Path dir) throws IOException {
+        int[] weights = new Random(1).ints(PstEvaluator.WEIGHTS, -50, 50).toArray();
+        Path file = dir.resolve("weights.txt");
+        new PstEvaluator(weights).save(file);
+        Assertions.assertArrayEquals(weights, PstEvaluator.load(file).getWeights());
+    }
+
+    @Test
+    @DisplayName("Sharded Error Matches One Thread")
+    public void shardedError() throws InvalidMoveException {
+        TuningSet set = materialLabelled(randomPositions(500), 80);
+        int[] weights = PstEvaluator.defaultWeights();
+        ForkJoinPool one = new ForkJoinPool(1);
+        ForkJoinPool four = new ForkJoinPool(4);
+        try {
+            double single = new TexelTuner(one).error(set, weights, 1.0);
+            double sharded = new TexelTuner(four).error(set, weights, 1.0);
+            Assertions.assertEquals(single, sharded, 1e-9);
+        } finally {
+            one.shutdown();
+            four.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Tuning Lowers The Error")
+    public void tuningLowersError() throws InvalidMoveException {
+        TuningSet set = materialLabelled(randomPositions(1_000), 1);
+        TexelTuner tuner = new TexelTuner();
+        int[] zero = new int[PstEvaluator.WEIGHTS];
+        int[] tuned = tuner.tune(set, zero, 1.0, 100, 5.0);
+        Assertions.assertTrue(tuner.error(set, tuned, 1.0) < tuner.error(set, zero, 1.0) * 0.8);
+    }
+
+    @Test
+    @DisplayName("Only Decided PGN Games Are Loaded")
+    public void fromPgn() throws IOException {
+        String pgn = """
+                [Result "0-1"]
+
+                1. f3 e5 2. g4 Qh4# 0-1
+
+                [Result "*"]
+
+                1. e4 e5 *
+                """;
+        TuningSet set = TuningSet.fromPgn(new StringReader(pgn), 1, 1);
+        Assertions.assertEquals(4, set.size());
+        Assertions.assertEquals(0f, set.results()[0]);
+    }
+
+    @Test
+    @DisplayName("Set-Up Games Load From Their FEN")
+    public void fromPgnSetUp() throws IOException {
+        String pgn = """
+                [Result "1-0"]
+                [SetUp "1"]
+                [FEN "6k1/5ppp/8/8/8/8/5PPP/3R2K1 w - - 0 1"]
+
+                1. Rd8# 1-0
+                """;
+        TuningSet set = TuningSet.fromPgn(new StringReader(pgn), 1, 1, 1);
+        Assertions.assertEquals(1, set.size());
+        Assertions.assertEquals(1f, set.results()[0]);
+    }
+}
@@ -0,0 +1,151 @@
+package chess.engine;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class UciMainTests {
+
+    private static String talk(String input) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        PrintStream out = new PrintStream(bytes, true, StandardCharsets.UTF_8);
+        new UciMain(new BufferedReader(new StringReader(input)), out).run();
+        return bytes.toString(StandardCharsets.UTF_8);
+    }
+
+    private static long benchNodes(String output) {
+        for (String line : output.split("\n")) {
+            if (line.startsWith("Nodes searched")) {
+                return Long.parseLong(line.substring(line.indexOf(':') + 1).trim());
+            }
+        }
+        throw new AssertionError("no node count in " + output);
+    }
+
+    @Test
+    @DisplayName("Handshake")
+    public void handshake() throws IOException {
+        String output = talk("uci\nisready\nquit\n");
+        Assertions.assertTrue(output.contains("id name"));
+        Assertions.assertTrue(output.contains("uciok"));
+        Assertions.assertTrue(output.contains("readyok"));
+    }
+
+    @Test
+    @DisplayName("Finds Mate From A FEN")
+    public void goFromFen() throws IOException {
+        String output = talk("position fen 6k1/5ppp/8/8/8/8/5PPP/3R2K1 w - - 0 1\ngo depth 2\n");
+        Assertions.assertTrue(output.contains("score mate 1"), output);
+        Assertions.assertTrue(output.contains("bestmove d1d8"), output);
+    }
+
+    @Test
+    @DisplayName("Plays From Moves And Ranks Lines")
+    public void multiPv() throws IOException {
+        String output = talk("setoption name MultiPV value 3\nposition startpos moves e2e4 e7e5\ngo depth 2\n");
+        Assertions.assertTrue(output.contains("multipv 3"), output);
+        Assertions.assertTrue(output.contains("bestmove "), output);
+    }
+
+    @Test
+    @DisplayName("Illegal Move Is Reported")
+    public void illegalMove() throws IOException {
+        String output = talk("position startpos moves e2e5\nquit\n");
+        Assertions.assertTrue(output.contains("info string illegal move e2e5"), output);
+    }
+
+    @Test
+    @DisplayName("Stop Ends An Infinite Search")
+    public void stop() throws IOException {
+        String output = talk("go infinite\nstop\nquit\n");
+        Assertions.assertTrue(output.contains("bestmove "), output);
+    }
+
+    @Test
+    @DisplayName("Unreadable Numbers Are Reported, Not Fatal")
+    public void badNumbers() throws IOException {
+        String output = talk("go depth x\nbench deep\ngo wtime 1e3 btime 1000\nisready\nquit\n");
+        Assertions.assertTrue(output.contains("info string bad value for go"), output);
+        Assertions.assertTrue(output.contains("info string bad bench depth"), output);
+        Assertions.assertTrue(output.contains("readyok"), output);
+        Assertions.assertFalse(output.contains("bestmove"), output);
+    }
+
+    @Test
+    @DisplayName("EvalFile Takes Tuned Piece-Square Weights")
+    public void pstEvalFile(@TempDir Path dir) throws IOException {
+        Path weights = dir.resolve("weights.txt");
+        new PstEvaluator().save(weights);
+        Path junk = dir.resolve("junk.bin");
+        Files.writeString(junk, "neither kind");
+        String output = talk("setoption name EvalFile value " + weights + "\nposition startpos\ngo depth 1\n"
+                + "setoption name EvalFile value " + junk + "\nquit\n");
+        int bestmove = output.indexOf("bestmove ");
+        Assertions.assertTrue(bestmove >= 0, output);
+        Assertions.assertTrue(output.indexOf("info string bad value for EvalFile") > bestmove, output);
+    }
+
+    @Test
+    @DisplayName("Pondering Holds The Bestmove Until Ponderhit, Then Runs On The Clock")
+    public void ponderhit() throws IOException, InterruptedException {
+        PipedOutputStream gui = new PipedOutputStream();
+        BufferedReader in = new BufferedReader(
+                new InputStreamReader(new PipedInputStream(gui), StandardCharsets.UTF_8));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        PrintStream out = new PrintStream(bytes, true, StandardCharsets.UTF_8);
+        Thread engine = Thread.ofPlatform().start(() -> {
+            try {
+                new UciMain(in, out).run();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        gui.write("position startpos\ngo ponder depth 2 wtime 60000 btime 60000\n".getBytes(StandardCharsets.UTF_8));
+        gui.flush();
+        Thread.sleep(300); // long enough for a depth 2 search to have finished
+        Assertions.assertFalse(bytes.toString(StandardCharsets.UTF_8).contains("bestmove"));
+
+        gui.write("ponderhit\n".getBytes(StandardCharsets.UTF_8));
+        gui.flush();
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!bytes.toString(StandardCharsets.UTF_8).contains("bestmove")) {
+            Assertions.assertTrue(System.currentTimeMillis() < deadline, "ponderhit never released the bestmove");
+            Thread.sleep(5);
+        }
+        gui.write("quit\n".getBytes(StandardCharsets.UTF_8));
+        gui.close();
+        engine.join(5_000);
+        Assertions.assertFalse(engine.isAlive());
+    }
+
+    @Test
+    @DisplayName("Stop Ends A Ponder Search")
+    public void stopPondering() throws IOException {
+        String output = talk("go ponder wtime 60000 btime 60000\nstop\nquit\n");
+        Assertions.assertTrue(output.contains("bestmove "), output);
+    }
+
+    @Test
+    @DisplayName("Bench Is Deterministic")
+    public void bench() throws IOException {
+        long first = benchNodes(talk("bench 2\n"));
+        long second = benchNodes(talk("bench 2\n"));
+        Assertions.assertTrue(first > 0);
+        Assertions.assertEquals(first, second);
+    }
+}
@@ -0,0 +1,134 @@
+package chess.pgn;
+
+import chess.MoveNotation;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class PgnTests {
+    private static final String TWO_GAMES = """
+            [Event "Casual"]
+            [White "Alice"]
+            [Black "Bob"]
+            [Result "0-1"]
+
+            1. f3 e5 {a comment} 2. g4 (2. e4 Nc6) 2... Qh4# 0-1
+
+            [Event "Blunder"]
+            [Result "*"]
+
+            1. e4 e5 2. Ke3 *
+            """;
+
+    @Test
+    @DisplayName("Reads Games And Rejects Illegal Ones")
+    public void readsGames() throws IOException {
+        List<PgnGame> games = new ArrayList<>();
+        ImportStats stats = new PgnImporter(1).importAll(new StringReader(TWO_GAMES), games::add);
+
+        Assertions.assertEquals(1, stats.games());
+        Assertions.assertEquals(4, stats.plies());
+        Assertions.assertEquals(1, stats.rejected());
+        Assertions.assertEquals("Alice", games.get(0).tags().get("White"));
+        Assertions.assertEquals("0-1", games.get(0).result());
+        Assertions.assertEquals("d8h4", MoveNotation.toUci(games.get(0).moves().get(3)));
+    }
+
+    @Test
+    @DisplayName("Write Then Read Round Trip")
+    public void roundTrip() throws IOException, PgnException {
+        PgnGame original = PgnReader.parse(TWO_GAMES.substring(0, TWO_GAMES.indexOf("[Event \"Blunder")));
+        StringWriter out = new StringWriter();
+        new PgnWriter(out).write(original);
+
+        Assertions.assertTrue(out.toString().contains("1. f3 e5 2. g4 Qh4# 0-1"), out.toString());
+        try (PgnReader reader = new PgnReader(new StringReader(out.toString()))) {
+            PgnGame reread = reader.next();
+            Assertions.assertEquals(original.moves(), reread.moves());
+            Assertions.assertEquals("Bob", reread.tags().get("Black"));
+            Assertions.assertNull(reader.next());
+        }
+    }
+
+    @Test
+    @DisplayName("Parallel Import Matches Serial Import")
+    public void parallelImport() throws IOException {
+        String many = TWO_GAMES.repeat(200);
+        List<PgnGame> games = Collections.synchronizedList(new ArrayList<>());
+        ImportStats stats = new PgnImporter(4).importAll(new StringReader(many), games::add);
+
+        Assertions.assertEquals(200, stats.games());
+        Assertions.assertEquals(800, stats.plies());
+        Assertions.assertEquals(200, stats.rejected());
+        Assertions.assertEquals(200, games.size());
+    }
+
+    @Test
+    @DisplayName("A Sink That Throws Rejects The Game Instead Of Losing It")
+    public void throwingSink() throws IOException {
+        for (int threads : new int[]{1, 4}) {
+            String many = TWO_GAMES.repeat(10);
+            ImportStats stats = new PgnImporter(threads).importAll(new StringReader(many), game -> {
+                throw new IllegalStateException("database is down");
+            });
+
+            Assertions.assertEquals(0, stats.games());
+            Assertions.assertEquals(0, stats.plies());
+            Assertions.assertEquals(20, stats.rejected());
+        }
+    }
+
+    @Test
+    @DisplayName("Blank And Tag-Like Lines Inside A Comment Stay In The Game")
+    public void multiLineComment() throws IOException, PgnException {
+        String text = """
+                [Event "Annotated"]
+
+                1. e4 e5 {White could also try
+
+                [a bracketed aside] here; not a comment} 2. Nf3 Nc6 *
+
+                [Event "Next"]
+
+                1. d4 *
+                """;
+        try (PgnReader reader = new PgnReader(new StringReader(text))) {
+            PgnGame annotated = reader.next();
+            Assertions.assertEquals("Annotated", annotated.tags().get("Event"));
+            Assertions.assertEquals(4, annotated.moves().size());
+            Assertions.assertEquals("Next", reader.next().tags().get("Event"));
+            Assertions.assertNull(reader.next());
+        }
+    }
+
+    @Test
+    @DisplayName("A Game From A Set-Up Position Replays From Its FEN And Writes It Back")
+    public void setUpPosition() throws IOException, PgnException {
+        String text = """
+                [Event "Study"]
+                [SetUp "1"]
+                [FEN "rnbqkbnr/pppp1ppp/8/4p3/6P1/5P2/PPPPP2P/RNBQKBNR b - - 0 2"]
+
+                2... Qh4# 0-1
+                """;
+        List<PgnGame> games = new ArrayList<>();
+        ImportStats stats = new PgnImporter(1).importAll(new StringReader(text), games::add);
+        Assertions.assertEquals(1, stats.games());
+        Assertions.assertEquals(0, stats.rejected());
+        Assertions.assertEquals("d8h4", MoveNotation.toUci(games.get(0).moves().get(0)));
+
+        StringWriter out = new StringWriter();
+        new PgnWriter(out).write(games.get(0));
+        Assertions.assertTrue(out.toString().contains("[FEN \"rnbqkbnr/pppp1ppp/8/4p3/6P1/5P2/PPPPP2P/RNBQKBNR b"),
+                out.toString());
+        Assertions.assertTrue(out.toString().contains("2... Qh4# 0-1"), out.toString());
+        Assertions.assertEquals(games.get(0).moves(), PgnReader.parse(out.toString()).moves());
+    }
+}